@@ -0,0 +1,35 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct.benchmarks;
+
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * A {@link DomainBenchmark} run by four threads at once, and so subject to contention for the symbol completion lock.
+ *
+ * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+ *
+ * @see UncontendedDomainBenchmark
+ */
+@Threads(4)
+public class ContendedDomainBenchmark extends DomainBenchmark {
+
+  /**
+   * Creates a new {@link ContendedDomainBenchmark}.
+   */
+  public ContendedDomainBenchmark() {
+    super();
+  }
+
+}
@@ -0,0 +1,242 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct.benchmarks;
+
+import java.lang.constant.ConstantDesc;
+
+import java.util.List;
+import java.util.Optional;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+
+import org.microbean.construct.DefaultDomain;
+import org.microbean.construct.Domain;
+
+import org.microbean.construct.constant.Constables;
+
+import org.microbean.construct.element.AnnotationMirrors;
+
+import org.microbean.construct.vm.Signatures;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * An abstract set of benchmarks of the hot operations of a {@link DefaultDomain} and of the {@link
+ * org.microbean.construct.element.UniversalElement} and {@link org.microbean.construct.type.UniversalType} instances it
+ * returns.
+ *
+ * <p>Concrete subclasses determine how many threads run each benchmark. All threads share one {@link DefaultDomain},
+ * and hence one symbol completion lock.</p>
+ *
+ * <p>Classes annotated with {@link State} are subclassed by JMH and so cannot be {@code final}.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+ *
+ * @see UncontendedDomainBenchmark
+ *
+ * @see ContendedDomainBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1, timeUnit = SECONDS)
+@OutputTimeUnit(NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+public abstract class DomainBenchmark {
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private Domain domain;
+
+  private TypeElement deprecatedElement;
+
+  private TypeElement mapElement;
+
+  private TypeElement stringElement;
+
+  private DeclaredType arrayListOfString;
+
+  private DeclaredType listOfString;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link DomainBenchmark}.
+   */
+  protected DomainBenchmark() {
+    super();
+  }
+
+
+  /*
+   * Harness methods.
+   */
+
+
+  /**
+   * Creates the {@link DefaultDomain} under test and the constructs the benchmarks operate on.
+   *
+   * <p>Each construct is touched once so that the one-time cost of completing it is not measured.</p>
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    final Domain d = new DefaultDomain();
+    this.domain = d;
+    this.deprecatedElement = d.typeElement("java.lang.Deprecated");
+    this.deprecatedElement.getKind();
+    this.mapElement = d.typeElement("java.util.Map");
+    this.mapElement.getKind();
+    this.stringElement = d.typeElement("java.lang.String");
+    this.stringElement.getKind();
+    final TypeMirror string = this.stringElement.asType();
+    this.arrayListOfString = d.declaredType(d.typeElement("java.util.ArrayList"), string);
+    this.arrayListOfString.getKind();
+    this.listOfString = d.declaredType(d.typeElement("java.util.List"), string);
+    this.listOfString.getKind();
+  }
+
+
+  /*
+   * Benchmark methods.
+   */
+
+
+  /**
+   * Benchmarks {@link Domain#typeElement(CharSequence)}.
+   *
+   * @return a {@link TypeElement}
+   */
+  @Benchmark
+  public TypeElement typeElement() {
+    return this.domain.typeElement("java.lang.String");
+  }
+
+  /**
+   * Benchmarks {@link Domain#declaredType(CharSequence)}.
+   *
+   * @return a {@link DeclaredType}
+   */
+  @Benchmark
+  public DeclaredType declaredType() {
+    return this.domain.declaredType("java.lang.String");
+  }
+
+  /**
+   * Benchmarks {@link Domain#declaredType(TypeElement, TypeMirror...)} with a type argument.
+   *
+   * @return a {@link DeclaredType}
+   */
+  @Benchmark
+  public DeclaredType parameterizedType() {
+    return this.domain.declaredType(this.mapElement, this.stringElement.asType(), this.stringElement.asType());
+  }
+
+  /**
+   * Benchmarks {@link Domain#subtype(TypeMirror, TypeMirror)}.
+   *
+   * @return the result of the subtype test
+   */
+  @Benchmark
+  public boolean subtype() {
+    return this.domain.subtype(this.arrayListOfString, this.listOfString);
+  }
+
+  /**
+   * Benchmarks {@link Domain#erasure(TypeMirror)}.
+   *
+   * @return an erased {@link TypeMirror}
+   */
+  @Benchmark
+  public TypeMirror erasure() {
+    return this.domain.erasure(this.listOfString);
+  }
+
+  /**
+   * Benchmarks {@link Domain#directSupertypes(TypeMirror)}, which navigates from one {@link
+   * org.microbean.construct.type.UniversalType} to others.
+   *
+   * @return a {@link List} of {@link TypeMirror}s
+   */
+  @Benchmark
+  public List<? extends TypeMirror> directSupertypes() {
+    return this.domain.directSupertypes(this.arrayListOfString);
+  }
+
+  /**
+   * Benchmarks {@link org.microbean.construct.element.UniversalElement#getEnclosedElements()}.
+   *
+   * @return a {@link List} of {@link Element}s
+   */
+  @Benchmark
+  public List<? extends Element> enclosedElements() {
+    return this.stringElement.getEnclosedElements();
+  }
+
+  /**
+   * Benchmarks {@link AnnotationMirrors#allAnnotationMirrors(Element)}.
+   *
+   * @return a {@link List} of {@link AnnotationMirror}s
+   */
+  @Benchmark
+  public List<? extends AnnotationMirror> allAnnotationMirrors() {
+    return AnnotationMirrors.allAnnotationMirrors(this.deprecatedElement);
+  }
+
+  /**
+   * Benchmarks {@link Signatures#signature(Element, Domain)} on a generic interface.
+   *
+   * @return a signature
+   */
+  @Benchmark
+  public String signature() {
+    return Signatures.signature(this.mapElement, this.domain);
+  }
+
+  /**
+   * Benchmarks {@link Constables#describe(Element, Domain)}.
+   *
+   * @return an {@link Optional} {@link ConstantDesc}
+   */
+  @Benchmark
+  public Optional<? extends ConstantDesc> describe() {
+    return Constables.describe(this.stringElement, this.domain);
+  }
+
+}
@@ -33,4 +33,6 @@ module org.microbean.construct {
 
   requires transitive java.compiler;
 
+  requires static jdk.jfr;
+
 }
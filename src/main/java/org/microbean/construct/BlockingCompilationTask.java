@@ -13,6 +13,7 @@
  */
 package org.microbean.construct;
 
+import java.io.IOException;
 import java.io.StringWriter;
 
 import java.lang.System.Logger;
@@ -20,6 +21,8 @@ import java.lang.System.Logger.Level;
 
 import java.lang.module.ModuleFinder;
 
+import java.time.Duration;
+
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -81,6 +84,10 @@ final class BlockingCompilationTask extends CompletableFuture<ProcessingEnvironm
 
   private final Processor p;
 
+  private final long createdNanos;
+
+  private volatile long readyNanos;
+
   private volatile boolean closed;
 
 
@@ -105,7 +112,8 @@ final class BlockingCompilationTask extends CompletableFuture<ProcessingEnvironm
     super();
     this.jc = jc == null ? getSystemJavaCompiler() : jc;
     this.locale = locale;
-    this.p = new Processor(this::complete, this::obtrudeException);
+    this.createdNanos = System.nanoTime();
+    this.p = new Processor(this::ready, this::obtrudeException);
   }
 
 
@@ -114,10 +122,22 @@ final class BlockingCompilationTask extends CompletableFuture<ProcessingEnvironm
    */
 
 
+  // Returns the time elapsed between the creation of this BlockingCompilationTask and the moment its
+  // ProcessingEnvironment became available, or null if it has not (yet) become available.
+  final Duration bootstrapDuration() {
+    return
+      this.isDone() && !this.isCompletedExceptionally() ?
+      Duration.ofNanos(this.readyNanos - this.createdNanos) : // volatile read
+      null;
+  }
+
   @Override // CompletableFuture<ProcessingEnvironment>
   public final boolean cancel(final boolean mayInterrupt) {
     final boolean result = super.cancel(mayInterrupt);
     this.close();
+    // Don't wait for the compiler thread to notice; a task that has already supplied its ProcessingEnvironment must not
+    // appear to supply it still.
+    this.obtrudeException();
     return result;
   }
 
@@ -185,12 +205,13 @@ final class BlockingCompilationTask extends CompletableFuture<ProcessingEnvironm
     // Set up the compilation task using all of the above.
     final Locale locale = this.locale == null ? Locale.getDefault() : this.locale;
     final DiagnosticListener<? super JavaFileObject> diagnosticLogger = d -> log(d, locale);
+    // javac does not close file managers it did not create; this one is closed below, once the task is over.
+    final ReadOnlyModularJavaFileManager fm =
+      new ReadOnlyModularJavaFileManager(jc.getStandardFileManager(diagnosticLogger, locale, defaultCharset()),
+                                         moduleLocations);
     final CompilationTask task =
       jc.getTask(new LogWriter(), // always wrapped in a PrintWriter by javac
-                 new ReadOnlyModularJavaFileManager(jc.getStandardFileManager(diagnosticLogger,
-                                                                              locale,
-                                                                              defaultCharset()),
-                                                    moduleLocations),
+                 fm,
                  diagnosticLogger,
                  options,
                  List.of("java.lang.Deprecated"), // arbitrary, but always read by the compiler no matter what so incurs no extra reads
@@ -223,6 +244,14 @@ final class BlockingCompilationTask extends CompletableFuture<ProcessingEnvironm
       case Error e -> throw e;
       default -> throw new IllegalStateException(t.getMessage(), t);
       }
+    } finally {
+      try {
+        fm.close();
+      } catch (final IOException e) {
+        if (LOGGER.isLoggable(WARNING)) {
+          LOGGER.log(WARNING, e.getMessage(), e);
+        }
+      }
     }
   }
 
@@ -252,6 +281,12 @@ final class BlockingCompilationTask extends CompletableFuture<ProcessingEnvironm
     return Collections.unmodifiableSet(additionalRootModuleNames);
   }
 
+  // (Invoked only by method reference.)
+  private final void ready(final ProcessingEnvironment pe) {
+    this.readyNanos = System.nanoTime(); // volatile write; must precede completion
+    this.complete(pe);
+  }
+
   // (Invoked only by method reference.)
   private final void obtrudeException() {
     // Ideally we'd use CancellationException but see
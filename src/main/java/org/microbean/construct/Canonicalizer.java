@@ -0,0 +1,234 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import java.util.function.BiFunction;
+
+import javax.lang.model.AnnotatedConstruct;
+
+import javax.lang.model.type.TypeMirror;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An identity-keyed table that ensures that a given delegate is wrapped by at most one {@link UniversalConstruct} at a
+ * time, so that state cached by {@link UniversalConstruct}s is reused across callers.
+ *
+ * <p>Delegates and wrappers alike are held by {@linkplain WeakReference weak references}, so a {@link Canonicalizer}
+ * never keeps either reachable: a wrapper remains canonical for as long as something else refers to it, after which
+ * its entry is discarded and a new wrapper will be created the next time one is needed.</p>
+ *
+ * <p>A {@link Canonicalizer} is intended to be used by exactly one {@link PrimordialDomain}. A wrapper will be
+ * canonicalized only if its {@linkplain UniversalConstruct#domain() domain} is the {@link PrimordialDomain} for which it
+ * was requested.</p>
+ *
+ * <p>Instances of this class are safe for concurrent use by multiple threads.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+ *
+ * @see PrimordialDomain#wrap(AnnotatedConstruct, BiFunction)
+ *
+ * @see DefaultDomain#DefaultDomain(javax.annotation.processing.ProcessingEnvironment,
+ * java.util.concurrent.locks.Lock, TypeRelationCache, Canonicalizer)
+ */
+public final class Canonicalizer {
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final ConcurrentHashMap<Key, Ref> elements;
+
+  private final ConcurrentHashMap<Key, Ref> types;
+
+  // Receives both cleared Keys and cleared Refs.
+  private final ReferenceQueue<Object> q;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new, empty {@link Canonicalizer}.
+   */
+  public Canonicalizer() {
+    super();
+    this.elements = new ConcurrentHashMap<>();
+    this.types = new ConcurrentHashMap<>();
+    this.q = new ReferenceQueue<>();
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Returns the canonical {@link UniversalConstruct} wrapping the supplied {@code delegate}, using the supplied {@code
+   * factory} to create it if necessary.
+   *
+   * @param <T> the type of the delegate
+   *
+   * @param <U> the type of the {@link UniversalConstruct}
+   *
+   * @param delegate the delegate; must not be {@code null} and should not be a {@link UniversalConstruct}
+   *
+   * @param domain the {@link PrimordialDomain} that will be supplied to the {@code factory}; must not be {@code null}
+   *
+   * @param factory a {@link BiFunction} that creates a new {@link UniversalConstruct} from a delegate and a {@link
+   * PrimordialDomain}; must not be {@code null}
+   *
+   * @return a non-{@code null} {@link UniversalConstruct}
+   *
+   * @exception NullPointerException if any argument is {@code null}
+   */
+  @SuppressWarnings("unchecked")
+  public final <T extends AnnotatedConstruct, U extends UniversalConstruct<T>> U canonicalize(final T delegate,
+                                                                                             final PrimordialDomain domain,
+                                                                                             final BiFunction<? super T, ? super PrimordialDomain, ? extends U> factory) {
+    requireNonNull(domain, "domain");
+    final ConcurrentHashMap<Key, Ref> map = delegate instanceof TypeMirror ? this.types : this.elements;
+    final Key lookup = new Key(requireNonNull(delegate, "delegate"), null, null);
+    this.expunge();
+    Ref r = map.get(lookup);
+    while (true) {
+      if (r != null) {
+        final UniversalConstruct<?> uc = r.get();
+        if (uc != null) {
+          return uc.domain() == domain ? (U)uc : factory.apply(delegate, domain);
+        }
+      }
+      final U u = factory.apply(delegate, domain);
+      u.canonicalize(); // before publication
+      if (r == null) {
+        final Key k = new Key(delegate, map, this.q);
+        r = map.putIfAbsent(k, new Ref(k, u, map, this.q));
+        if (r == null) {
+          return u;
+        }
+        // Lost a race; loop and use the winner, if it is still live.
+      } else if (map.replace(r.k, r, new Ref(r.k, u, map, this.q))) {
+        return u;
+      } else {
+        r = map.get(lookup);
+      }
+    }
+  }
+
+  /**
+   * Removes all entries from this {@link Canonicalizer}.
+   */
+  public final void clear() {
+    this.elements.clear();
+    this.types.clear();
+    this.expunge();
+  }
+
+  /**
+   * Returns the approximate number of entries in this {@link Canonicalizer}, some of which may refer to wrappers that
+   * have since been reclaimed.
+   *
+   * @return the approximate number of entries in this {@link Canonicalizer}
+   */
+  public final long size() {
+    this.expunge();
+    return this.elements.mappingCount() + this.types.mappingCount();
+  }
+
+  private final void expunge() {
+    Reference<?> r;
+    while ((r = this.q.poll()) != null) {
+      if (r instanceof Key k) {
+        k.remove();
+      } else {
+        ((Ref)r).remove();
+      }
+    }
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  // Identity-based and weak. A cleared Key is equal only to itself, so it can still be used to remove its entry.
+  private static final class Key extends WeakReference<Object> {
+
+    private final int hashCode;
+
+    private final ConcurrentHashMap<Key, Ref> map;
+
+    // map and q are null for Keys used only for lookups.
+    private Key(final Object delegate, final ConcurrentHashMap<Key, Ref> map, final ReferenceQueue<Object> q) {
+      super(delegate, q);
+      this.hashCode = System.identityHashCode(delegate);
+      this.map = map;
+    }
+
+    @Override // Object
+    public final int hashCode() {
+      return this.hashCode;
+    }
+
+    @Override // Object
+    public final boolean equals(final Object other) {
+      if (other == this) {
+        return true;
+      } else if (other instanceof Key k) {
+        final Object delegate = this.get();
+        return delegate != null && delegate == k.get();
+      }
+      return false;
+    }
+
+    private final void remove() {
+      this.map.remove(this);
+    }
+
+  }
+
+  private static final class Ref extends WeakReference<UniversalConstruct<?>> {
+
+    private final Key k;
+
+    private final ConcurrentHashMap<Key, Ref> map;
+
+    private Ref(final Key k,
+                final UniversalConstruct<?> uc,
+                final ConcurrentHashMap<Key, Ref> map,
+                final ReferenceQueue<Object> q) {
+      super(uc, q);
+      this.k = k;
+      this.map = map;
+    }
+
+    private final void remove() {
+      this.map.remove(this.k, this);
+    }
+
+  }
+
+}
@@ -0,0 +1,174 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.ModuleElement;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+
+// Per-top-level-class completion gates, striped by identity.
+//
+// A gate is open once its top-level class, together with all of its members and member classes, has been completed
+// while the symbol completion lock was held. Completed symbols are not mutated by later completions of other classes,
+// so once a gate is open, the first touch of an element it covers (which merely forces completion) need not be
+// serialized.
+//
+// A gate covers only that first touch. Two different classes can never be completed concurrently in one javac
+// instance, because javac's ClassReader, symbol table and name table are shared by all of its symbols; completion
+// itself therefore always happens under the global lock. Everything else that consults javac (Types and Elements
+// operations, Name decoding, annotation access) also remains under the global lock.
+//
+// Elements that are not enclosed by a class (packages and modules) have no gate of their own, except that a package
+// whose member classes have all been completed (see completePackage(PackageElement)) has one; listing the members of
+// any other package completes them.
+//
+// Gates are keyed by the identities of top-level class symbols, which javac does not reuse, so one set of gates serves
+// every javac instance. Keys are weak so that the symbols of discarded javac instances can be reclaimed.
+final class CompletionGates {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  private static final int STRIPES = 64; // must be a power of two
+
+  // Each stripe is guarded by itself.
+  private static final Set<?>[] OPEN = new Set<?>[STRIPES];
+
+  static {
+    for (int i = 0; i < STRIPES; i++) {
+      OPEN[i] = Collections.newSetFromMap(new WeakHashMap<>());
+    }
+  }
+
+
+  /*
+   * Constructors.
+   */
+
+
+  private CompletionGates() {
+    super();
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  // Completes the top-level class enclosing e, with all of its members and member classes, and opens its gate. Must be
+  // called while the symbol completion lock is held. If completion fails, the gate stays closed.
+  @SuppressWarnings("unchecked")
+  static final void complete(final Element e) {
+    final TypeElement t = topLevel(e);
+    if (t == null) {
+      return;
+    }
+    final Set<Element> stripe = (Set<Element>)stripe(t);
+    synchronized (stripe) {
+      if (stripe.contains(t)) {
+        return;
+      }
+    }
+    try {
+      completeDeeply(t);
+    } catch (final RuntimeException x) {
+      // e.g. com.sun.tools.javac.code.Symbol.CompletionFailure; the class cannot be completed in full, so every touch
+      // of it continues to be serialized
+      return;
+    }
+    synchronized (stripe) {
+      stripe.add(t);
+    }
+  }
+
+  // Completes p and each of its member classes, with all of their members and member classes, and opens the gates of
+  // p and of each such class. Returns true if p's gate is open. Must be called while the symbol completion lock is
+  // held.
+  @SuppressWarnings("unchecked")
+  static final boolean completePackage(final PackageElement p) {
+    final Set<Element> stripe = (Set<Element>)stripe(p);
+    synchronized (stripe) {
+      if (stripe.contains(p)) {
+        return true;
+      }
+    }
+    try {
+      for (final Element e : p.getEnclosedElements()) { // completes p and each of its member classes
+        complete(e);
+        if (!open(e)) {
+          return false;
+        }
+      }
+    } catch (final RuntimeException x) {
+      return false;
+    }
+    synchronized (stripe) {
+      stripe.add(p);
+    }
+    return true;
+  }
+
+  // Returns true if the gate for the top-level class enclosing e, or, if e is a package, for e itself, is open. Does not
+  // cause symbol completion.
+  static final boolean open(final Element e) {
+    final Element key = e instanceof PackageElement ? e : topLevel(e);
+    if (key == null) {
+      return false;
+    }
+    final Set<?> stripe = stripe(key);
+    synchronized (stripe) {
+      return stripe.contains(key);
+    }
+  }
+
+  private static final void completeDeeply(final TypeElement t) {
+    t.getModifiers(); // completes t
+    for (final Element e : t.getEnclosedElements()) {
+      e.getModifiers();
+      switch (e) {
+      case TypeElement te -> completeDeeply(te);
+      case ExecutableElement ee -> ee.getParameters(); // javac may create parameter symbols lazily
+      default -> {}
+      }
+    }
+  }
+
+  private static final Set<?> stripe(final Element e) {
+    return OPEN[System.identityHashCode(e) & (STRIPES - 1)];
+  }
+
+  // Returns the top-level class enclosing (or identical to) e, or null if there is none. Deliberately avoids
+  // Element#getKind(), which completes class symbols; Element#getEnclosingElement() does not.
+  private static final TypeElement topLevel(Element e) {
+    TypeElement t = null;
+    while (e != null && !(e instanceof PackageElement) && !(e instanceof ModuleElement)) {
+      if (e instanceof TypeElement te) {
+        t = te;
+      }
+      e = e.getEnclosingElement();
+    }
+    return t;
+  }
+
+}
@@ -0,0 +1,696 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct;
+
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import java.util.function.Function;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.ModuleElement;
+import javax.lang.model.element.Parameterizable;
+import javax.lang.model.element.TypeElement;
+
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+import javax.lang.model.util.Elements.Origin;
+
+import org.microbean.construct.element.StringName;
+import org.microbean.construct.element.UniversalElement;
+
+import org.microbean.construct.type.UniversalType;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link Domain} <strong>for use at runtime</strong> whose operations are all performed by a single, dedicated
+ * <dfn>owner thread</dfn>.
+ *
+ * <p>Callers {@linkplain #submit(Function) submit tasks}, or invoke {@link Domain} methods that submit tasks on their
+ * behalf and wait for their results. The owner thread takes tasks from a queue in batches, and performs each batch
+ * while holding the {@linkplain SymbolCompletionLock#INSTANCE symbol completion lock} once. Under heavy fan-in, many
+ * tasks are therefore performed per lock acquisition, by one thread whose caches already hold the underlying symbol
+ * tables, and callers (especially virtual threads) wait on {@link CompletableFuture}s rather than on the lock.</p>
+ *
+ * <p>The {@link javax.annotation.processing.ProcessingEnvironment} used is the one {@linkplain
+ * RuntimeProcessingEnvironmentSupplier#get() supplied} by the {@link RuntimeProcessingEnvironmentSupplier#of()
+ * RuntimeProcessingEnvironmentSupplier}, which is shared with {@link DefaultDomain}s created for runtime use. Constructs
+ * returned by a {@link ConfinedDomain} may therefore be combined with theirs.</p>
+ *
+ * <p>A thread that already holds the symbol completion lock (for example, because it has {@linkplain #lock() locked
+ * this <code>ConfinedDomain</code>}) cannot wait for the owner thread, which would wait in turn for that lock. Such a
+ * thread therefore performs its tasks itself, immediately, as the owner thread does with tasks it submits.</p>
+ *
+ * <p>Constructs returned by a {@link ConfinedDomain} do not belong to it (their {@linkplain
+ * UniversalConstruct#domain() domain} is a {@link DefaultDomain} used by the owner thread), and any work they do after
+ * they have been returned, such as listing their enclosed elements, is serialized by the symbol completion lock in the
+ * usual way rather than performed by the owner thread.</p>
+ *
+ * <p>Instances of this class are safe for concurrent use by multiple threads.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+ *
+ * @see #submit(Function)
+ *
+ * @see DefaultDomain
+ *
+ * @see ShardedDomain
+ */
+@SuppressWarnings("unchecked")
+public final class ConfinedDomain implements AutoCloseable, Domain {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  private static final int DEFAULT_BATCH_SIZE = 64;
+
+  private static final Task<Void> STOP = new Task<>(d -> null, null);
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final int batchSize;
+
+  private final ReentrantLock lock;
+
+  private final DefaultDomain domain;
+
+  private final BlockingQueue<Task<?>> queue;
+
+  private final LongAdder batches;
+
+  private final LongAdder tasks;
+
+  private volatile boolean closed;
+
+  private volatile boolean terminated;
+
+  private final Thread owner;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link ConfinedDomain} whose owner thread performs at most 64 tasks per batch.
+   *
+   * <p>The owner thread is started immediately.</p>
+   *
+   * @see #ConfinedDomain(int)
+   */
+  public ConfinedDomain() {
+    this(DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Creates a new {@link ConfinedDomain}.
+   *
+   * <p>The owner thread is started immediately.</p>
+   *
+   * @param batchSize the maximum number of tasks the owner thread will perform per acquisition of the symbol completion
+   * lock; must be greater than {@code 0}
+   *
+   * @exception IllegalArgumentException if {@code batchSize} is less than {@code 1}
+   */
+  public ConfinedDomain(final int batchSize) {
+    super();
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("batchSize: " + batchSize);
+    }
+    this.batchSize = batchSize;
+    this.lock = SymbolCompletionLock.INSTANCE;
+    this.domain = DefaultDomain.of(RuntimeProcessingEnvironmentSupplier.of(), this.lock);
+    this.queue = new LinkedBlockingQueue<>();
+    this.batches = new LongAdder();
+    this.tasks = new LongAdder();
+    // Assigned before it is started so that the owner thread can recognize itself.
+    this.owner = Thread.ofPlatform().daemon().name(this.getClass().getName()).unstarted(this::run);
+    this.owner.start();
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  @Override // Domain
+  public List<? extends AnnotationMirror> allAnnotationMirrors(final Element e) {
+    return this.call(d -> d.allAnnotationMirrors(e));
+  }
+
+  @Override // Domain
+  public List<? extends UniversalElement> allMembers(final TypeElement e) {
+    return this.call(d -> d.allMembers(e));
+  }
+
+  @Override // Domain
+  public Element annotate(final List<? extends AnnotationMirror> annotations, final Element e) {
+    return this.call(d -> d.annotate(annotations, e));
+  }
+
+  @Override // Domain
+  public TypeMirror annotate(final List<? extends AnnotationMirror> annotations, final TypeMirror t) {
+    return this.call(d -> d.annotate(annotations, t));
+  }
+
+  @Override // Domain
+  public UniversalType arrayTypeOf(final TypeMirror t) {
+    return this.call(d -> d.arrayTypeOf(t));
+  }
+
+  @Override // Domain
+  public UniversalType asMemberOf(final DeclaredType containingType, final Element e) {
+    return this.call(d -> d.asMemberOf(containingType, e));
+  }
+
+  @Override // Domain
+  public boolean assignable(final TypeMirror payload, final TypeMirror receiver) {
+    return this.call(d -> d.assignable(payload, receiver));
+  }
+
+  @Override // Domain
+  public RelationMatrix assignableMatrix(final List<? extends TypeMirror> payloads,
+                                         final List<? extends TypeMirror> receivers) {
+    return this.call(d -> d.assignableMatrix(payloads, receivers));
+  }
+
+  /**
+   * Returns the number of batches of tasks that this {@link ConfinedDomain}'s owner thread has performed, each while
+   * holding its lock once.
+   *
+   * <p>The value returned is a statistic and may not reflect concurrent updates.</p>
+   *
+   * @return the number of batches performed
+   *
+   * @see #tasks()
+   */
+  public final long batches() {
+    return this.batches.sum();
+  }
+
+  /**
+   * Applies the supplied {@link Function} on this {@link ConfinedDomain}'s owner thread as a single task, and returns
+   * its result.
+   *
+   * @param <R> the type of the result
+   *
+   * @param f a {@link Function}; must not be {@code null}
+   *
+   * @return the result of applying the supplied {@link Function}, which may be {@code null}
+   *
+   * @exception NullPointerException if {@code f} is {@code null}
+   *
+   * @exception IllegalStateException if this {@link ConfinedDomain} has been {@linkplain #close() closed}
+   *
+   * @see Domain#batch(Function)
+   */
+  @Override // Domain
+  public <R> R batch(final Function<? super Domain, ? extends R> f) {
+    return this.call(requireNonNull(f, "f"));
+  }
+
+  @Override // Domain
+  public StringName binaryName(final TypeElement e) {
+    return this.call(d -> d.binaryName(e));
+  }
+
+  @Override // Domain
+  public boolean bridge(final ExecutableElement e) {
+    return this.call(d -> d.bridge(e));
+  }
+
+  // Applies f on the owner thread and waits for its result, rethrowing any RuntimeException or Error it throws. Applies
+  // f on the current thread if it is the owner thread or holds the lock (see enqueue(Function)).
+  private final <R> R call(final Function<? super DefaultDomain, ? extends R> f) {
+    if (Thread.currentThread() == this.owner) {
+      return f.apply(this.domain);
+    }
+    try {
+      return this.enqueue(f).join();
+    } catch (final CompletionException e) {
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      } else if (e.getCause() instanceof Error err) {
+        throw err;
+      }
+      throw e;
+    }
+  }
+
+  @Override // Domain
+  public UniversalType capture(final TypeMirror t) {
+    return this.call(d -> d.capture(t));
+  }
+
+  /**
+   * Closes this {@link ConfinedDomain} by stopping its owner thread once it has performed all tasks submitted before
+   * this method was invoked.
+   *
+   * <p>Tasks submitted afterwards fail with an {@link IllegalStateException}. Invoking this method more than once has
+   * no further effect. This method does not wait for the owner thread to stop.</p>
+   */
+  @Override // AutoCloseable
+  public final void close() {
+    if (!this.closed) {
+      this.closed = true;
+      this.queue.offer(STOP);
+    }
+  }
+
+  @Override // Domain
+  public boolean contains(final TypeMirror t0, final TypeMirror t1) {
+    return this.call(d -> d.contains(t0, t1));
+  }
+
+  // (Convenience.)
+  @Override // Domain
+  public UniversalType declaredType(final CharSequence canonicalName) {
+    return this.call(d -> d.declaredType(canonicalName));
+  }
+
+  @Override // Domain
+  public UniversalType declaredType(final TypeElement typeElement,
+                                    final TypeMirror... typeArguments) {
+    return this.call(d -> d.declaredType(typeElement, typeArguments));
+  }
+
+  @Override // Domain
+  public UniversalType declaredType(final DeclaredType enclosingType,
+                                    final TypeElement typeElement,
+                                    final TypeMirror... typeArguments) {
+    return this.call(d -> d.declaredType(enclosingType, typeElement, typeArguments));
+  }
+
+  @Override // Domain
+  public List<? extends UniversalType> directSupertypes(final TypeMirror t) {
+    return this.call(d -> d.directSupertypes(t));
+  }
+
+  @Override // Domain
+  public UniversalElement element(final TypeMirror t) {
+    return this.call(d -> d.element(t));
+  }
+
+  @Override // Domain
+  public UniversalType elementType(final TypeMirror t) {
+    return this.call(d -> d.elementType(t));
+  }
+
+  private final <R> CompletableFuture<R> enqueue(final Function<? super DefaultDomain, ? extends R> f) {
+    final Task<R> task = new Task<>(f, new CompletableFuture<>());
+    if (Thread.currentThread() == this.owner) {
+      task.run(this.domain);
+    } else if (this.closed) {
+      throw new IllegalStateException("closed");
+    } else if (this.lock.isHeldByCurrentThread()) {
+      // The owner thread would wait for the lock this thread holds, and this thread for the owner thread.
+      task.run(this.domain);
+    } else {
+      this.queue.offer(task);
+      if (this.terminated) {
+        // The owner thread stopped after the closed check above, and so may never take the task.
+        this.failRemaining();
+      }
+    }
+    return task.future();
+  }
+
+  @Override // Domain
+  public UniversalType erasure(final TypeMirror t) {
+    return this.call(d -> d.erasure(t));
+  }
+
+  @Override // Domain
+  public ExecutableElement executableElement(final Executable e) {
+    return this.call(d -> d.executableElement(e));
+  }
+
+  // (Convenience.)
+  @Override // Domain
+  public UniversalElement executableElement(final TypeElement declaringElement,
+                                            final TypeMirror returnType,
+                                            final CharSequence name,
+                                            final TypeMirror... parameterTypes) {
+    return this.call(d -> d.executableElement(declaringElement, returnType, name, parameterTypes));
+  }
+
+  // Fails every task remaining in the queue.
+  private final void failRemaining() {
+    Task<?> task;
+    while ((task = this.queue.poll()) != null) {
+      if (task != STOP) {
+        task.future().completeExceptionally(new IllegalStateException("closed"));
+      }
+    }
+  }
+
+  // (Convenience.)
+  @Override // Domain
+  public UniversalElement javaLangObject() {
+    return this.call(d -> d.javaLangObject());
+  }
+
+  // (Convenience.)
+  @Override // Domain
+  public UniversalType javaLangObjectType() {
+    return this.call(d -> d.javaLangObjectType());
+  }
+
+  /**
+   * Locks the lock that this {@link ConfinedDomain}'s owner thread holds while it performs a batch of tasks, and
+   * returns an {@link Unlockable} that unlocks it.
+   *
+   * <p>Constructs returned by this {@link ConfinedDomain} use this lock, not its owner thread, for any work they do
+   * after they have been returned.</p>
+   *
+   * <p>While the current thread holds this lock, this {@link ConfinedDomain}'s operations are performed by the current
+   * thread rather than by the owner thread.</p>
+   *
+   * @return a non-{@code null} {@link Unlockable}
+   *
+   * @see SymbolCompletionLock#INSTANCE
+   */
+  @Override // PrimordialDomain
+  public Unlockable lock() {
+    return this.domain.lock();
+  }
+
+  @Override // PrimordialDomain
+  public Unlockable lock(final Element e) {
+    return this.domain.lock(e);
+  }
+
+  @Override // Domain
+  public Set<String> metaAnnotationInterfaceNames(final TypeElement annotationInterface) {
+    return this.call(d -> d.metaAnnotationInterfaceNames(annotationInterface));
+  }
+
+  // (Canonical.)
+  @Override // Domain
+  public UniversalElement moduleElement(final CharSequence canonicalName) {
+    return this.call(d -> d.moduleElement(canonicalName));
+  }
+
+  // (Canonical.)
+  @Override // Domain
+  public StringName name(final CharSequence name) {
+    return this.call(d -> d.name(name));
+  }
+
+  // (Canonical.)
+  @Override // Domain
+  public UniversalType noType(final TypeKind kind) {
+    return this.call(d -> d.noType(kind));
+  }
+
+  // (Canonical.)
+  @Override // Domain
+  public UniversalType nullType() {
+    return this.call(d -> d.nullType());
+  }
+
+  @Override // Domain
+  public Origin origin(final Element e) {
+    return this.call(d -> d.origin(e));
+  }
+
+  // (Canonical.)
+  @Override // Domain
+  public UniversalElement packageElement(final CharSequence canonicalName) {
+    return this.call(d -> d.packageElement(canonicalName));
+  }
+
+  // (Canonical.)
+  @Override // Domain
+  public UniversalElement packageElement(final ModuleElement asSeenFrom, final CharSequence canonicalName) {
+    return this.call(d -> d.packageElement(asSeenFrom, canonicalName));
+  }
+
+  // (Canonical.)
+  @Override // Domain
+  public UniversalType primitiveType(final TypeKind kind) {
+    return this.call(d -> d.primitiveType(kind));
+  }
+
+  // (Convenience.)
+  // (Unboxing.)
+  @Override // Domain
+  public UniversalType primitiveType(final CharSequence canonicalName) {
+    return this.call(d -> d.primitiveType(canonicalName));
+  }
+
+  // (Convenience.)
+  // (Unboxing.)
+  @Override // Domain
+  public UniversalType primitiveType(final TypeElement e) {
+    return this.call(d -> d.primitiveType(e));
+  }
+
+  // (Canonical.)
+  // (Unboxing.)
+  @Override // Domain
+  public UniversalType primitiveType(final TypeMirror t) {
+    return this.call(d -> d.primitiveType(t));
+  }
+
+  @Override // Domain
+  public UniversalType rawType(final TypeMirror t) {
+    return this.call(d -> d.rawType(t));
+  }
+
+  // (Canonical.)
+  @Override // Domain
+  public UniversalElement recordComponentElement(final ExecutableElement e) {
+    return this.call(d -> d.recordComponentElement(e));
+  }
+
+  // Performs tasks in batches until STOP is taken; invoked only by the owner thread.
+  private final void run() {
+    final List<Task<?>> batch = new ArrayList<>(this.batchSize);
+    try {
+      while (true) {
+        try {
+          batch.add(this.queue.take());
+        } catch (final InterruptedException e) {
+          // Only close() stops the owner thread.
+          continue;
+        }
+        this.queue.drainTo(batch, this.batchSize - 1);
+        boolean stop = false;
+        this.lock.lock();
+        try {
+          for (final Task<?> task : batch) {
+            if (task == STOP) {
+              stop = true;
+            } else if (stop) {
+              task.future().completeExceptionally(new IllegalStateException("closed"));
+            } else {
+              task.run(this.domain);
+            }
+          }
+        } finally {
+          this.lock.unlock();
+          this.batches.increment();
+          this.tasks.add(batch.size());
+          batch.clear();
+        }
+        if (stop) {
+          return;
+        }
+      }
+    } finally {
+      this.terminated = true;
+      this.failRemaining();
+    }
+  }
+
+  @Override // Domain
+  public boolean sameType(final TypeMirror t0, final TypeMirror t1) {
+    return this.call(d -> d.sameType(t0, t1));
+  }
+
+  /**
+   * Submits the supplied {@link Function} for application by this {@link ConfinedDomain}'s owner thread and returns a
+   * {@link CompletableFuture} representing its eventual result.
+   *
+   * <p>The {@link Domain} supplied to the {@link Function} must be used only by the {@link Function} itself, and only
+   * for the duration of its application.</p>
+   *
+   * <p>If this method is invoked by the owner thread itself, or by a thread that holds the symbol completion lock, the
+   * supplied {@link Function} is applied immediately.</p>
+   *
+   * @param <R> the type of the result
+   *
+   * @param f a {@link Function}; must not be {@code null}
+   *
+   * @return a non-{@code null} {@link CompletableFuture}
+   *
+   * @exception NullPointerException if {@code f} is {@code null}
+   *
+   * @exception IllegalStateException if this {@link ConfinedDomain} has been {@linkplain #close() closed}
+   */
+  public final <R> CompletableFuture<R> submit(final Function<? super Domain, ? extends R> f) {
+    return this.enqueue(requireNonNull(f, "f"));
+  }
+
+  @Override // Domain
+  public boolean subsignature(final ExecutableType t0, final ExecutableType t1) {
+    return this.call(d -> d.subsignature(t0, t1));
+  }
+
+  @Override // Domain
+  public boolean subtype(final TypeMirror candidateSubtype, final TypeMirror candidateSupertype) {
+    return this.call(d -> d.subtype(candidateSubtype, candidateSupertype));
+  }
+
+  @Override // Domain
+  public RelationMatrix subtypeMatrix(final List<? extends TypeMirror> candidateSubtypes,
+                                      final List<? extends TypeMirror> supertypes) {
+    return this.call(d -> d.subtypeMatrix(candidateSubtypes, supertypes));
+  }
+
+  /**
+   * Returns the number of tasks, including {@linkplain #submit(Function) submitted} tasks and those performed on
+   * behalf of this {@link ConfinedDomain}'s {@link Domain} methods, that this {@link ConfinedDomain}'s owner thread has
+   * performed.
+   *
+   * <p>The value returned is a statistic and may not reflect concurrent updates.</p>
+   *
+   * @return the number of tasks performed
+   *
+   * @see #batches()
+   */
+  public final long tasks() {
+    return this.tasks.sum();
+  }
+
+  @Override // PrimordialDomain
+  public String toString(final CharSequence name) {
+    return this.call(d -> d.toString(name));
+  }
+
+  @Override // Domain
+  public TypeMirror type(final Type t) {
+    return this.call(d -> d.type(t));
+  }
+
+  // (Canonical.)
+  @Override // Domain
+  public UniversalElement typeElement(final CharSequence canonicalName) {
+    return this.call(d -> d.typeElement(canonicalName));
+  }
+
+  // (Canonical.)
+  @Override // Domain
+  public UniversalElement typeElement(final ModuleElement asSeenFrom, final CharSequence canonicalName) {
+    return this.call(d -> d.typeElement(asSeenFrom, canonicalName));
+  }
+
+  // (Canonical.)
+  // (Boxing.)
+  @Override // Domain
+  public UniversalElement typeElement(final PrimitiveType t) {
+    return this.call(d -> d.typeElement(t));
+  }
+
+  // (Convenience.)
+  // (Boxing.)
+  @Override // Domain
+  public UniversalElement typeElement(final TypeKind primitiveTypeKind) {
+    return this.call(d -> d.typeElement(primitiveTypeKind));
+  }
+
+  // (Convenience.)
+  @Override // Domain
+  public UniversalElement typeParameterElement(final Parameterizable p, final CharSequence name) {
+    return this.call(d -> d.typeParameterElement(p, name));
+  }
+
+  // (Convenience.)
+  @Override // Domain
+  public UniversalType typeVariable(final Parameterizable p, final CharSequence name) {
+    return this.call(d -> d.typeVariable(p, name));
+  }
+
+  // (Convenience.)
+  @Override // Domain
+  public UniversalElement variableElement(final Element e, final CharSequence name) {
+    return this.call(d -> d.variableElement(e, name));
+  }
+
+  // (Convenience.)
+  @Override // Domain
+  public UniversalElement variableElement(final Field f) {
+    return this.call(d -> d.variableElement(f));
+  }
+
+  @Override // Domain
+  public UniversalType wildcardType() {
+    return this.call(d -> d.wildcardType());
+  }
+
+  @Override // Domain
+  public UniversalType wildcardType(final TypeMirror extendsBound, final TypeMirror superBound) {
+    return this.call(d -> d.wildcardType(extendsBound, superBound));
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  private static final record Task<R>(Function<? super DefaultDomain, ? extends R> f, CompletableFuture<R> future) {
+
+    private final void run(final DefaultDomain d) {
+      try {
+        this.future.complete(this.f.apply(d));
+      } catch (final RuntimeException | Error e) {
+        this.future.completeExceptionally(e);
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,227 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.ModuleElement;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.element.VariableElement;
+
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.IntersectionType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.UnionType;
+import javax.lang.model.type.WildcardType;
+
+import javax.lang.model.util.Elements;
+
+// Eagerly completes, and opens the completion gates of, every class reachable from the modules, packages and types
+// named by a collection of names, so that later first touches of them need not be serialized.
+//
+// A class is reachable if it is declared in a named module or package, is named itself, or is a member class,
+// supertype, annotation interface, or the declaring class of a type used in the signature of a member or type
+// parameter, of a reachable class. Named packages, and the packages of named modules, have their gates opened too.
+final class Crawler {
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final Elements elements;
+
+  private final Set<TypeElement> seen;
+
+  private final Deque<TypeElement> work;
+
+  private int completed;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  private Crawler(final Elements elements) {
+    super();
+    this.elements = elements;
+    this.seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    this.work = new ArrayDeque<>();
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  private final void add(final String name) {
+    final TypeElement t = this.elements.getTypeElement(name);
+    if (t != null) {
+      this.push(t);
+      return;
+    }
+    final PackageElement p = this.elements.getPackageElement(name);
+    if (p != null) {
+      this.add(p);
+      return;
+    }
+    final ModuleElement m = this.elements.getModuleElement(name);
+    if (m != null) {
+      for (final Element e : m.getEnclosedElements()) {
+        this.add((PackageElement)e);
+      }
+    }
+  }
+
+  private final void add(final PackageElement p) {
+    if (CompletionGates.completePackage(p)) {
+      for (final Element e : p.getEnclosedElements()) {
+        this.push((TypeElement)e);
+      }
+    }
+  }
+
+  private final void annotations(final Element e) {
+    for (final AnnotationMirror a : e.getAnnotationMirrors()) {
+      this.push(a.getAnnotationType());
+    }
+  }
+
+  private final int crawl() {
+    TypeElement t;
+    while ((t = this.work.poll()) != null) {
+      try {
+        this.visit(t);
+      } catch (final RuntimeException x) {
+        // e.g. com.sun.tools.javac.code.Symbol.CompletionFailure; t's gate stays closed
+      }
+    }
+    return this.completed;
+  }
+
+  private final void push(final TypeMirror t) {
+    switch (t) {
+    case DeclaredType dt -> {
+      this.push((TypeElement)dt.asElement());
+      for (final TypeMirror ta : dt.getTypeArguments()) {
+        this.push(ta);
+      }
+    }
+    case ArrayType at -> this.push(at.getComponentType());
+    case WildcardType wt -> {
+      if (wt.getExtendsBound() != null) {
+        this.push(wt.getExtendsBound());
+      }
+      if (wt.getSuperBound() != null) {
+        this.push(wt.getSuperBound());
+      }
+    }
+    case IntersectionType it -> {
+      for (final TypeMirror b : it.getBounds()) {
+        this.push(b);
+      }
+    }
+    case UnionType ut -> {
+      for (final TypeMirror a : ut.getAlternatives()) {
+        this.push(a);
+      }
+    }
+    case ExecutableType et -> {
+      this.push(et.getReturnType());
+      for (final TypeMirror p : et.getParameterTypes()) {
+        this.push(p);
+      }
+      for (final TypeMirror x : et.getThrownTypes()) {
+        this.push(x);
+      }
+    }
+    default -> {} // primitive types, type variables (whose bounds are pushed elsewhere), etc.
+    }
+  }
+
+  private final void push(final TypeElement t) {
+    if (this.seen.add(t)) {
+      this.work.add(t);
+    }
+  }
+
+  private final void typeParameters(final Iterable<? extends TypeParameterElement> tps) {
+    for (final TypeParameterElement tp : tps) {
+      for (final TypeMirror b : tp.getBounds()) {
+        this.push(b);
+      }
+    }
+  }
+
+  private final void visit(final TypeElement t) {
+    CompletionGates.complete(t);
+    if (t.getEnclosingElement() instanceof PackageElement && CompletionGates.open(t)) {
+      this.completed++;
+    }
+    this.annotations(t);
+    this.push(t.getSuperclass());
+    for (final TypeMirror i : t.getInterfaces()) {
+      this.push(i);
+    }
+    this.typeParameters(t.getTypeParameters());
+    for (final Element e : t.getEnclosedElements()) {
+      this.annotations(e);
+      switch (e) {
+      case TypeElement te -> this.push(te);
+      case ExecutableElement ee -> {
+        this.typeParameters(ee.getTypeParameters());
+        for (final VariableElement p : ee.getParameters()) {
+          this.annotations(p);
+        }
+        this.push(ee.asType());
+      }
+      case VariableElement ve -> this.push(ve.asType());
+      default -> {}
+      }
+    }
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  // Crawls from the types, packages and modules with the supplied names, in that order of preference for each name, and
+  // returns the number of reachable top-level classes whose gates are open. Names that denote nothing are ignored. Must
+  // be called while the symbol completion lock is held.
+  static final int crawl(final Elements elements, final Collection<? extends String> names) {
+    final Crawler c = new Crawler(elements);
+    for (final String name : names) {
+      c.add(name);
+    }
+    return c.crawl();
+  }
+
+}
@@ -15,24 +15,55 @@ package org.microbean.construct;
 
 import java.lang.constant.Constable;
 import java.lang.constant.DynamicConstantDesc;
-
+import java.lang.constant.MethodTypeDesc;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import java.util.concurrent.atomic.LongAdder;
 
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
 import javax.annotation.processing.ProcessingEnvironment;
 
+import javax.lang.model.AnnotatedConstruct;
+
+import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.ModuleElement;
 import javax.lang.model.element.Name;
 import javax.lang.model.element.Parameterizable;
+import javax.lang.model.element.QualifiedNameable;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.element.VariableElement;
 
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Elements.Origin;
@@ -44,7 +75,11 @@ import javax.lang.model.type.PrimitiveType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 
+import org.microbean.construct.TypeRelationCache.Relation;
+
+import org.microbean.construct.element.AnnotationMirrors;
 import org.microbean.construct.element.StringName;
+import org.microbean.construct.element.SyntheticAnnotationTypeElement;
 import org.microbean.construct.element.UniversalElement;
 
 import org.microbean.construct.type.UniversalType;
@@ -53,6 +88,15 @@ import static java.lang.constant.ConstantDescs.BSM_INVOKE;
 
 import static java.lang.constant.MethodHandleDesc.ofConstructor;
 
+import static java.util.Objects.requireNonNull;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import static org.microbean.construct.TypeRelationCache.Relation.ASSIGNABLE;
+import static org.microbean.construct.TypeRelationCache.Relation.CONTAINS;
+import static org.microbean.construct.TypeRelationCache.Relation.SAME_TYPE;
+import static org.microbean.construct.TypeRelationCache.Relation.SUBTYPE;
+
 /**
  * A {@linkplain Domain domain of valid Java constructs} that can be used at annotation processing time or at runtime.
  *
@@ -69,13 +113,30 @@ public class DefaultDomain implements Constable, Domain {
 
   private final Supplier<? extends Unlockable> locker;
 
+  private final boolean gated;
+
+  private volatile boolean frozen;
+
+  private final LongAdder acquisitions;
+
+  private final LongAdder contentions;
+
+  private final LongAdder elisions;
+
+  private final TypeRelationCache cache;
+
+  private final Canonicalizer canonicalizer;
+
+  // Information derived from the symbols of the ProcessingEnvironment most recently in use (see caches()).
+  private volatile Caches caches;
+
   /**
    * Creates a new {@link DefaultDomain} <strong>for use at runtime</strong>.
    *
    * @see #DefaultDomain(ProcessingEnvironment, Lock)
    */
   public DefaultDomain() {
-    this(null, null);
+    this((ProcessingEnvironment)null, null);
   }
 
   /**
@@ -107,9 +168,11 @@ public class DefaultDomain implements Constable, Domain {
    * @see RuntimeProcessingEnvironmentSupplier#get()
    *
    * @see SymbolCompletionLock#INSTANCE
+   *
+   * @see InstrumentedLock
    */
   public DefaultDomain(final Lock lock) {
-    this(null, lock);
+    this((ProcessingEnvironment)null, lock);
   }
 
   /**
@@ -125,24 +188,133 @@ public class DefaultDomain implements Constable, Domain {
    * no serialization of symbol completion will occur <strong>and this {@link DefaultDomain} therefore will not be safe
    * for concurrent use by multiple threads</strong>
    *
+   * @see #DefaultDomain(ProcessingEnvironment, Lock, TypeRelationCache)
+   *
    * @see RuntimeProcessingEnvironmentSupplier#get()
    *
    * @see SymbolCompletionLock#INSTANCE
    */
   public DefaultDomain(final ProcessingEnvironment pe, final Lock lock) {
+    this(pe, lock, null);
+  }
+
+  /**
+   * Creates a new {@link DefaultDomain} <strong>normally for use at annotation processing time</strong>, whose usage
+   * type is actually determined by the arguments supplied to this constructor.
+   *
+   * @param pe a {@link ProcessingEnvironment}; may be {@code null} (<strong>the expected value for runtime
+   * usage</strong>), in which case the return value of an invocation of {@link Supplier#get()} on the return value of
+   * an invocation of {@link RuntimeProcessingEnvironmentSupplier#of()} will be used instead
+   *
+   * @param lock a {@link Lock} to use to serialize symbol completion; if {@code null} and {@code pe} is {@code null},
+   * then a global {@link ReentrantLock} will be used instead; if {@code null} and {@code pe} is non-{@code null}, then
+   * no serialization of symbol completion will occur <strong>and this {@link DefaultDomain} therefore will not be safe
+   * for concurrent use by multiple threads</strong>
+   *
+   * @param cache a {@link TypeRelationCache} in which the results of {@link #assignable(TypeMirror, TypeMirror)}, {@link
+   * #contains(TypeMirror, TypeMirror)}, {@link #sameType(TypeMirror, TypeMirror)} and {@link #subtype(TypeMirror,
+   * TypeMirror)} will be cached, and which will be {@linkplain TypeRelationCache#clear() cleared} whenever the underlying
+   * {@link ProcessingEnvironment} is replaced; may be {@code null} in which case no such caching will occur
+   *
+   * @see #DefaultDomain(ProcessingEnvironment, Lock, TypeRelationCache, Canonicalizer)
+   *
+   * @see RuntimeProcessingEnvironmentSupplier#get()
+   *
+   * @see SymbolCompletionLock#INSTANCE
+   *
+   * @see TypeRelationCache
+   */
+  public DefaultDomain(final ProcessingEnvironment pe, final Lock lock, final TypeRelationCache cache) {
+    this(pe, lock, cache, null);
+  }
+
+  /**
+   * Creates a new {@link DefaultDomain} <strong>normally for use at annotation processing time</strong>, whose usage
+   * type is actually determined by the arguments supplied to this constructor.
+   *
+   * @param pe a {@link ProcessingEnvironment}; may be {@code null} (<strong>the expected value for runtime
+   * usage</strong>), in which case the return value of an invocation of {@link Supplier#get()} on the return value of
+   * an invocation of {@link RuntimeProcessingEnvironmentSupplier#of()} will be used instead
+   *
+   * @param lock a {@link Lock} to use to serialize symbol completion; if {@code null} and {@code pe} is {@code null},
+   * then a global {@link ReentrantLock} will be used instead; if {@code null} and {@code pe} is non-{@code null}, then
+   * no serialization of symbol completion will occur <strong>and this {@link DefaultDomain} therefore will not be safe
+   * for concurrent use by multiple threads</strong>
+   *
+   * @param cache a {@link TypeRelationCache} in which the results of {@link #assignable(TypeMirror, TypeMirror)}, {@link
+   * #contains(TypeMirror, TypeMirror)}, {@link #sameType(TypeMirror, TypeMirror)} and {@link #subtype(TypeMirror,
+   * TypeMirror)} will be cached, and which will be {@linkplain TypeRelationCache#clear() cleared} whenever the underlying
+   * {@link ProcessingEnvironment} is replaced; may be {@code null} in which case no such caching will occur
+   *
+   * @param canonicalizer a {@link Canonicalizer} that will be used to ensure that a given delegate is wrapped by at most
+   * one {@link UniversalElement} or {@link UniversalType}, and which will be {@linkplain Canonicalizer#clear() cleared}
+   * whenever the underlying {@link ProcessingEnvironment} is replaced; may be {@code null} in which case a new wrapper
+   * will be created whenever one is needed; must not be used by any other {@link PrimordialDomain}
+   *
+   * @see RuntimeProcessingEnvironmentSupplier#get()
+   *
+   * @see SymbolCompletionLock#INSTANCE
+   *
+   * @see TypeRelationCache
+   *
+   * @see Canonicalizer
+   */
+  public DefaultDomain(final ProcessingEnvironment pe,
+                       final Lock lock,
+                       final TypeRelationCache cache,
+                       final Canonicalizer canonicalizer) {
+    this(pe == null ? RuntimeProcessingEnvironmentSupplier.of() : supplier(pe),
+         pe == null && lock == null ? SymbolCompletionLock.INSTANCE : lock,
+         cache,
+         canonicalizer);
+  }
+
+  // For subclasses in this package that supply ProcessingEnvironments lazily, such as SnapshotDomain.
+  DefaultDomain(final Supplier<? extends ProcessingEnvironment> pe, final Lock lock) {
+    this(requireNonNull(pe, "pe"), requireNonNull(lock, "lock"), null, null);
+  }
+
+  // lock may be null, in which case no locking will occur.
+  private DefaultDomain(final Supplier<? extends ProcessingEnvironment> pe,
+                        final Lock lock,
+                        final TypeRelationCache cache,
+                        final Canonicalizer canonicalizer) {
     super();
-    if (pe == null) {
-      this.pe = RuntimeProcessingEnvironmentSupplier.of();
-      final Lock l = lock == null ? SymbolCompletionLock.INSTANCE : lock;
-      this.locker = () -> {
-        l.lock();
-        return l::unlock;
-      };
+    this.pe = pe;
+    this.cache = cache;
+    this.canonicalizer = canonicalizer;
+    this.acquisitions = new LongAdder();
+    this.contentions = new LongAdder();
+    this.elisions = new LongAdder();
+    this.gated = lock != null;
+    if (lock == null) {
+      this.locker = DefaultDomain::noopLock;
     } else {
-      this.pe = () -> pe;
-      this.locker = lock == null ? DefaultDomain::noopLock : () -> {
-        lock.lock();
-        return lock::unlock;
+      // Allocated once; operations that are nested in others, such as those in a batch, neither allocate nor, when it
+      // can be determined that the current thread already holds the lock, reacquire it.
+      final Unlockable unlocker = lock::unlock;
+      this.locker = switch (lock) {
+      case ReentrantLock rl -> () -> {
+        if (rl.isHeldByCurrentThread()) {
+          return noopLock();
+        }
+        this.acquire(rl);
+        return unlocker;
+      };
+      case InstrumentedLock il -> () -> {
+        if (il.isHeldByCurrentThread()) {
+          return noopLock();
+        }
+        if (il.lockReportingContention()) {
+          this.contentions.increment();
+        }
+        this.acquisitions.increment();
+        return unlocker;
+      };
+      default -> () -> {
+        this.acquire(lock);
+        return unlocker;
+      };
       };
     }
   }
@@ -153,6 +325,51 @@ public class DefaultDomain implements Constable, Domain {
    */
 
 
+  private final void acquire(final Lock lock) {
+    boolean acquired;
+    try {
+      // tryLock(long, TimeUnit) honors fairness, unlike tryLock().
+      acquired = lock.tryLock(0L, NANOSECONDS);
+    } catch (final InterruptedException e) {
+      // The current thread was interrupted before it tried, which says nothing about whether the lock is free.
+      Thread.currentThread().interrupt();
+      acquired = lock.tryLock();
+    }
+    if (!acquired) {
+      this.contentions.increment();
+      lock.lock();
+    }
+    this.acquisitions.increment();
+  }
+
+  /**
+   * Returns an immutable, determinate, non-{@code null} {@link List} of {@link AnnotationMirror} instances representing
+   * all annotations <dfn>present</dfn> on an element, whether <dfn>directly present</dfn> or present via inheritance.
+   *
+   * <p>The result is equal to that of {@link Domain#allAnnotationMirrors(Element)}, but the annotations each class
+   * passes on to its subclasses are computed only once, from those its own superclass passes on, and are then shared
+   * by all of its subclasses.</p>
+   *
+   * @param e the {@link Element} whose present annotations should be returned; must not be {@code null}
+   *
+   * @return an immutable, determinate, non-{@code null} {@link List} of {@link AnnotationMirror} instances representing
+   * all annotations <dfn>present</dfn> on an element, whether <dfn>directly present</dfn> or present via inheritance
+   *
+   * @exception NullPointerException if {@code e} is {@code null}
+   *
+   * @see Domain#allAnnotationMirrors(Element)
+   */
+  @Override // Domain
+  public List<? extends AnnotationMirror> allAnnotationMirrors(final Element e) {
+    final UniversalElement ue = UniversalElement.of(requireNonNull(e, "e"), this);
+    final List<AnnotationMirror> directlyPresent = ue.getAnnotationMirrors(); // may have been replaced, so not memoized
+    if (ue.getKind() != ElementKind.CLASS) {
+      return directlyPresent;
+    }
+    final List<AnnotationMirror> inherited = this.inheritableAnnotationMirrors(superclassElement(ue));
+    return inherited.isEmpty() ? directlyPresent : this.merge(inherited, directlyPresent);
+  }
+
   @Override // Domain
   public List<? extends UniversalElement> allMembers(TypeElement e) {
     e = unwrap(e);
@@ -161,6 +378,64 @@ public class DefaultDomain implements Constable, Domain {
     }
   }
 
+  /**
+   * Returns an {@link Element} that is {@linkplain Element#equals(Object) equal to} the supplied {@link Element} but
+   * {@linkplain Element#getAnnotationMirrors() with} a {@link List} of annotations {@linkplain List#equals(Object)
+   * equal to} the supplied {@link List} of {@link AnnotationMirror}s.
+   *
+   * <p>If this {@link DefaultDomain} {@linkplain #DefaultDomain(ProcessingEnvironment, Lock, TypeRelationCache,
+   * Canonicalizer) canonicalizes its constructs}, a new, non-canonical {@link UniversalElement} is returned so that the
+   * canonical one is not modified. Otherwise the behavior is that of {@link Domain#annotate(List, Element)}.</p>
+   *
+   * @param annotations a {@link List} of {@link AnnotationMirror}s; must not be {@code null}
+   *
+   * @param e an {@link Element}; must not be {@code null}
+   *
+   * @return an {@link Element} that is {@linkplain Element#equals(Object) equal to} the supplied {@link Element} but
+   * {@linkplain Element#getAnnotationMirrors() with} a {@link List} of annotations {@linkplain List#equals(Object)
+   * equal to} the supplied {@link List} of {@link AnnotationMirror}s
+   *
+   * @exception NullPointerException if any argument is {@code null}
+   *
+   * @see Domain#annotate(List, Element)
+   */
+  @Override // Domain
+  public Element annotate(final List<? extends AnnotationMirror> annotations, final Element e) {
+    return
+      this.canonicalizer == null ?
+      Domain.super.annotate(annotations, e) :
+      new UniversalElement(requireNonNull(annotations, "annotations"), e, this);
+  }
+
+  /**
+   * Returns a {@link TypeMirror} that is {@linkplain TypeMirror#equals(Object) equal to} the supplied {@link
+   * TypeMirror} but {@linkplain TypeMirror#getAnnotationMirrors() with} a {@link List} of annotations {@linkplain
+   * List#equals(Object) equal to} the supplied {@link List} of {@link AnnotationMirror}s.
+   *
+   * <p>If this {@link DefaultDomain} {@linkplain #DefaultDomain(ProcessingEnvironment, Lock, TypeRelationCache,
+   * Canonicalizer) canonicalizes its constructs}, a new, non-canonical {@link UniversalType} is returned so that the
+   * canonical one is not modified. Otherwise the behavior is that of {@link Domain#annotate(List, TypeMirror)}.</p>
+   *
+   * @param annotations a {@link List} of {@link AnnotationMirror}s; must not be {@code null}
+   *
+   * @param t a {@link TypeMirror}; must not be {@code null}
+   *
+   * @return a {@link TypeMirror} that is {@linkplain TypeMirror#equals(Object) equal to} the supplied {@link
+   * TypeMirror} but {@linkplain TypeMirror#getAnnotationMirrors() with} a {@link List} of annotations {@linkplain
+   * List#equals(Object) equal to} the supplied {@link List} of {@link AnnotationMirror}s
+   *
+   * @exception NullPointerException if any argument is {@code null}
+   *
+   * @see Domain#annotate(List, TypeMirror)
+   */
+  @Override // Domain
+  public TypeMirror annotate(final List<? extends AnnotationMirror> annotations, final TypeMirror t) {
+    return
+      this.canonicalizer == null ?
+      Domain.super.annotate(annotations, t) :
+      new UniversalType(requireNonNull(annotations, "annotations"), t, this);
+  }
+
   /**
    * Returns a {@link UniversalType} representing an {@link javax.lang.model.type.ArrayType} whose {@linkplain
    * javax.lang.model.type.ArrayType#getComponentType() component type} {@linkplain #sameType(TypeMirror, TypeMirror) is
@@ -178,6 +453,22 @@ public class DefaultDomain implements Constable, Domain {
    *
    * @see Types#getArrayType(TypeMirror)
    */
+  /**
+   * Returns a non-{@code null} {@link ConcurrentMap} in which information describing annotation interfaces whose
+   * constructs belong to this {@link DefaultDomain} is cached, keyed by their qualified names.
+   *
+   * <p>The returned {@link ConcurrentMap} is discarded, together with the symbols it references, whenever the
+   * underlying {@link ProcessingEnvironment} is replaced.</p>
+   *
+   * @return a non-{@code null} {@link ConcurrentMap}
+   *
+   * @see PrimordialDomain#annotationInterfaces()
+   */
+  @Override // PrimordialDomain
+  public final ConcurrentMap<String, Object> annotationInterfaces() {
+    return this.caches().annotationInterfaces;
+  }
+
   @Override // Domain
   public UniversalType arrayTypeOf(TypeMirror t) {
     t = unwrap(t);
@@ -200,9 +491,54 @@ public class DefaultDomain implements Constable, Domain {
   public boolean assignable(TypeMirror payload, TypeMirror receiver) {
     payload = unwrap(payload);
     receiver = unwrap(receiver);
+    // Widening primitive conversions (JLS §5.1.2) never need javac. Narrowing is left to javac because it depends on
+    // constant values that are not visible through javax.lang.model.
+    if (primitiveSubtype(payload.getKind(), receiver.getKind())) {
+      this.elisions.increment();
+      return true;
+    }
+    final Boolean cached = this.cached(ASSIGNABLE, payload, receiver);
+    if (cached != null) {
+      return cached.booleanValue();
+    }
+    final boolean rv;
     try (var lock = lock()) {
-      return this.types().isAssignable(payload, receiver);
+      rv = this.types().isAssignable(payload, receiver);
+    }
+    if (this.cache != null) {
+      this.cache.put(ASSIGNABLE, payload, receiver, rv);
     }
+    return rv;
+  }
+
+  /**
+   * Returns a {@link RelationMatrix} whose entry at row <var>i</var> and column <var>j</var> is the result of {@link
+   * #assignable(TypeMirror, TypeMirror) assignable(payloads.get(i), receivers.get(j))}, computed while holding this
+   * {@link DefaultDomain}'s {@link Lock} once.
+   *
+   * <p>Each payload's erased supertypes are computed once. Pairs of declared types whose erasures are unrelated are
+   * rejected, and pairs whose receivers are neither parameterized nor nested in parameterized types are accepted,
+   * without consulting the underlying {@link Types} implementation.</p>
+   *
+   * @param payloads a {@link List} of {@link TypeMirror}s (the rows); must not be {@code null} and must not contain
+   * {@code null} elements
+   *
+   * @param receivers a {@link List} of {@link TypeMirror}s (the columns); must not be {@code null} and must not contain
+   * {@code null} elements
+   *
+   * @return a non-{@code null} {@link RelationMatrix}
+   *
+   * @exception NullPointerException if either argument is {@code null} or contains {@code null} elements
+   *
+   * @exception IllegalArgumentException if the number of entries would exceed {@link Integer#MAX_VALUE}, or if any
+   * pair is unsuitable for {@link #assignable(TypeMirror, TypeMirror)}
+   *
+   * @see #subtypeMatrix(List, List)
+   */
+  @Override // Domain
+  public RelationMatrix assignableMatrix(final List<? extends TypeMirror> payloads,
+                                         final List<? extends TypeMirror> receivers) {
+    return this.matrix(ASSIGNABLE, payloads, receivers);
   }
 
   @Override // Domain
@@ -221,6 +557,37 @@ public class DefaultDomain implements Constable, Domain {
     }
   }
 
+  // Returns the result of the supplied relation recorded in this DefaultDomain's TypeRelationCache, if it has one, or
+  // null. Relations among the types of any previous ProcessingEnvironment are discarded first (see caches()).
+  private final Boolean cached(final Relation r, final TypeMirror t0, final TypeMirror t1) {
+    if (this.cache == null) {
+      return null;
+    }
+    this.caches();
+    return this.cache.get(r, t0, t1);
+  }
+
+  // Returns the Caches for the ProcessingEnvironment currently in use. Once a RuntimeProcessingEnvironmentSupplier has
+  // been closed it supplies a new ProcessingEnvironment whose symbols are distinct from those of its predecessor, so
+  // Caches for any other ProcessingEnvironment are discarded, together with the symbols they reference. So are the
+  // entries of this DefaultDomain's TypeRelationCache and Canonicalizer, if it has them, which reference such symbols
+  // too.
+  private final Caches caches() {
+    final ProcessingEnvironment pe = this.pe();
+    Caches c = this.caches; // volatile read
+    if (c == null || c.pe != pe) {
+      // Racing threads may each install Caches for pe; all but one are simply lost.
+      this.caches = c = new Caches(pe); // volatile write
+      if (this.cache != null) {
+        this.cache.clear();
+      }
+      if (this.canonicalizer != null) {
+        this.canonicalizer.clear();
+      }
+    }
+    return c;
+  }
+
   @Override // Domain
   public UniversalType capture(TypeMirror t) {
     t = unwrap(t);
@@ -233,9 +600,24 @@ public class DefaultDomain implements Constable, Domain {
   public boolean contains(TypeMirror t0, TypeMirror t1) {
     t0 = unwrap(t0);
     t1 = unwrap(t1);
+    final TypeKind k0 = t0.getKind();
+    final TypeKind k1 = t1.getKind();
+    if (k0.isPrimitive() && k1.isPrimitive()) {
+      this.elisions.increment();
+      return k0 == k1;
+    }
+    final Boolean cached = this.cached(CONTAINS, t0, t1);
+    if (cached != null) {
+      return cached.booleanValue();
+    }
+    final boolean rv;
     try (var lock = lock()) {
-      return this.types().contains(t0, t1);
+      rv = this.types().contains(t0, t1);
     }
+    if (this.cache != null) {
+      this.cache.put(CONTAINS, t0, t1, rv);
+    }
+    return rv;
   }
 
   // (Convenience.)
@@ -318,18 +700,106 @@ public class DefaultDomain implements Constable, Domain {
   @Override // Domain
   public UniversalType erasure(TypeMirror t) {
     t = unwrap(t);
+    switch (t.getKind()) {
+    case BOOLEAN, BYTE, CHAR, DOUBLE, FLOAT, INT, LONG, NONE, NULL, SHORT, VOID:
+      // These are their own erasures, unless they bear type annotations, which javac strips.
+      if (t.getAnnotationMirrors().isEmpty()) {
+        this.elisions.increment();
+        return UniversalType.of(t, this);
+      }
+      break;
+    default:
+      break;
+    }
     try (var lock = lock()) {
       return UniversalType.of(this.types().erasure(t), this);
     }
   }
 
+  /**
+   * Returns a {@link UniversalElement} corresponding to the supplied {@link Executable}.
+   *
+   * <p>The underlying element is memoized as described in the {@link #type(Type)} method, so subsequent invocations
+   * with an {@linkplain Executable#equals(Object) equal} {@link Executable} find it without consulting the underlying
+   * {@link ProcessingEnvironment}.</p>
+   *
+   * @param e an {@link Executable}; must not be {@code null}
+   *
+   * @return a {@link UniversalElement} corresponding to the supplied {@link Executable}, or {@code null} if there is no
+   * such element
+   *
+   * @exception NullPointerException if {@code e} is {@code null}
+   *
+   * @exception IllegalArgumentException if somehow {@code e} is neither a {@link java.lang.reflect.Constructor} nor a
+   * {@link java.lang.reflect.Method}
+   *
+   * @see Domain#executableElement(Executable)
+   */
+  // (Convenience.)
+  @Override // Domain
+  public UniversalElement executableElement(final Executable e) {
+    return UniversalElement.of(this.reflect(e, () -> unwrap(Domain.super.executableElement(e))), this);
+  }
+
   // (Convenience.)
   @Override // Domain
   public UniversalElement executableElement(final TypeElement declaringElement,
                                             final TypeMirror returnType,
                                             final CharSequence name,
                                             final TypeMirror... parameterTypes) {
-    return UniversalElement.of(Domain.super.executableElement(declaringElement, returnType, name, parameterTypes), this);
+    final TypeElement t = unwrap(requireNonNull(declaringElement, "declaringElement"));
+    final TypeMirror r = unwrap(requireNonNull(returnType, "returnType"));
+    final String n = this.toString(requireNonNull(name, "name"));
+    final TypeMirror[] pts = unwrap(requireNonNull(parameterTypes, "parameterTypes"));
+    try (var lock = lock()) {
+      final MemberIndex index = this.memberIndex(t);
+      final MethodTypeDesc d = MemberIndex.descriptor(r, pts, this.types(), this.elements());
+      // Erasure is not injective, so each candidate is confirmed; there is almost always at most one.
+      for (final ExecutableElement ee : d == null ? index.executables(n) : index.executables(n, d)) {
+        if (this.sameType(r, ee.getReturnType()) && this.sameTypes(ee.getParameters(), pts)) {
+          return UniversalElement.of(ee, this);
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Puts this {@link DefaultDomain} into <dfn>frozen</dfn> mode, in which no symbol completion is caused by the
+   * {@linkplain #lock(Element) first touch of an element}.
+   *
+   * <p>Once this {@link DefaultDomain} is frozen, the {@link #lock(Element)} method never acquires this {@link
+   * DefaultDomain}'s {@link Lock} for an {@link Element} enclosed by a class or package that has been completed, for
+   * example by the {@link #precomplete(Collection)} method, and throws an {@link IllegalStateException} for any other
+   * {@link Element} enclosed by a class or package, rather than completing it. Accessors of constructs {@linkplain
+   * #precomplete(Collection) precompleted} beforehand therefore never wait for one another. Operations that consult the
+   * underlying {@link Types} or {@link Elements} implementations, which keep unsynchronized internal state even for
+   * completed symbols, continue to acquire the {@link Lock}.</p>
+   *
+   * <p>If this {@link DefaultDomain} has no {@link Lock}, freezing it has no effect.</p>
+   *
+   * <p>This method is idempotent and safe for concurrent use by multiple threads. A frozen {@link DefaultDomain} cannot
+   * be thawed.</p>
+   *
+   * @see #frozen()
+   *
+   * @see #precomplete(Collection)
+   *
+   * @see #lock(Element)
+   */
+  public final void freeze() {
+    this.frozen = true; // volatile write
+  }
+
+  /**
+   * Returns {@code true} if and only if this {@link DefaultDomain} has been {@linkplain #freeze() frozen}.
+   *
+   * @return {@code true} if and only if this {@link DefaultDomain} has been {@linkplain #freeze() frozen}
+   *
+   * @see #freeze()
+   */
+  public final boolean frozen() {
+    return this.frozen; // volatile read
   }
 
   @Override // Object
@@ -353,14 +823,328 @@ public class DefaultDomain implements Constable, Domain {
    * Returns a non-{@code null} {@link Unlockable} that should be used in a {@code try}-with-resources block guarding
    * operations that might cause symbol completion.
    *
+   * <p>If this {@link DefaultDomain}'s {@link Lock} is a {@link ReentrantLock} or an {@link InstrumentedLock} that the
+   * current thread already holds, as it does for the duration of a {@linkplain #batch(java.util.function.Function)
+   * batch}, the {@link Unlockable} returned does nothing, and neither locking nor allocation occurs. Such nested
+   * invocations are not counted as {@linkplain #lockAcquisitions() acquisitions}.</p>
+   *
    * @return a non-{@code null} {@link Unlockable}
    *
    * @see Unlockable#close()
+   *
+   * @see #batch(java.util.function.Function)
    */
   public final Unlockable lock() {
     return this.locker.get();
   }
 
+  /**
+   * Returns a non-{@code null} {@link Unlockable} that should be used in a {@code try}-with-resources block guarding
+   * operations that merely force the completion of the symbol represented by the supplied {@link Element}.
+   *
+   * <p>The first time an {@link Element} enclosed by a given top-level class is supplied, this {@link DefaultDomain}'s
+   * {@link Lock} is acquired as usual. When the returned {@link Unlockable} is {@linkplain Unlockable#close() closed},
+   * that top-level class, together with all of its members and member classes, is completed before the {@link Lock} is
+   * released. Thereafter, an {@link Unlockable} that does not lock anything is returned for any {@link Element} enclosed
+   * by that top-level class, so that first touches of constructs belonging to different, already completed classes do
+   * not block one another.</p>
+   *
+   * <p>Symbol completion itself is always serialized by this {@link DefaultDomain}'s {@link Lock}, since the
+   * underlying {@link ProcessingEnvironment} cannot complete two symbols concurrently. {@link Element}s that are not
+   * enclosed by any class, such as packages and modules, and {@link Element}s whose top-level classes could not be
+   * completed in full, always cause the {@link Lock} to be acquired.</p>
+   *
+   * <p>Packages whose member classes have all been {@linkplain #precomplete(Collection) precompleted} are treated in
+   * the same way as completed top-level classes.</p>
+   *
+   * <p>If this {@link DefaultDomain} is {@linkplain #freeze() frozen}, an {@link IllegalStateException} is thrown,
+   * instead of the {@link Lock} being acquired, for an {@link Element} enclosed by a top-level class or package that
+   * has not been completed.</p>
+   *
+   * <p>If this {@link DefaultDomain} has no {@link Lock}, this method behaves like the {@link #lock()} method.</p>
+   *
+   * @param e an {@link Element}; must not be {@code null}
+   *
+   * @return a non-{@code null} {@link Unlockable}
+   *
+   * @exception NullPointerException if {@code e} is {@code null}
+   *
+   * @exception IllegalStateException if this {@link DefaultDomain} is {@linkplain #freeze() frozen} and completing
+   * {@code e} would otherwise be necessary
+   *
+   * @see #lock()
+   *
+   * @see PrimordialDomain#lock(Element)
+   */
+  @Override // PrimordialDomain
+  public final Unlockable lock(final Element e) {
+    if (!this.gated) {
+      return this.lock();
+    }
+    final Element unwrappedElement = unwrap(requireNonNull(e, "e"));
+    if (CompletionGates.open(unwrappedElement)) {
+      this.elisions.increment();
+      return DefaultDomain::doNothing;
+    } else if (this.frozen && !(unwrappedElement instanceof ModuleElement)) { // volatile read
+      throw new IllegalStateException("frozen; element not precompleted");
+    }
+    final Unlockable lock = this.lock();
+    return () -> {
+      try {
+        CompletionGates.complete(unwrappedElement);
+      } finally {
+        lock.close();
+      }
+    };
+  }
+
+  /**
+   * Returns the number of times this {@link DefaultDomain}'s {@link Lock}, if it has one, has been acquired.
+   *
+   * <p>The value returned is a statistic and may not reflect concurrent updates.</p>
+   *
+   * @return the number of times this {@link DefaultDomain}'s {@link Lock} has been acquired
+   *
+   * @see #lockContentions()
+   *
+   * @see #lockElisions()
+   */
+  public final long lockAcquisitions() {
+    return this.acquisitions.sum();
+  }
+
+  /**
+   * Returns the number of times an attempt to acquire this {@link DefaultDomain}'s {@link Lock}, if it has one, found it
+   * held by another thread and had to wait.
+   *
+   * <p>The value returned is a statistic and may not reflect concurrent updates.</p>
+   *
+   * @return the number of contended acquisitions of this {@link DefaultDomain}'s {@link Lock}
+   *
+   * @see #lockAcquisitions()
+   */
+  public final long lockContentions() {
+    return this.contentions.sum();
+  }
+
+  /**
+   * Returns the number of queries this {@link DefaultDomain} answered without acquiring its {@link Lock} at all
+   * because their answers could be determined without consulting the underlying {@link ProcessingEnvironment}.
+   *
+   * <p>Relations between primitive types, erasures of types that are their own erasures, and {@linkplain #lock(Element)
+   * first touches of elements whose top-level classes have already been completed}, for example, are answered this way.
+   * Queries that might cause symbol completion, or that consult the underlying {@link Types} implementation (which
+   * keeps unsynchronized internal caches even for completed symbols), always acquire the {@link Lock}.</p>
+   *
+   * <p>The value returned is a statistic and may not reflect concurrent updates.</p>
+   *
+   * @return the number of queries answered without locking
+   *
+   * @see #lockAcquisitions()
+   */
+  public final long lockElisions() {
+    return this.elisions.sum();
+  }
+
+  /**
+   * Returns a non-{@code null}, determinate, immutable {@link Set} of the qualified names of the annotation interfaces
+   * of the annotations present, directly or transitively, on the supplied annotation interface.
+   *
+   * <p>The {@link Set} is computed once per annotation interface and underlying {@link ProcessingEnvironment}, while
+   * this {@link DefaultDomain}'s {@link Lock} is held, and is then shared, without locking, by all callers. It reflects
+   * the annotations the annotation interfaces involved were declared with: {@linkplain
+   * UniversalConstruct#replaceAnnotationMirrors(List) replacements} of their annotations are not considered. A {@link
+   * SyntheticAnnotationTypeElement}'s closure is not cached.</p>
+   *
+   * @param annotationInterface a {@link TypeElement} representing an annotation interface; must not be {@code null}
+   *
+   * @return a non-{@code null}, determinate, immutable {@link Set} of qualified names
+   *
+   * @exception NullPointerException if {@code annotationInterface} is {@code null}
+   *
+   * @see Domain#metaAnnotationInterfaceNames(TypeElement)
+   *
+   * @see AnnotationMirrors#metaAnnotationInterfaceNames(TypeElement)
+   */
+  @Override // Domain
+  public Set<String> metaAnnotationInterfaceNames(TypeElement annotationInterface) {
+    annotationInterface = unwrap(requireNonNull(annotationInterface, "annotationInterface"));
+    if (annotationInterface instanceof SyntheticAnnotationTypeElement) {
+      // The annotations of a synthetic annotation interface may change, so its closure cannot be cached.
+      try (var lock = lock()) {
+        return AnnotationMirrors.metaAnnotationInterfaceNames(annotationInterface);
+      }
+    }
+    final ConcurrentMap<TypeElement, Set<String>> m = this.caches().metaAnnotationInterfaceNames;
+    Set<String> names = m.get(annotationInterface);
+    if (names == null) {
+      try (var lock = lock()) {
+        names = AnnotationMirrors.metaAnnotationInterfaceNames(annotationInterface);
+      }
+      final Set<String> existing = m.putIfAbsent(annotationInterface, names);
+      if (existing != null) {
+        names = existing;
+      }
+    }
+    return names;
+  }
+
+  // Returns the annotations that the supplied class (or, if it is null, a class with no superclass) passes on to its
+  // subclasses: those of its superclass, followed by its own inherited annotations in reverse order, which is the
+  // (strange) order in which javac prepends them.
+  private final List<AnnotationMirror> inheritableAnnotationMirrors(final UniversalElement c) {
+    if (c == null) {
+      return List.of();
+    }
+    final ConcurrentMap<Element, List<AnnotationMirror>> m = this.caches().inheritableAnnotations;
+    final Element k = c.delegate();
+    List<AnnotationMirror> as = m.get(k);
+    if (as == null) {
+      final List<AnnotationMirror> own = new ArrayList<>();
+      for (final AnnotationMirror a : c.getAnnotationMirrors()) {
+        if (AnnotationMirrors.inherited(a)) {
+          own.addFirst(a);
+        }
+      }
+      // Only classes pass on the annotations of their superclasses.
+      as = this.merge(c.getKind() == ElementKind.CLASS ? this.inheritableAnnotationMirrors(superclassElement(c)) : List.of(),
+                      own);
+      final List<AnnotationMirror> existing = m.putIfAbsent(k, as);
+      if (existing != null) {
+        as = existing;
+      }
+    }
+    return as;
+  }
+
+  // Returns the MemberIndex for the supplied unwrapped TypeElement, building it if necessary. Must be called while the
+  // symbol completion lock is held.
+  private final MemberIndex memberIndex(final TypeElement t) {
+    final ConcurrentMap<TypeElement, MemberIndex> m = this.caches().memberIndices;
+    MemberIndex index = m.get(t);
+    if (index == null) {
+      index = MemberIndex.of(t, this.types(), this.elements());
+      final MemberIndex existing = m.putIfAbsent(t, index);
+      if (existing != null) {
+        index = existing;
+      }
+    }
+    return index;
+  }
+
+  // Returns a new immutable List consisting of those of the supplied inherited annotations whose annotation interfaces
+  // are not those of any of the supplied present annotations, followed by the present annotations.
+  private final List<AnnotationMirror> merge(final List<? extends AnnotationMirror> inherited,
+                                             final List<? extends AnnotationMirror> present) {
+    final AnnotationMirror[] as = new AnnotationMirror[inherited.size() + present.size()];
+    int i = 0;
+    INHERITED_LOOP:
+    for (final AnnotationMirror a : inherited) {
+      for (final AnnotationMirror p : present) {
+        if (this.sameAnnotationInterface(a, p)) {
+          continue INHERITED_LOOP;
+        }
+      }
+      as[i++] = a;
+    }
+    for (final AnnotationMirror p : present) {
+      as[i++] = p;
+    }
+    return List.of(i == as.length ? as : Arrays.copyOf(as, i));
+  }
+
+  // Returns the (unwrapped) construct bridged from the supplied reflective object, computing it with the supplied
+  // Supplier and memoizing it, under the object's reflection key (see reflectionKey(Object, StringBuilder)), if it is
+  // not null. Wrappers are not memoized, since their annotations may be replaced (see annotate(List, Element)).
+  // Deliberately avoids computeIfAbsent: bridging one object can recursively bridge others.
+  @SuppressWarnings("unchecked")
+  private final <T extends AnnotatedConstruct> T reflect(final Object o, final Supplier<? extends T> s) {
+    final ConcurrentMap<String, AnnotatedConstruct> m = this.caches().reflections;
+    final String k = reflectionKey(requireNonNull(o, "o"), new StringBuilder()).toString();
+    T t = (T)m.get(k);
+    if (t == null) {
+      t = s.get();
+      if (t != null) {
+        final T existing = (T)m.putIfAbsent(k, t);
+        if (existing != null) {
+          t = existing;
+        }
+      }
+    }
+    return t;
+  }
+
+  // Computes a RelationMatrix for ASSIGNABLE or SUBTYPE under one acquisition of the lock. For declared types S and T,
+  // both relations require that the erasure of T be a supertype of the erasure of S (boxing and unboxing never apply
+  // between two declared types), so pairs failing that test never reach javac. If T is not parameterized, that test is
+  // also sufficient.
+  private final RelationMatrix matrix(final Relation r,
+                                      final List<? extends TypeMirror> candidates,
+                                      final List<? extends TypeMirror> targets) {
+    final RelationMatrix m = new RelationMatrix(candidates.size(), targets.size());
+    if (m.rows() == 0 || m.columns() == 0) {
+      return m;
+    }
+    final TypeMirror[] ts = new TypeMirror[m.columns()];
+    for (int j = 0; j < ts.length; j++) {
+      ts[j] = unwrap(requireNonNull(targets.get(j), "targets"));
+    }
+    try (var lock = lock()) {
+      final Types types = this.types();
+      // The element declaring each declared target, and whether containing it alone decides the relation.
+      final Element[] targetElements = new Element[ts.length];
+      final boolean[] decisive = new boolean[ts.length];
+      for (int j = 0; j < ts.length; j++) {
+        if (ts[j].getKind() == TypeKind.DECLARED) {
+          targetElements[j] = ((DeclaredType)ts[j]).asElement();
+          decisive[j] = unparameterized((DeclaredType)ts[j]);
+        }
+      }
+      final Set<Element> closure = Collections.newSetFromMap(new IdentityHashMap<>());
+      for (int i = 0; i < m.rows(); i++) {
+        final TypeMirror c = unwrap(requireNonNull(candidates.get(i), "candidates"));
+        final TypeKind ck = c.getKind();
+        closure.clear();
+        if (ck == TypeKind.DECLARED) {
+          erasedSupertypeElements(types, types.erasure(c), closure);
+        }
+        for (int j = 0; j < ts.length; j++) {
+          final TypeMirror t = ts[j];
+          if (ck == TypeKind.DECLARED && targetElements[j] != null) {
+            if (!closure.contains(targetElements[j])) {
+              continue;
+            } else if (decisive[j]) {
+              m.set(i, j);
+              continue;
+            }
+          } else if (ck.isPrimitive() && t.getKind().isPrimitive()) {
+            if (primitiveSubtype(ck, t.getKind())) {
+              m.set(i, j);
+              continue;
+            } else if (r == SUBTYPE) {
+              continue;
+            }
+            // Narrowing assignability is left to javac.
+          }
+          final Boolean cached = this.cached(r, c, t);
+          final boolean rv;
+          if (cached == null) {
+            rv = r == SUBTYPE ? types.isSubtype(c, t) : types.isAssignable(c, t);
+            if (this.cache != null) {
+              this.cache.put(r, c, t, rv);
+            }
+          } else {
+            rv = cached.booleanValue();
+          }
+          if (rv) {
+            m.set(i, j);
+          }
+        }
+      }
+    }
+    return m;
+  }
+
   // (Canonical.)
   @Override // Domain
   public UniversalElement moduleElement(final CharSequence canonicalName) {
@@ -424,6 +1208,41 @@ public class DefaultDomain implements Constable, Domain {
     return this.pe.get();
   }
 
+  /**
+   * Completes every class reachable from the types, packages and modules named by the supplied {@link Collection}, so
+   * that the {@linkplain #lock(Element) first touches} of elements they enclose need not acquire this {@link
+   * DefaultDomain}'s {@link Lock}, and returns the number of top-level classes so completed.
+   *
+   * <p>Each name is first treated as the canonical name of a type, then as the name of a package, and then as the name
+   * of a module. Names that denote none of these are ignored. A class is reachable if it is named, is declared in a
+   * named package or in a package of a named module, or is a member class, supertype or annotation interface of a
+   * reachable class, or declares a type used in the signature of a member or type parameter of a reachable class. All
+   * members of reachable classes, and their annotations, are completed as well. Completion happens while this {@link
+   * DefaultDomain}'s {@link Lock} is held once.</p>
+   *
+   * <p>Callers typically invoke this method once, early, and then {@linkplain #freeze() freeze} this {@link
+   * DefaultDomain}.</p>
+   *
+   * @param names a {@link Collection} of type, package or module names; must not be {@code null}
+   *
+   * @return the number of reachable top-level classes that have been completed; never less than {@code 0}
+   *
+   * @exception NullPointerException if {@code names} is {@code null} or contains {@code null} elements
+   *
+   * @see #freeze()
+   *
+   * @see #lock(Element)
+   */
+  public final int precomplete(final Collection<? extends CharSequence> names) {
+    final List<String> ns = new ArrayList<>(names.size());
+    for (final CharSequence name : names) {
+      ns.add(name.toString());
+    }
+    try (var lock = lock()) {
+      return Crawler.crawl(this.elements(), ns);
+    }
+  }
+
   // (Canonical.)
   @Override // Domain
   public UniversalType primitiveType(final TypeKind kind) {
@@ -479,9 +1298,51 @@ public class DefaultDomain implements Constable, Domain {
     }
     t0 = unwrap(t0);
     t1 = unwrap(t1);
+    final TypeKind k0 = t0.getKind();
+    if (t0 == t1 && k0 != TypeKind.WILDCARD) {
+      this.elisions.increment();
+      return true;
+    }
+    final TypeKind k1 = t1.getKind();
+    if (k0.isPrimitive() && k1.isPrimitive()) {
+      this.elisions.increment();
+      return k0 == k1;
+    }
+    final Boolean cached = this.cached(SAME_TYPE, t0, t1);
+    if (cached != null) {
+      return cached.booleanValue();
+    }
+    final boolean rv;
     try (var lock = lock()) {
-      return this.types().isSameType(t0, t1);
+      rv = this.types().isSameType(t0, t1);
     }
+    if (this.cache != null) {
+      this.cache.put(SAME_TYPE, t0, t1, rv);
+    }
+    return rv;
+  }
+
+  // Annotation interfaces are compared by identity unless either is synthetic, in which case they are compared by
+  // qualified name.
+  private final boolean sameAnnotationInterface(final AnnotationMirror a0, final AnnotationMirror a1) {
+    final Element e0 = unwrap(a0.getAnnotationType().asElement());
+    final Element e1 = unwrap(a1.getAnnotationType().asElement());
+    return
+      e0 == e1 ||
+      (e0 instanceof SyntheticAnnotationTypeElement || e1 instanceof SyntheticAnnotationTypeElement) &&
+      this.toString(((QualifiedNameable)e0).getQualifiedName()).equals(this.toString(((QualifiedNameable)e1).getQualifiedName()));
+  }
+
+  private final boolean sameTypes(final List<? extends VariableElement> parameters, final TypeMirror[] parameterTypes) {
+    if (parameters.size() != parameterTypes.length) {
+      return false;
+    }
+    for (int i = 0; i < parameterTypes.length; i++) {
+      if (!this.sameType(parameters.get(i).asType(), parameterTypes[i])) {
+        return false;
+      }
+    }
+    return true;
   }
 
   @Override // Domain
@@ -497,9 +1358,52 @@ public class DefaultDomain implements Constable, Domain {
   public boolean subtype(TypeMirror candidateSubtype, TypeMirror candidateSupertype) {
     candidateSubtype = unwrap(candidateSubtype);
     candidateSupertype = unwrap(candidateSupertype);
+    final TypeKind k0 = candidateSubtype.getKind();
+    final TypeKind k1 = candidateSupertype.getKind();
+    if (k0.isPrimitive() && k1.isPrimitive()) {
+      this.elisions.increment();
+      return primitiveSubtype(k0, k1);
+    }
+    final Boolean cached = this.cached(SUBTYPE, candidateSubtype, candidateSupertype);
+    if (cached != null) {
+      return cached.booleanValue();
+    }
+    final boolean rv;
     try (var lock = lock()) {
-      return this.types().isSubtype(candidateSubtype, candidateSupertype);
+      rv = this.types().isSubtype(candidateSubtype, candidateSupertype);
+    }
+    if (this.cache != null) {
+      this.cache.put(SUBTYPE, candidateSubtype, candidateSupertype, rv);
     }
+    return rv;
+  }
+
+  /**
+   * Returns a {@link RelationMatrix} whose entry at row <var>i</var> and column <var>j</var> is the result of {@link
+   * #subtype(TypeMirror, TypeMirror) subtype(candidateSubtypes.get(i), supertypes.get(j))}, computed while holding this
+   * {@link DefaultDomain}'s {@link Lock} once.
+   *
+   * <p>Pairs are filtered as described in the documentation of the {@link #assignableMatrix(List, List)} method.</p>
+   *
+   * @param candidateSubtypes a {@link List} of {@link TypeMirror}s (the rows); must not be {@code null} and must not
+   * contain {@code null} elements
+   *
+   * @param supertypes a {@link List} of {@link TypeMirror}s (the columns); must not be {@code null} and must not
+   * contain {@code null} elements
+   *
+   * @return a non-{@code null} {@link RelationMatrix}
+   *
+   * @exception NullPointerException if either argument is {@code null} or contains {@code null} elements
+   *
+   * @exception IllegalArgumentException if the number of entries would exceed {@link Integer#MAX_VALUE}, or if any
+   * pair is unsuitable for {@link #subtype(TypeMirror, TypeMirror)}
+   *
+   * @see #assignableMatrix(List, List)
+   */
+  @Override // Domain
+  public RelationMatrix subtypeMatrix(final List<? extends TypeMirror> candidateSubtypes,
+                                      final List<? extends TypeMirror> supertypes) {
+    return this.matrix(SUBTYPE, candidateSubtypes, supertypes);
   }
 
   @Override // Domain
@@ -574,7 +1478,59 @@ public class DefaultDomain implements Constable, Domain {
   // (Convenience.)
   @Override // Domain
   public UniversalElement typeParameterElement(final Parameterizable p, final CharSequence name) {
-    return UniversalElement.of(Domain.super.typeParameterElement(p, name), this);
+    Element e = unwrap(requireNonNull(p, "p"));
+    final String n = this.toString(requireNonNull(name, "name"));
+    try (var lock = lock()) {
+      while (e != null) {
+        switch (e) {
+        case TypeElement t -> {
+          final TypeParameterElement tpe = this.memberIndex(t).typeParameter(n);
+          if (tpe != null) {
+            return UniversalElement.of(tpe, this);
+          }
+        }
+        case Parameterizable q -> {
+          for (final TypeParameterElement tpe : q.getTypeParameters()) { // executables have few
+            if (tpe.getSimpleName().contentEquals(n)) {
+              return UniversalElement.of(tpe, this);
+            }
+          }
+        }
+        default -> {}
+        }
+        e = e.getEnclosingElement();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns a {@link UniversalType} corresponding to the supplied (reflective) {@link Type}.
+   *
+   * <p>The underlying type is memoized, so subsequent invocations with an {@linkplain Object#equals(Object) equal}
+   * {@link Type}, even one obtained separately, find it without consulting the underlying {@link
+   * ProcessingEnvironment}. Memoized types are keyed by the names of the classes and members the {@link Type} refers
+   * to, not by the {@link Type} itself, and are held only until the underlying {@link ProcessingEnvironment} changes,
+   * so they never prevent {@link ClassLoader}s or discarded compilers from being reclaimed. Each invocation returns a
+   * new {@link UniversalType} (unless this {@link DefaultDomain} {@linkplain #wrap(AnnotatedConstruct, BiFunction)
+   * canonicalizes} them), so {@linkplain #annotate(List, TypeMirror) annotating} one does not affect the others.</p>
+   *
+   * @param t a {@link Type}; must not be {@code null}
+   *
+   * @return a non-{@code null} {@link UniversalType} corresponding to the supplied {@link Type}
+   *
+   * @exception NullPointerException if {@code t} is {@code null}
+   *
+   * @exception IllegalArgumentException if {@code t} is not a {@link Class}, {@link java.lang.reflect.GenericArrayType},
+   * {@link java.lang.reflect.ParameterizedType}, {@link java.lang.reflect.TypeVariable} or {@link
+   * java.lang.reflect.WildcardType}
+   *
+   * @see Domain#type(Type)
+   */
+  // (Convenience.)
+  @Override // Domain
+  public UniversalType type(final Type t) {
+    return UniversalType.of(this.reflect(t, () -> unwrap(Domain.super.type(t))), this);
   }
 
   // Non-private for testing only.
@@ -591,9 +1547,68 @@ public class DefaultDomain implements Constable, Domain {
   // (Convenience.)
   @Override // Domain
   public UniversalElement variableElement(final Element e, final CharSequence name) {
+    if (unwrap(requireNonNull(e, "e")) instanceof TypeElement t) {
+      final String n = this.toString(requireNonNull(name, "name"));
+      try (var lock = lock()) {
+        return UniversalElement.of(this.memberIndex(t).variable(n), this);
+      }
+    }
     return UniversalElement.of(Domain.super.variableElement(e, name), this);
   }
 
+  /**
+   * Returns a {@link UniversalElement} corresponding to the supplied (reflective) {@link Field}, <strong>or {@code null}
+   * if there is no such element</strong>.
+   *
+   * <p>The underlying element is memoized as described in the {@link #type(Type)} method, so subsequent invocations
+   * with an {@linkplain Field#equals(Object) equal} {@link Field} find it without consulting the underlying {@link
+   * ProcessingEnvironment}.</p>
+   *
+   * @param f a {@link Field}; must not be {@code null}
+   *
+   * @return a {@link UniversalElement}, or {@code null}
+   *
+   * @exception NullPointerException if {@code f} is {@code null}
+   *
+   * @see Domain#variableElement(Field)
+   */
+  // (Convenience.)
+  @Override // Domain
+  public UniversalElement variableElement(final Field f) {
+    return UniversalElement.of(this.reflect(f, () -> unwrap(Domain.super.variableElement(f))), this);
+  }
+
+  /**
+   * Returns a {@link UniversalConstruct} that wraps the supplied {@code delegate}, using the supplied {@code factory}
+   * to create it if necessary, and {@linkplain Canonicalizer#canonicalize(AnnotatedConstruct, PrimordialDomain,
+   * BiFunction) canonicalizing it} if this {@link DefaultDomain} was {@linkplain #DefaultDomain(ProcessingEnvironment,
+   * Lock, TypeRelationCache, Canonicalizer) created with a <code>Canonicalizer</code>}.
+   *
+   * @param <T> the type of the delegate
+   *
+   * @param <U> the type of the {@link UniversalConstruct}
+   *
+   * @param delegate the delegate; must not be {@code null} and should not be a {@link UniversalConstruct}
+   *
+   * @param factory a {@link BiFunction} that creates a new {@link UniversalConstruct} from a delegate and a {@link
+   * PrimordialDomain}; must not be {@code null}
+   *
+   * @return a non-{@code null} {@link UniversalConstruct}
+   *
+   * @exception NullPointerException if any argument is {@code null}
+   *
+   * @see Canonicalizer
+   */
+  @Override // PrimordialDomain
+  public <T extends AnnotatedConstruct, U extends UniversalConstruct<T>> U wrap(final T delegate,
+                                                                               final BiFunction<? super T, ? super PrimordialDomain, ? extends U> factory) {
+    if (this.canonicalizer == null) {
+      return factory.apply(delegate, this);
+    }
+    this.caches(); // discards wrappers of any previous ProcessingEnvironment's constructs
+    return this.canonicalizer.canonicalize(delegate, this, factory);
+  }
+
   @Override // Domain
   public UniversalType wildcardType() {
     return this.wildcardType(null, null);
@@ -617,11 +1632,120 @@ public class DefaultDomain implements Constable, Domain {
   // (Invoked only by method reference.)
   private static final void doNothing() {}
 
+  // Used by ShardedDomain.
+  static final DefaultDomain of(final Supplier<? extends ProcessingEnvironment> pe, final Lock lock) {
+    return new DefaultDomain(pe, lock);
+  }
+
+  // Non-private for testing only.
+  static final DefaultDomain of(final Supplier<? extends ProcessingEnvironment> pe,
+                                final Lock lock,
+                                final TypeRelationCache cache,
+                                final Canonicalizer canonicalizer) {
+    return new DefaultDomain(requireNonNull(pe, "pe"), requireNonNull(lock, "lock"), cache, canonicalizer);
+  }
+
+  // Adds to sink the elements declaring the erased type t and all of its supertypes. Must be called with the lock held.
+  private static final void erasedSupertypeElements(final Types types, final TypeMirror t, final Set<Element> sink) {
+    if (t.getKind() == TypeKind.DECLARED && sink.add(((DeclaredType)t).asElement())) {
+      for (final TypeMirror s : types.directSupertypes(t)) {
+        erasedSupertypeElements(types, s, sink);
+      }
+    }
+  }
+
   // (Invoked only by method reference.)
   private static final Unlockable noopLock() {
     return DefaultDomain::doNothing;
   }
 
+  // Is k0 a subtype of k1 according to JLS §4.10.1? Returns false if either is not primitive.
+  private static final boolean primitiveSubtype(final TypeKind k0, final TypeKind k1) {
+    return switch (k0) {
+    case BOOLEAN -> k1 == TypeKind.BOOLEAN;
+    case BYTE -> switch (k1) {
+      case BYTE, SHORT, INT, LONG, FLOAT, DOUBLE -> true;
+      default -> false;
+    };
+    case SHORT -> switch (k1) {
+      case SHORT, INT, LONG, FLOAT, DOUBLE -> true;
+      default -> false;
+    };
+    case CHAR -> switch (k1) {
+      case CHAR, INT, LONG, FLOAT, DOUBLE -> true;
+      default -> false;
+    };
+    case INT -> switch (k1) {
+      case INT, LONG, FLOAT, DOUBLE -> true;
+      default -> false;
+    };
+    case LONG -> switch (k1) {
+      case LONG, FLOAT, DOUBLE -> true;
+      default -> false;
+    };
+    case FLOAT -> k1 == TypeKind.FLOAT || k1 == TypeKind.DOUBLE;
+    case DOUBLE -> k1 == TypeKind.DOUBLE;
+    default -> false;
+    };
+  }
+
+  // Appends to the supplied StringBuilder a key naming the supplied reflective object as the default methods of Domain
+  // resolve it: by the names of classes, and the names and signatures of members. Equal reflective objects, such as the
+  // distinct but equal Methods that each call to Class#getMethod(String, Class...) returns, therefore yield equal keys,
+  // and the keys refer to no Class, and so to no ClassLoader.
+  private static final StringBuilder reflectionKey(final Object o, final StringBuilder sb) {
+    switch (o) {
+    case Class<?> c -> sb.append(c.getName());
+    case Constructor<?> c -> reflectionKey(c.getParameterTypes(), reflectionKey(c.getDeclaringClass(), sb).append("#<init>"));
+    case Method m -> reflectionKey(m.getReturnType(),
+                                   reflectionKey(m.getParameterTypes(),
+                                                 reflectionKey(m.getDeclaringClass(), sb).append('#').append(m.getName())));
+    case Field f -> reflectionKey(f.getDeclaringClass(), sb).append('#').append(f.getName());
+    case GenericArrayType g -> reflectionKey(g.getGenericComponentType(), sb).append("[]");
+    case ParameterizedType pt -> {
+      if (pt.getOwnerType() != null) {
+        reflectionKey(pt.getOwnerType(), sb).append("::");
+      }
+      reflectionKey(pt.getActualTypeArguments(), reflectionKey(pt.getRawType(), sb).append('<')).append('>');
+    }
+    case TypeVariable<?> tv -> reflectionKey(tv.getGenericDeclaration(), sb).append(':').append(tv.getName());
+    case WildcardType w when w.getLowerBounds().length <= 0 -> reflectionKey(w.getUpperBounds()[0], sb.append("? extends "));
+    case WildcardType w -> reflectionKey(w.getLowerBounds()[0], sb.append("? super "));
+    default -> throw new IllegalArgumentException("o: " + o);
+    }
+    return sb;
+  }
+
+  private static final StringBuilder reflectionKey(final Object[] os, final StringBuilder sb) {
+    sb.append('(');
+    for (int i = 0; i < os.length; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      reflectionKey(os[i], sb);
+    }
+    return sb.append(')');
+  }
+
+  // Returns the element declaring the superclass of the supplied UniversalElement, or null if there is none.
+  private static final UniversalElement superclassElement(final UniversalElement e) {
+    final UniversalType s = e.getSuperclass();
+    return s.getKind() == TypeKind.DECLARED ? s.asElement() : null;
+  }
+
+  private static final Supplier<ProcessingEnvironment> supplier(final ProcessingEnvironment pe) {
+    return () -> pe;
+  }
+
+  // Is t neither parameterized nor nested in a parameterized type?
+  private static final boolean unparameterized(final DeclaredType t) {
+    if (!t.getTypeArguments().isEmpty()) {
+      return false;
+    }
+    final TypeMirror enclosingType = t.getEnclosingType();
+    return enclosingType.getKind() != TypeKind.DECLARED || unparameterized((DeclaredType)enclosingType);
+  }
+
   private static final <T extends TypeMirror> T unwrap(final T t) {
     return UniversalType.unwrap(t);
   }
@@ -641,4 +1765,46 @@ public class DefaultDomain implements Constable, Domain {
     return rv;
   }
 
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  // Information derived from the symbols of a single ProcessingEnvironment.
+  private static final class Caches {
+
+    private final ProcessingEnvironment pe;
+
+    // Constructs bridged from reflective objects, keyed by the names and signatures those objects resolve by (see
+    // reflectionKey(Object, StringBuilder)), so that no ClassLoader is pinned.
+    private final ConcurrentMap<String, AnnotatedConstruct> reflections;
+
+    // Member indices, keyed by the (unwrapped) TypeElements they index (see memberIndex(TypeElement)).
+    private final ConcurrentMap<TypeElement, MemberIndex> memberIndices;
+
+    // Annotations that classes pass on to their subclasses, keyed by the (unwrapped) classes (see
+    // inheritableAnnotationMirrors(UniversalElement)).
+    private final ConcurrentMap<Element, List<AnnotationMirror>> inheritableAnnotations;
+
+    // Meta-annotation closures, keyed by the (unwrapped) annotation interfaces they close over (see
+    // metaAnnotationInterfaceNames(TypeElement)).
+    private final ConcurrentMap<TypeElement, Set<String>> metaAnnotationInterfaceNames;
+
+    // Descriptions of annotation interfaces, keyed by their qualified names (see annotationInterfaces()).
+    private final ConcurrentMap<String, Object> annotationInterfaces;
+
+    private Caches(final ProcessingEnvironment pe) {
+      super();
+      this.pe = pe;
+      this.annotationInterfaces = new ConcurrentHashMap<>();
+      this.reflections = new ConcurrentHashMap<>();
+      this.memberIndices = new ConcurrentHashMap<>();
+      this.inheritableAnnotations = new ConcurrentHashMap<>();
+      this.metaAnnotationInterfaceNames = new ConcurrentHashMap<>();
+    }
+
+  }
+
 }
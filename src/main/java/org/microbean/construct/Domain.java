@@ -15,6 +15,7 @@ package org.microbean.construct;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.GenericDeclaration;
 import java.lang.reflect.Method;
@@ -23,6 +24,9 @@ import java.lang.reflect.Type;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+
+import java.util.function.Function;
 
 import javax.lang.model.AnnotatedConstruct;
 
@@ -144,8 +148,9 @@ public interface Domain extends PrimordialDomain {
    * equal to} the supplied {@link Element} but {@linkplain Element#getAnnotationMirrors() with} a {@link List} of
    * annotations {@linkplain List#equals(Object) equal to} the supplied {@link List} of {@link AnnotationMirror}s.
    *
-   * <p>The supplied {@link Element} may be modified in place if the return value of its {@link
-   * Element#getAnnotationMirrors() getAnnotationMirrors()} method is mutable.</p>
+   * <p>The default implementation of this method {@linkplain UniversalElement#replaceAnnotationMirrors(List) replaces
+   * the annotations} of the supplied {@link Element} in place if it is a {@link UniversalElement}, and of a new {@link
+   * UniversalElement} wrapping it otherwise.</p>
    *
    * <p>No validation of any kind is performed on either argument.</p>
    *
@@ -163,9 +168,7 @@ public interface Domain extends PrimordialDomain {
    */
   public default Element annotate(final List<? extends AnnotationMirror> annotations, final Element e) {
     final UniversalElement ue = UniversalElement.of(e, this);
-    final List<AnnotationMirror> l = ue.getAnnotationMirrors();
-    l.clear();
-    l.addAll(annotations);
+    ue.replaceAnnotationMirrors(annotations);
     return ue;
   }
 
@@ -175,8 +178,9 @@ public interface Domain extends PrimordialDomain {
    * TypeMirror#getAnnotationMirrors() with} a {@link List} of annotations {@linkplain List#equals(Object) equal to} the
    * supplied {@link List} of {@link AnnotationMirror}s.
    *
-   * <p>The supplied {@link TypeMirror} may be modified in place if the return value of its {@link
-   * TypeMirror#getAnnotationMirrors() getAnnotationMirrors()} method is mutable.</p>
+   * <p>The default implementation of this method {@linkplain UniversalType#replaceAnnotationMirrors(List) replaces the
+   * annotations} of the supplied {@link TypeMirror} in place if it is a {@link UniversalType}, and of a new {@link
+   * UniversalType} wrapping it otherwise.</p>
    *
    * <p>No validation of any kind is performed on either argument.</p>
    *
@@ -194,9 +198,7 @@ public interface Domain extends PrimordialDomain {
    */
   public default TypeMirror annotate(final List<? extends AnnotationMirror> annotations, final TypeMirror t) {
     final UniversalType ut = UniversalType.of(t, this);
-    final List<AnnotationMirror> l = ut.getAnnotationMirrors();
-    l.clear();
-    l.addAll(annotations);
+    ut.replaceAnnotationMirrors(annotations);
     return ut;
   }
 
@@ -274,6 +276,82 @@ public interface Domain extends PrimordialDomain {
   // Note the strange positioning of payload and receiver.
   public boolean assignable(final TypeMirror payload, final TypeMirror receiver);
 
+  /**
+   * Returns a {@link RelationMatrix} whose entry at row <var>i</var> and column <var>j</var> is the result of {@link
+   * #assignable(TypeMirror, TypeMirror) assignable(payloads.get(i), receivers.get(j))}.
+   *
+   * <p>The default implementation of this method invokes the {@link #assignable(TypeMirror, TypeMirror)} method for
+   * each pair within a single {@linkplain #batch(Function) batch}. Implementations may compute some or all entries
+   * more efficiently.</p>
+   *
+   * @param payloads a {@link List} of {@link TypeMirror}s (the rows); must not be {@code null} and must not contain
+   * {@code null} elements
+   *
+   * @param receivers a {@link List} of {@link TypeMirror}s (the columns); must not be {@code null} and must not contain
+   * {@code null} elements
+   *
+   * @return a non-{@code null} {@link RelationMatrix}
+   *
+   * @exception NullPointerException if either argument is {@code null} or contains {@code null} elements
+   *
+   * @exception IllegalArgumentException if the number of entries would exceed {@link Integer#MAX_VALUE}, or if any
+   * pair is unsuitable for {@link #assignable(TypeMirror, TypeMirror)}
+   *
+   * @see #assignable(TypeMirror, TypeMirror)
+   *
+   * @see RelationMatrix
+   */
+  public default RelationMatrix assignableMatrix(final List<? extends TypeMirror> payloads,
+                                                 final List<? extends TypeMirror> receivers) {
+    final RelationMatrix m = new RelationMatrix(payloads.size(), receivers.size());
+    return this.batch(d -> {
+        for (int i = 0; i < m.rows(); i++) {
+          final TypeMirror payload = payloads.get(i);
+          for (int j = 0; j < m.columns(); j++) {
+            if (d.assignable(payload, receivers.get(j))) {
+              m.set(i, j);
+            }
+          }
+        }
+        return m;
+      });
+  }
+
+  /**
+   * Applies the supplied {@link Function} to this {@link Domain} while {@linkplain #lock() holding the symbol completion
+   * lock} once, and returns its result.
+   *
+   * <p>Callers that perform many operations back to back (such as {@link #typeElement(CharSequence)}, {@link
+   * #erasure(TypeMirror)}, {@link #subtype(TypeMirror, TypeMirror)}, {@link #directSupertypes(TypeMirror)} and {@link
+   * #asMemberOf(DeclaredType, Element)}) can use this method to pay for acquiring the lock once rather than once per
+   * operation. The supplied {@link Function} should gather all the results it needs, for example into a {@link List} or
+   * a record, and return them.</p>
+   *
+   * <p>The supplied {@link Function} must not retain the {@link Domain} supplied to it, and must not wait for other
+   * threads that use this {@link Domain}.</p>
+   *
+   * <p>The default implementation of this method invokes the {@link Function#apply(Object) apply(Object)} method on the
+   * supplied {@link Function} with {@code this} as its sole argument in a {@code try}-with-resources block guarded by the
+   * return value of an invocation of the {@link #lock()} method. Implementations whose {@link #lock()} method is cheap
+   * to invoke again while the lock is already held benefit most.</p>
+   *
+   * @param <R> the type of the result
+   *
+   * @param f a {@link Function}; must not be {@code null}
+   *
+   * @return the result of applying the supplied {@link Function}, which may be {@code null}
+   *
+   * @exception NullPointerException if {@code f} is {@code null}
+   *
+   * @see #lock()
+   */
+  public default <R> R batch(final Function<? super Domain, ? extends R> f) {
+    requireNonNull(f, "f");
+    try (var lock = this.lock()) {
+      return f.apply(this);
+    }
+  }
+
   /**
    * Returns the (non-{@code null}) <a
    * href="https://docs.oracle.com/javase/specs/jls/se21/html/jls-13.html#jls-13.1"><dfn>binary name</dfn></a> of the
@@ -814,6 +892,52 @@ public interface Domain extends PrimordialDomain {
     return (DeclaredType)this.javaLangObject().asType();
   }
 
+  /**
+   * A convenience method that returns {@code true} if and only if the supplied annotation interface is (meta-)
+   * annotated, directly or transitively, with an annotation whose annotation interface bears the supplied qualified
+   * name.
+   *
+   * <p>The default implementation of this method returns the result of invoking {@link Set#contains(Object)} on the
+   * result of invoking the {@link #metaAnnotationInterfaceNames(TypeElement)} method with the supplied {@code
+   * annotationInterface}, supplying it with the result of invoking {@link #toString(CharSequence)} with the supplied
+   * {@code qualifiedName}.</p>
+   *
+   * @param annotationInterface a {@link TypeElement} representing an annotation interface; must not be {@code null}
+   *
+   * @param qualifiedName the qualified name of an annotation interface; must not be {@code null}
+   *
+   * @return {@code true} if and only if the supplied annotation interface is (meta-) annotated, directly or
+   * transitively, with an annotation whose annotation interface bears the supplied qualified name
+   *
+   * @exception NullPointerException if either argument is {@code null}
+   *
+   * @see #metaAnnotationInterfaceNames(TypeElement)
+   */
+  // (Convenience.)
+  public default boolean metaAnnotated(final TypeElement annotationInterface, final CharSequence qualifiedName) {
+    return this.metaAnnotationInterfaceNames(annotationInterface).contains(this.toString(requireNonNull(qualifiedName, "qualifiedName")));
+  }
+
+  /**
+   * Returns a non-{@code null}, determinate, immutable {@link Set} of the qualified names of the annotation interfaces
+   * of the annotations present, directly or transitively, on the supplied annotation interface.
+   *
+   * <p>The default implementation of this method calls {@link UniversalElement#of(Element, Domain)} with the supplied
+   * {@code annotationInterface} and {@code this} as arguments, calls the {@link
+   * AnnotationMirrors#metaAnnotationInterfaceNames(TypeElement)} method with the result, and returns the result.</p>
+   *
+   * @param annotationInterface a {@link TypeElement} representing an annotation interface; must not be {@code null}
+   *
+   * @return a non-{@code null}, determinate, immutable {@link Set} of qualified names
+   *
+   * @exception NullPointerException if {@code annotationInterface} is {@code null}
+   *
+   * @see AnnotationMirrors#metaAnnotationInterfaceNames(TypeElement)
+   */
+  public default Set<String> metaAnnotationInterfaceNames(final TypeElement annotationInterface) {
+    return AnnotationMirrors.metaAnnotationInterfaceNames(UniversalElement.of(requireNonNull(annotationInterface, "annotationInterface"), this)); // handles locking, symbol completion
+  }
+
   /**
    * Returns a {@link ModuleElement} representing the module {@linkplain ModuleElement#getQualifiedName() named} by the
    * supplied {@code qualifiedName}, <strong>or {@code null} if there is no such {@link ModuleElement}</strong>.
@@ -1313,6 +1437,47 @@ public interface Domain extends PrimordialDomain {
    */
   public boolean subtype(TypeMirror candidateSubtype, TypeMirror supertype);
 
+  /**
+   * Returns a {@link RelationMatrix} whose entry at row <var>i</var> and column <var>j</var> is the result of {@link
+   * #subtype(TypeMirror, TypeMirror) subtype(candidateSubtypes.get(i), supertypes.get(j))}.
+   *
+   * <p>The default implementation of this method invokes the {@link #subtype(TypeMirror, TypeMirror)} method for each
+   * pair within a single {@linkplain #batch(Function) batch}. Implementations may compute some or all entries more
+   * efficiently.</p>
+   *
+   * @param candidateSubtypes a {@link List} of {@link TypeMirror}s (the rows); must not be {@code null} and must not
+   * contain {@code null} elements
+   *
+   * @param supertypes a {@link List} of {@link TypeMirror}s (the columns); must not be {@code null} and must not
+   * contain {@code null} elements
+   *
+   * @return a non-{@code null} {@link RelationMatrix}
+   *
+   * @exception NullPointerException if either argument is {@code null} or contains {@code null} elements
+   *
+   * @exception IllegalArgumentException if the number of entries would exceed {@link Integer#MAX_VALUE}, or if any
+   * pair is unsuitable for {@link #subtype(TypeMirror, TypeMirror)}
+   *
+   * @see #subtype(TypeMirror, TypeMirror)
+   *
+   * @see RelationMatrix
+   */
+  public default RelationMatrix subtypeMatrix(final List<? extends TypeMirror> candidateSubtypes,
+                                              final List<? extends TypeMirror> supertypes) {
+    final RelationMatrix m = new RelationMatrix(candidateSubtypes.size(), supertypes.size());
+    return this.batch(d -> {
+        for (int i = 0; i < m.rows(); i++) {
+          final TypeMirror candidateSubtype = candidateSubtypes.get(i);
+          for (int j = 0; j < m.columns(); j++) {
+            if (d.subtype(candidateSubtype, supertypes.get(j))) {
+              m.set(i, j);
+            }
+          }
+        }
+        return m;
+      });
+  }
+
   /**
    * A convenience method that returns the {@link TypeMirror} corresponding to the supplied (reflective) {@link Type}.
    *
@@ -1620,6 +1785,23 @@ public interface Domain extends PrimordialDomain {
     };
   }
 
+  /**
+   * A convenience method that returns the {@link VariableElement} corresponding to the supplied (reflective) {@link
+   * Field}, <strong>or {@code null} if there is no such {@link VariableElement}</strong>.
+   *
+   * @param f a {@link Field}; must not be {@code null}
+   *
+   * @return a {@link VariableElement}, or {@code null}
+   *
+   * @exception NullPointerException if {@code f} is {@code null}
+   *
+   * @see #variableElement(Element, CharSequence)
+   */
+  // (Convenience.)
+  public default VariableElement variableElement(final Field f) {
+    return this.variableElement(this.typeElement(f.getDeclaringClass().getCanonicalName()), f.getName());
+  }
+
   /**
    * A convenience method that returns a new {@link WildcardType} {@linkplain TypeMirror#getKind() with a
    * <code>TypeKind</code>} of {@link TypeKind#WILDCARD}, an {@linkplain WildcardType#getExtendsBound() extends bound}
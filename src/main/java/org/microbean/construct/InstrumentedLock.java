@@ -0,0 +1,620 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct;
+
+import java.lang.StackWalker.StackFrame;
+
+import java.time.Duration;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import static java.util.Objects.requireNonNull;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A {@link Lock} that wraps a {@link ReentrantLock} and records how long callers wait for it, how long they hold it,
+ * how deeply they reenter it and, optionally, which {@link Domain} operations acquire it.
+ *
+ * <p>An {@link InstrumentedLock} is typically supplied to a {@link DefaultDomain} in place of the {@link ReentrantLock}
+ * that it wraps, most commonly the {@linkplain SymbolCompletionLock#INSTANCE global symbol completion lock}:</p>
+ *
+ * <blockquote><pre>InstrumentedLock lock = new InstrumentedLock(SymbolCompletionLock.INSTANCE, true);
+ * Domain domain = new DefaultDomain(lock);
+ * System.out.println(lock.statistics());</pre></blockquote>
+ *
+ * <p>Measurements are available in two forms:</p>
+ *
+ * <ul>
+ *
+ * <li>as an immutable {@linkplain Statistics snapshot} that may be {@linkplain #statistics() polled} at any time,
+ * and</li>
+ *
+ * <li>as <a href="https://docs.oracle.com/en/java/javase/21/jfapi/" target="_top">JDK Flight Recorder</a> events named
+ * {@code org.microbean.construct.LockAcquisition} (whose duration is the time spent waiting) and {@code
+ * org.microbean.construct.LockHold} (whose duration is the time the lock was held), which are recorded only when
+ * the {@code jdk.jfr} module, an optional dependency, is present and they are enabled in a running recording.</li>
+ *
+ * </ul>
+ *
+ * <p>Wait and hold times are measured for outermost acquisitions only; reentrant acquisitions are counted but never
+ * wait. Time spent {@linkplain Condition#await() awaiting} a {@link Condition} {@linkplain #newCondition() created} by
+ * an {@link InstrumentedLock} is counted as time the lock was held.</p>
+ *
+ * <p>Determining the calling operation requires walking the stack on every outermost acquisition, and so is
+ * {@linkplain #InstrumentedLock(ReentrantLock, boolean) optional}. The operation is named after the first stack frame
+ * that is neither part of the locking machinery nor a lambda, e.g. {@code DefaultDomain.subtype}.</p>
+ *
+ * <p>Locks that are not acquired through an {@link InstrumentedLock}, even if they are the {@link ReentrantLock} it
+ * wraps, are not measured.</p>
+ *
+ * <p>Instances of this class are safe for concurrent use by multiple threads.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+ *
+ * @see #statistics()
+ *
+ * @see DefaultDomain#DefaultDomain(Lock)
+ *
+ * @see SymbolCompletionLock#INSTANCE
+ */
+public final class InstrumentedLock implements Lock {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  private static final String UNKNOWN_OPERATION = "<unknown>";
+
+  private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+  // Whether this module can read the (optional) jdk.jfr module; the event classes must not be touched if not.
+  private static final boolean EVENTS = events();
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final ReentrantLock delegate;
+
+  private final boolean recordOperations;
+
+  private final LongAdder acquisitions;
+
+  private final LongAdder reentrantAcquisitions;
+
+  private final LongAdder contentions;
+
+  private final LongAdder waitNanos;
+
+  private final LongAdder holdNanos;
+
+  private final LongAccumulator maximumWaitNanos;
+
+  private final LongAccumulator maximumHoldNanos;
+
+  private final LongAccumulator maximumDepth;
+
+  private final ConcurrentHashMap<String, Counters> operations;
+
+  // Guarded by this.delegate.
+  private long holdStartNanos;
+
+  // Guarded by this.delegate.
+  private String operation;
+
+  // Guarded by this.delegate.
+  private HoldEvent holdEvent;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link InstrumentedLock} wrapping a new, non-fair {@link ReentrantLock}, that does not record calling
+   * operations.
+   *
+   * @see #InstrumentedLock(ReentrantLock, boolean)
+   */
+  public InstrumentedLock() {
+    this(new ReentrantLock(), false);
+  }
+
+  /**
+   * Creates a new {@link InstrumentedLock} that does not record calling operations.
+   *
+   * @param delegate the {@link ReentrantLock} to wrap; must not be {@code null}
+   *
+   * @exception NullPointerException if {@code delegate} is {@code null}
+   *
+   * @see #InstrumentedLock(ReentrantLock, boolean)
+   */
+  public InstrumentedLock(final ReentrantLock delegate) {
+    this(delegate, false);
+  }
+
+  /**
+   * Creates a new {@link InstrumentedLock}.
+   *
+   * @param delegate the {@link ReentrantLock} to wrap; must not be {@code null}
+   *
+   * @param recordOperations whether the {@link Domain} operation responsible for each outermost acquisition should be
+   * determined and recorded; doing so incurs the cost of a stack walk per outermost acquisition
+   *
+   * @exception NullPointerException if {@code delegate} is {@code null}
+   */
+  public InstrumentedLock(final ReentrantLock delegate, final boolean recordOperations) {
+    super();
+    this.delegate = requireNonNull(delegate, "delegate");
+    this.recordOperations = recordOperations;
+    this.acquisitions = new LongAdder();
+    this.reentrantAcquisitions = new LongAdder();
+    this.contentions = new LongAdder();
+    this.waitNanos = new LongAdder();
+    this.holdNanos = new LongAdder();
+    this.maximumWaitNanos = new LongAccumulator(Math::max, 0L);
+    this.maximumHoldNanos = new LongAccumulator(Math::max, 0L);
+    this.maximumDepth = new LongAccumulator(Math::max, 0L);
+    this.operations = new ConcurrentHashMap<>();
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Returns {@code true} if and only if the current {@link Thread} holds this {@link InstrumentedLock}.
+   *
+   * @return {@code true} if and only if the current {@link Thread} holds this {@link InstrumentedLock}
+   *
+   * @see ReentrantLock#isHeldByCurrentThread()
+   */
+  public final boolean isHeldByCurrentThread() {
+    return this.delegate.isHeldByCurrentThread();
+  }
+
+  @Override // Lock
+  public final void lock() {
+    this.lockReportingContention();
+  }
+
+  @Override // Lock
+  public final void lockInterruptibly() throws InterruptedException {
+    final AcquisitionEvent e = acquisitionEvent();
+    final long start = System.nanoTime();
+    final boolean contended = !this.delegate.tryLock(0L, NANOSECONDS);
+    if (contended) {
+      this.delegate.lockInterruptibly();
+    }
+    this.acquired(start, contended, e);
+  }
+
+  @Override // Lock
+  public final Condition newCondition() {
+    return this.delegate.newCondition();
+  }
+
+  /**
+   * Resets all measurements recorded by this {@link InstrumentedLock}.
+   *
+   * <p>Measurements recorded concurrently with an invocation of this method may or may not survive the reset.</p>
+   */
+  public final void reset() {
+    this.acquisitions.reset();
+    this.reentrantAcquisitions.reset();
+    this.contentions.reset();
+    this.waitNanos.reset();
+    this.holdNanos.reset();
+    this.maximumWaitNanos.reset();
+    this.maximumHoldNanos.reset();
+    this.maximumDepth.reset();
+    this.operations.clear();
+  }
+
+  /**
+   * Returns a non-{@code null}, immutable snapshot of the measurements recorded by this {@link InstrumentedLock} so
+   * far.
+   *
+   * <p>Because measurements may be recorded concurrently, the values in the snapshot are not guaranteed to be mutually
+   * consistent.</p>
+   *
+   * @return a non-{@code null}, immutable {@link Statistics}
+   *
+   * @see Statistics
+   */
+  public final Statistics statistics() {
+    final Map<String, OperationStatistics> operations = new HashMap<>();
+    this.operations.forEach((k, v) -> operations.put(k, v.statistics()));
+    return
+      new Statistics(this.acquisitions.sum(),
+                     this.reentrantAcquisitions.sum(),
+                     this.contentions.sum(),
+                     Duration.ofNanos(this.waitNanos.sum()),
+                     Duration.ofNanos(this.maximumWaitNanos.get()),
+                     Duration.ofNanos(this.holdNanos.sum()),
+                     Duration.ofNanos(this.maximumHoldNanos.get()),
+                     (int)this.maximumDepth.get(),
+                     operations);
+  }
+
+  @Override // Object
+  public final String toString() {
+    return this.getClass().getSimpleName() + "[" + this.delegate + "]";
+  }
+
+  @Override // Lock
+  public final boolean tryLock() {
+    final long start = System.nanoTime();
+    if (this.delegate.tryLock()) {
+      this.acquired(start, false, null);
+      return true;
+    }
+    return false;
+  }
+
+  @Override // Lock
+  public final boolean tryLock(final long time, final TimeUnit unit) throws InterruptedException {
+    final AcquisitionEvent e = acquisitionEvent();
+    final long start = System.nanoTime();
+    if (this.delegate.tryLock(0L, NANOSECONDS)) {
+      this.acquired(start, false, e);
+      return true;
+    } else if (time > 0L && this.delegate.tryLock(time, unit)) {
+      this.acquired(start, true, e);
+      return true;
+    }
+    return false;
+  }
+
+  @Override // Lock
+  public final void unlock() {
+    if (this.delegate.getHoldCount() == 1) {
+      // Outermost release; still held, so the guarded fields may be read and written.
+      final long hold = System.nanoTime() - this.holdStartNanos;
+      final String operation = this.operation;
+      final HoldEvent e = this.holdEvent;
+      this.operation = null;
+      this.holdEvent = null;
+      this.holdNanos.add(hold);
+      this.maximumHoldNanos.accumulate(hold);
+      if (operation != null) {
+        this.operations.computeIfAbsent(operation, k -> new Counters()).held(hold);
+      }
+      if (e != null && e.shouldCommit()) {
+        e.operation = operation;
+        e.commit();
+      }
+    }
+    this.delegate.unlock();
+  }
+
+  // Acquires this InstrumentedLock as lock() does, and returns true if the current thread had to wait for it. Lets
+  // DefaultDomain count contentions without first trying the lock itself, which would record a second acquisition.
+  final boolean lockReportingContention() {
+    final AcquisitionEvent e = acquisitionEvent();
+    final long start = System.nanoTime();
+    final boolean contended = !this.tryLockNow();
+    if (contended) {
+      this.delegate.lock();
+    }
+    this.acquired(start, contended, e);
+    return contended;
+  }
+
+  // (Tries to acquire the delegate without waiting, honoring fairness.)
+  private final boolean tryLockNow() {
+    try {
+      return this.delegate.tryLock(0L, NANOSECONDS);
+    } catch (final InterruptedException e) {
+      // Interrupted before trying; that is not contention.
+      Thread.currentThread().interrupt();
+      return this.delegate.tryLock();
+    }
+  }
+
+  // Called while this.delegate is held by the current thread.
+  private final void acquired(final long startNanos, final boolean contended, final AcquisitionEvent e) {
+    this.acquisitions.increment();
+    final int depth = this.delegate.getHoldCount();
+    this.maximumDepth.accumulate(depth);
+    if (depth > 1) {
+      this.reentrantAcquisitions.increment();
+      return;
+    }
+    final long now = System.nanoTime();
+    final long wait = now - startNanos;
+    final String operation = this.recordOperations ? operation() : null;
+    this.holdStartNanos = now;
+    this.operation = operation;
+    if (EVENTS) {
+      final HoldEvent h = new HoldEvent();
+      if (h.isEnabled()) {
+        h.begin();
+        this.holdEvent = h;
+      }
+    }
+    if (contended) {
+      this.contentions.increment();
+      this.waitNanos.add(wait);
+      this.maximumWaitNanos.accumulate(wait);
+    }
+    if (operation != null) {
+      this.operations.computeIfAbsent(operation, k -> new Counters()).acquired(contended, wait);
+    }
+    if (e != null && e.shouldCommit()) {
+      e.operation = operation;
+      e.contended = contended;
+      e.commit();
+    }
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  // Returns a new, begun AcquisitionEvent, or null if events cannot be recorded.
+  private static final AcquisitionEvent acquisitionEvent() {
+    if (EVENTS) {
+      final AcquisitionEvent e = new AcquisitionEvent();
+      e.begin();
+      return e;
+    }
+    return null;
+  }
+
+  private static final boolean events() {
+    final Module m = InstrumentedLock.class.getModule();
+    return ModuleLayer.boot().findModule("jdk.jfr").filter(m::canRead).isPresent();
+  }
+
+  private static final String operation() {
+    return STACK_WALKER.walk(s -> s.filter(InstrumentedLock::operation)
+                             .findFirst()
+                             .map(f -> {
+                                 final String cn = f.getClassName();
+                                 return cn.substring(cn.lastIndexOf('.') + 1) + "." + f.getMethodName();
+                               })
+                             .orElse(UNKNOWN_OPERATION));
+  }
+
+  // Is the supplied StackFrame one that should name an operation, i.e. one that is not part of the locking machinery?
+  private static final boolean operation(final StackFrame f) {
+    final String m = f.getMethodName();
+    return
+      !f.getClassName().equals(InstrumentedLock.class.getName()) &&
+      !m.equals("lock") &&
+      !m.equals("acquire") &&
+      !m.startsWith("lambda$");
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  /**
+   * An immutable snapshot of the measurements recorded by an {@link InstrumentedLock}.
+   *
+   * @param acquisitions the number of successful acquisitions, including reentrant ones
+   *
+   * @param reentrantAcquisitions the number of successful acquisitions made by a thread that already held the lock
+   *
+   * @param contentions the number of outermost acquisitions that had to wait
+   *
+   * @param waitTime the total time spent waiting by outermost acquisitions; must not be {@code null}
+   *
+   * @param maximumWaitTime the longest time spent waiting by any one outermost acquisition; must not be {@code null}
+   *
+   * @param holdTime the total time the lock was held; must not be {@code null}
+   *
+   * @param maximumHoldTime the longest time the lock was held by any one outermost acquisition; must not be {@code
+   * null}
+   *
+   * @param maximumDepth the greatest reentrancy depth observed
+   *
+   * @param operations an immutable {@link Map} of {@link OperationStatistics} indexed by operation name, which is
+   * empty if the {@link InstrumentedLock} does not record operations; must not be {@code null}
+   *
+   * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+   *
+   * @see InstrumentedLock#statistics()
+   */
+  public static final record Statistics(long acquisitions,
+                                        long reentrantAcquisitions,
+                                        long contentions,
+                                        Duration waitTime,
+                                        Duration maximumWaitTime,
+                                        Duration holdTime,
+                                        Duration maximumHoldTime,
+                                        int maximumDepth,
+                                        Map<String, OperationStatistics> operations) {
+
+    /**
+     * Creates a new {@link Statistics}.
+     *
+     * @param acquisitions the number of successful acquisitions, including reentrant ones
+     *
+     * @param reentrantAcquisitions the number of successful acquisitions made by a thread that already held the lock
+     *
+     * @param contentions the number of outermost acquisitions that had to wait
+     *
+     * @param waitTime the total time spent waiting by outermost acquisitions; must not be {@code null}
+     *
+     * @param maximumWaitTime the longest time spent waiting by any one outermost acquisition; must not be {@code null}
+     *
+     * @param holdTime the total time the lock was held; must not be {@code null}
+     *
+     * @param maximumHoldTime the longest time the lock was held by any one outermost acquisition; must not be {@code
+     * null}
+     *
+     * @param maximumDepth the greatest reentrancy depth observed
+     *
+     * @param operations a {@link Map} of {@link OperationStatistics} indexed by operation name; must not be {@code
+     * null}
+     *
+     * @exception NullPointerException if any reference argument is {@code null}
+     */
+    public Statistics {
+      requireNonNull(waitTime, "waitTime");
+      requireNonNull(maximumWaitTime, "maximumWaitTime");
+      requireNonNull(holdTime, "holdTime");
+      requireNonNull(maximumHoldTime, "maximumHoldTime");
+      operations = Collections.unmodifiableMap(new HashMap<>(operations));
+    }
+
+  }
+
+  /**
+   * An immutable snapshot of the measurements recorded by an {@link InstrumentedLock} for outermost acquisitions made
+   * on behalf of a particular operation.
+   *
+   * @param acquisitions the number of outermost acquisitions
+   *
+   * @param contentions the number of outermost acquisitions that had to wait
+   *
+   * @param waitTime the total time spent waiting; must not be {@code null}
+   *
+   * @param holdTime the total time the lock was held; must not be {@code null}
+   *
+   * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+   *
+   * @see Statistics#operations()
+   */
+  public static final record OperationStatistics(long acquisitions, long contentions, Duration waitTime, Duration holdTime) {
+
+    /**
+     * Creates a new {@link OperationStatistics}.
+     *
+     * @param acquisitions the number of outermost acquisitions
+     *
+     * @param contentions the number of outermost acquisitions that had to wait
+     *
+     * @param waitTime the total time spent waiting; must not be {@code null}
+     *
+     * @param holdTime the total time the lock was held; must not be {@code null}
+     *
+     * @exception NullPointerException if any reference argument is {@code null}
+     */
+    public OperationStatistics {
+      requireNonNull(waitTime, "waitTime");
+      requireNonNull(holdTime, "holdTime");
+    }
+
+  }
+
+  private static final class Counters {
+
+    private final LongAdder acquisitions;
+
+    private final LongAdder contentions;
+
+    private final LongAdder waitNanos;
+
+    private final LongAdder holdNanos;
+
+    private Counters() {
+      super();
+      this.acquisitions = new LongAdder();
+      this.contentions = new LongAdder();
+      this.waitNanos = new LongAdder();
+      this.holdNanos = new LongAdder();
+    }
+
+    private final void acquired(final boolean contended, final long waitNanos) {
+      this.acquisitions.increment();
+      if (contended) {
+        this.contentions.increment();
+        this.waitNanos.add(waitNanos);
+      }
+    }
+
+    private final void held(final long holdNanos) {
+      this.holdNanos.add(holdNanos);
+    }
+
+    private final OperationStatistics statistics() {
+      return
+        new OperationStatistics(this.acquisitions.sum(),
+                                this.contentions.sum(),
+                                Duration.ofNanos(this.waitNanos.sum()),
+                                Duration.ofNanos(this.holdNanos.sum()));
+    }
+
+  }
+
+  @Category({ "microBean", "Construct" })
+  @Description("Acquisition of an InstrumentedLock; the duration is the time spent waiting")
+  @Label("Lock Acquisition")
+  @Name("org.microbean.construct.LockAcquisition")
+  static final class AcquisitionEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Contended")
+    boolean contended;
+
+    AcquisitionEvent() {
+      super();
+    }
+
+  }
+
+  @Category({ "microBean", "Construct" })
+  @Description("Tenure of an InstrumentedLock; the duration is the time the lock was held")
+  @Label("Lock Hold")
+  @Name("org.microbean.construct.LockHold")
+  @StackTrace(false)
+  static final class HoldEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    HoldEvent() {
+      super();
+    }
+
+  }
+
+}
@@ -26,7 +26,13 @@ import javax.lang.model.element.NestingKind;
 
 import javax.tools.JavaFileObject;
 
-final record JavaFileRecord(JavaFileObject.Kind kind, String binaryName, URI uri) implements JavaFileObject {
+// index and resourceName may be null, in which case contents are read from the URI.
+final record JavaFileRecord(JavaFileObject.Kind kind, String binaryName, URI uri, ModuleIndex index, String resourceName)
+  implements JavaFileObject {
+
+  JavaFileRecord(final JavaFileObject.Kind kind, final String binaryName, final URI uri) {
+    this(kind, binaryName, uri, null, null);
+  }
 
   @Override
   public final URI toUri() {
@@ -105,7 +111,13 @@ final record JavaFileRecord(JavaFileObject.Kind kind, String binaryName, URI uri
 
   @Override
   public final InputStream openInputStream() throws IOException {
-    return this.uri().toURL().openConnection().getInputStream();
+    final ModuleIndex index = this.index();
+    return index == null ? this.uri().toURL().openConnection().getInputStream() : index.open(this.resourceName());
+  }
+
+  @Override
+  public final String toString() {
+    return this.getClass().getSimpleName() + "[kind=" + this.kind() + ", binaryName=" + this.binaryName() + ", uri=" + this.uri() + "]";
   }
 
 }
@@ -0,0 +1,220 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct;
+
+import java.lang.constant.ClassDesc;
+import java.lang.constant.MethodTypeDesc;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.element.VariableElement;
+
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+import static java.lang.constant.ConstantDescs.CD_boolean;
+import static java.lang.constant.ConstantDescs.CD_byte;
+import static java.lang.constant.ConstantDescs.CD_char;
+import static java.lang.constant.ConstantDescs.CD_double;
+import static java.lang.constant.ConstantDescs.CD_float;
+import static java.lang.constant.ConstantDescs.CD_int;
+import static java.lang.constant.ConstantDescs.CD_long;
+import static java.lang.constant.ConstantDescs.CD_short;
+import static java.lang.constant.ConstantDescs.CD_void;
+
+// An immutable index of the members and type parameters of a TypeElement, keyed by simple name and, for executables,
+// additionally by erased JVM method descriptor.
+//
+// Lookups by descriptor yield candidates whose erased signatures match; callers still confirm each candidate
+// structurally, since distinct parameterized signatures may share an erasure. Executables whose signatures cannot be
+// described (because they involve erroneous types, for example) make their names opaque: lookups by descriptor for
+// such a name yield every executable bearing it.
+final class MemberIndex {
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final Map<String, List<ExecutableElement>> executables;
+
+  private final Map<Signature, List<ExecutableElement>> signatures;
+
+  private final Set<String> opaque;
+
+  private final Map<String, VariableElement> variables;
+
+  private final Map<String, TypeParameterElement> typeParameters;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  private MemberIndex(final TypeElement t, final Types types, final Elements elements) {
+    super();
+    final Map<String, List<ExecutableElement>> executables = new HashMap<>();
+    final Map<Signature, List<ExecutableElement>> signatures = new HashMap<>();
+    final Set<String> opaque = new HashSet<>();
+    final Map<String, VariableElement> variables = new HashMap<>();
+    for (final Element e : t.getEnclosedElements()) {
+      switch (e) {
+      case ExecutableElement ee -> {
+        final String name = ee.getSimpleName().toString();
+        executables.computeIfAbsent(name, n -> new ArrayList<>(1)).add(ee);
+        final MethodTypeDesc d = descriptor(ee, types, elements);
+        if (d == null) {
+          opaque.add(name);
+        } else {
+          signatures.computeIfAbsent(new Signature(name, d), s -> new ArrayList<>(1)).add(ee);
+        }
+      }
+      case VariableElement ve -> variables.putIfAbsent(ve.getSimpleName().toString(), ve); // first one wins
+      default -> {}
+      }
+    }
+    final Map<String, TypeParameterElement> typeParameters = new HashMap<>();
+    for (final TypeParameterElement tpe : t.getTypeParameters()) {
+      typeParameters.putIfAbsent(tpe.getSimpleName().toString(), tpe);
+    }
+    executables.replaceAll((n, l) -> List.copyOf(l));
+    signatures.replaceAll((s, l) -> List.copyOf(l));
+    this.executables = Map.copyOf(executables);
+    this.signatures = Map.copyOf(signatures);
+    this.opaque = Set.copyOf(opaque);
+    this.variables = Map.copyOf(variables);
+    this.typeParameters = Map.copyOf(typeParameters);
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  // Returns the executables bearing the supplied name, in declaration order.
+  final List<ExecutableElement> executables(final String name) {
+    return this.executables.getOrDefault(name, List.of());
+  }
+
+  // Returns the executables bearing the supplied name whose erased signatures may be described by the supplied
+  // descriptor, in declaration order.
+  final List<ExecutableElement> executables(final String name, final MethodTypeDesc descriptor) {
+    return
+      this.opaque.contains(name) ? this.executables(name) :
+      this.signatures.getOrDefault(new Signature(name, descriptor), List.of());
+  }
+
+  // Returns the type parameter bearing the supplied name, or null.
+  final TypeParameterElement typeParameter(final String name) {
+    return this.typeParameters.get(name);
+  }
+
+  // Returns the first variable (field or enum constant) bearing the supplied name, or null.
+  final VariableElement variable(final String name) {
+    return this.variables.get(name);
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  // Returns the erased JVM method descriptor describing the supplied return and parameter types, or null if any of them
+  // cannot be described. Must be called while the symbol completion lock is held.
+  static final MethodTypeDesc descriptor(final TypeMirror returnType,
+                                         final TypeMirror[] parameterTypes,
+                                         final Types types,
+                                         final Elements elements) {
+    final ClassDesc r = classDesc(returnType, types, elements);
+    if (r == null) {
+      return null;
+    }
+    final ClassDesc[] ps = new ClassDesc[parameterTypes.length];
+    for (int i = 0; i < ps.length; i++) {
+      ps[i] = classDesc(parameterTypes[i], types, elements);
+      if (ps[i] == null) {
+        return null;
+      }
+    }
+    return MethodTypeDesc.of(r, ps);
+  }
+
+  // Returns a new MemberIndex indexing the supplied TypeElement. Must be called while the symbol completion lock is
+  // held.
+  static final MemberIndex of(final TypeElement t, final Types types, final Elements elements) {
+    return new MemberIndex(t, types, elements);
+  }
+
+  private static final MethodTypeDesc descriptor(final ExecutableElement ee,
+                                                 final Types types,
+                                                 final Elements elements) {
+    final List<? extends VariableElement> ps = ee.getParameters();
+    final TypeMirror[] pts = new TypeMirror[ps.size()];
+    for (int i = 0; i < pts.length; i++) {
+      pts[i] = ps.get(i).asType();
+    }
+    return descriptor(ee.getReturnType(), pts, types, elements);
+  }
+
+  private static final ClassDesc classDesc(final TypeMirror t, final Types types, final Elements elements) {
+    return switch (t.getKind()) {
+    case BOOLEAN -> CD_boolean;
+    case BYTE -> CD_byte;
+    case CHAR -> CD_char;
+    case DOUBLE -> CD_double;
+    case FLOAT -> CD_float;
+    case INT -> CD_int;
+    case LONG -> CD_long;
+    case SHORT -> CD_short;
+    case VOID -> CD_void;
+    case ARRAY -> {
+      final ClassDesc c = classDesc(((ArrayType)t).getComponentType(), types, elements);
+      yield c == null ? null : c.arrayType();
+    }
+    case DECLARED ->
+      ClassDesc.of(elements.getBinaryName((TypeElement)((DeclaredType)t).asElement()).toString());
+    case INTERSECTION, TYPEVAR -> {
+      final TypeMirror erasure = types.erasure(t);
+      yield erasure == t ? null : classDesc(erasure, types, elements);
+    }
+    default -> null; // e.g. ERROR, NONE, WILDCARD
+    };
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  private static final record Signature(String name, MethodTypeDesc descriptor) {}
+
+}
@@ -0,0 +1,220 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+import java.lang.module.ModuleReader;
+import java.lang.module.ModuleReference;
+
+import java.nio.ByteBuffer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import java.util.stream.Stream;
+
+import javax.tools.JavaFileObject;
+
+// An immutable index of the contents of a ModuleReference, built once by scanning it, and owned by the
+// ReadOnlyModularJavaFileManager that uses it. It also holds the module's ModuleReader open, until it is closed along
+// with that ReadOnlyModularJavaFileManager, so that JavaFileRecords can read their contents without opening URL
+// connections (and, for jar: URLs, looking up or reopening the jar) each time.
+final class ModuleIndex implements AutoCloseable {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  private static final Set<JavaFileObject.Kind> ALL_KINDS = EnumSet.allOf(JavaFileObject.Kind.class);
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  // Package names (e.g. "java.lang") to the records directly in each package, sorted so that subpackages can be found
+  // by range.
+  private final NavigableMap<String, List<JavaFileRecord>> packages;
+
+  // Resource names (e.g. "java/lang/Object.class") to records.
+  private final Map<String, JavaFileRecord> resources;
+
+  // Guarded by lock. (Not a monitor, which would pin virtual threads' carriers while reading.)
+  private final ModuleReader reader;
+
+  private final ReentrantLock lock;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  ModuleIndex(final ModuleReference mref) {
+    super();
+    final NavigableMap<String, List<JavaFileRecord>> packages = new TreeMap<>();
+    final Map<String, JavaFileRecord> resources = new HashMap<>();
+    final ModuleReader reader;
+    try {
+      reader = mref.open();
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e.getMessage(), e);
+    }
+    try (final Stream<String> ss = reader.list()) {
+      ss.filter(s -> !s.endsWith("/"))
+        .forEach(s -> {
+            // s is, e.g., "foo/Bar.class"
+            final int lastSlashIndex = s.lastIndexOf('/');
+            assert lastSlashIndex != 0;
+            final String p = lastSlashIndex > 0 ? s.substring(0, lastSlashIndex).replace('/', '.') : "";
+            final JavaFileObject.Kind kind = kind(s);
+            final JavaFileRecord r;
+            try {
+              r = new JavaFileRecord(kind,
+                                     kind == JavaFileObject.Kind.CLASS || kind == JavaFileObject.Kind.SOURCE ?
+                                     s.substring(0, s.length() - kind.extension.length()).replace('/', '.') :
+                                     null,
+                                     reader.find(s).orElseThrow(),
+                                     this,
+                                     s);
+            } catch (final IOException e) {
+              throw new UncheckedIOException(e.getMessage(), e);
+            }
+            packages.computeIfAbsent(p, p0 -> new ArrayList<>()).add(r);
+            resources.put(s, r);
+          });
+    } catch (final IOException | RuntimeException | Error e) {
+      try {
+        reader.close();
+      } catch (final IOException e2) {
+        e.addSuppressed(e2);
+      }
+      switch (e) {
+      case IOException ioe -> throw new UncheckedIOException(ioe.getMessage(), ioe);
+      case RuntimeException re -> throw re;
+      case Error err -> throw err;
+      default -> throw new AssertionError(e);
+      }
+    }
+    this.reader = reader;
+    this.lock = new ReentrantLock();
+    packages.replaceAll((p, l) -> List.copyOf(l));
+    this.packages = Collections.unmodifiableNavigableMap(packages);
+    this.resources = Collections.unmodifiableMap(resources);
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  // Closes the ModuleReader; the contents of this ModuleIndex's records can no longer be read.
+  @Override // AutoCloseable
+  public final void close() throws IOException {
+    this.lock.lock();
+    try {
+      this.reader.close();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  // Returns the record for the named class of the given kind, or null.
+  final JavaFileRecord find(final String className, final JavaFileObject.Kind kind) {
+    return this.resources.get(className.replace('.', '/') + kind.extension);
+  }
+
+  // Returns an InputStream over the contents of the named resource, which are read in full through the ModuleReader.
+  // The contents are always copied, since a buffer may not be used once it has been released.
+  final InputStream open(final String resourceName) throws IOException {
+    this.lock.lock();
+    try {
+      final ByteBuffer bb = this.reader.read(resourceName).orElseThrow(() -> new FileNotFoundException(resourceName));
+      try {
+        final byte[] bytes = new byte[bb.remaining()];
+        bb.get(bytes);
+        return new ByteArrayInputStream(bytes);
+      } finally {
+        this.reader.release(bb);
+      }
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  // Returns an immutable list of the records of the given kinds in the named package and, if recurse is true, in its
+  // subpackages.
+  final List<JavaFileRecord> list(final String packageName, final Set<JavaFileObject.Kind> kinds, final boolean recurse) {
+    final boolean allKinds = kinds.containsAll(ALL_KINDS);
+    final List<JavaFileRecord> l = this.packages.getOrDefault(packageName, List.of());
+    if (!recurse) {
+      return allKinds ? l : Collections.unmodifiableList(filter(l, kinds, new ArrayList<>()));
+    }
+    // Subpackages of "foo" are exactly those keys in ["foo.", "foo/"), since '/' immediately follows '.'.
+    final Iterable<List<JavaFileRecord>> subpackages =
+      packageName.isEmpty() ?
+      this.packages.tailMap("", false).values() :
+      this.packages.subMap(packageName + ".", true, packageName + "/", false).values();
+    final List<JavaFileRecord> sink = filter(l, kinds, new ArrayList<>());
+    for (final List<JavaFileRecord> records : subpackages) {
+      filter(records, kinds, sink);
+    }
+    return Collections.unmodifiableList(sink);
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  private static final List<JavaFileRecord> filter(final List<? extends JavaFileRecord> source,
+                                                   final Set<JavaFileObject.Kind> kinds,
+                                                   final List<JavaFileRecord> sink) {
+    for (final JavaFileRecord r : source) {
+      if (kinds.contains(r.kind())) {
+        sink.add(r);
+      }
+    }
+    return sink;
+  }
+
+  private static final JavaFileObject.Kind kind(final String s) {
+    for (final JavaFileObject.Kind kind : ALL_KINDS) {
+      if (kind != JavaFileObject.Kind.OTHER && s.endsWith(kind.extension)) {
+        return kind;
+      }
+    }
+    return JavaFileObject.Kind.OTHER;
+  }
+
+}
@@ -13,6 +13,14 @@
  */
 package org.microbean.construct;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import java.util.function.BiFunction;
+
+import javax.lang.model.AnnotatedConstruct;
+
+import javax.lang.model.element.Element;
 import javax.lang.model.element.Name;
 
 import javax.lang.model.type.DeclaredType;
@@ -47,6 +55,26 @@ import org.microbean.construct.element.SyntheticName;
  */
 public interface PrimordialDomain {
 
+  /**
+   * Returns a non-{@code null} {@link ConcurrentMap} in which information describing annotation interfaces whose
+   * constructs belong to this {@link PrimordialDomain} may be cached, keyed by their qualified names, for as long as
+   * those constructs remain current.
+   *
+   * <p>This method is used by the {@code org.microbean.construct.element} package to describe each annotation interface
+   * only once. The contents of the returned {@link ConcurrentMap} are not part of any contract and should not be
+   * inspected or modified by any other caller.</p>
+   *
+   * <p>The default implementation of this method returns a new, empty {@link ConcurrentMap} on every invocation, so
+   * that nothing is cached.</p>
+   *
+   * <p>Overriding this method is not normally needed.</p>
+   *
+   * @return a non-{@code null} {@link ConcurrentMap}
+   */
+  public default ConcurrentMap<String, Object> annotationInterfaces() {
+    return new ConcurrentHashMap<>();
+  }
+
   /**
    * Returns the (non-{@code null}, determinate) {@link DeclaredType} representing the <a
    * href="https://docs.oracle.com/en/java/javase/25/docs/api/java.compiler/javax/lang/model/element/TypeElement.html#prototypicaltype"><dfn>prototypical
@@ -76,6 +104,34 @@ public interface PrimordialDomain {
    */
   public Unlockable lock();
 
+  /**
+   * Semantically locks an opaque lock used to serialize the completion of the symbol represented by the supplied {@link
+   * Element}, if necessary, and returns it in the form of an {@link Unlockable}.
+   *
+   * <p>Implementations may return an {@link Unlockable} that does not lock anything if the supplied {@link Element}'s
+   * symbol, and whatever else its completion might require, is known to have been completed already. Only operations
+   * that merely force the completion of the supplied {@link Element}'s symbol, or that read state that completion has
+   * already established, may be guarded by the return value of this method; all others must use the {@link #lock()}
+   * method instead.</p>
+   *
+   * <p>Implementations of this method must not return {@code null}.</p>
+   *
+   * <p>The default implementation of this method returns the result of invoking the {@link #lock()} method.</p>
+   *
+   * @param e an {@link Element}; must not be {@code null}
+   *
+   * @return an {@link Unlockable} in a semantically locked state; never {@code null}
+   *
+   * @exception NullPointerException if {@code e} is {@code null}
+   *
+   * @see #lock()
+   *
+   * @see Unlockable#close()
+   */
+  public default Unlockable lock(final Element e) {
+    return this.lock();
+  }
+
   /**
    * Returns a (non-{@code null}, determinate) {@link NoType} representing the supplied {@link TypeKind}, provided it is
    * either {@link TypeKind#NONE} or {@link TypeKind#VOID}.
@@ -142,4 +198,41 @@ public interface PrimordialDomain {
     };
   }
 
+  /**
+   * Returns a {@link UniversalConstruct} that wraps the supplied {@code delegate}, using the supplied {@code factory}
+   * to create it if necessary.
+   *
+   * <p>Implementations may, but need not, return the same {@link UniversalConstruct} for the same {@code delegate} on
+   * every invocation (see {@link Canonicalizer}).</p>
+   *
+   * <p>The default implementation of this method returns the result of invoking the {@link BiFunction#apply(Object,
+   * Object) apply(Object, Object)} method on the supplied {@code factory} with the supplied {@code delegate} and this
+   * {@link PrimordialDomain}.</p>
+   *
+   * <p>Overriding this method is not normally needed.</p>
+   *
+   * @param <T> the type of the delegate
+   *
+   * @param <U> the type of the {@link UniversalConstruct}
+   *
+   * @param delegate the delegate; must not be {@code null} and should not be a {@link UniversalConstruct}
+   *
+   * @param factory a {@link BiFunction} that creates a new {@link UniversalConstruct} from a delegate and a {@link
+   * PrimordialDomain}; must not be {@code null}
+   *
+   * @return a non-{@code null} {@link UniversalConstruct}
+   *
+   * @exception NullPointerException if any argument is {@code null}
+   *
+   * @see Canonicalizer
+   *
+   * @see org.microbean.construct.element.UniversalElement#of(javax.lang.model.element.Element, PrimordialDomain)
+   *
+   * @see org.microbean.construct.type.UniversalType#of(TypeMirror, PrimordialDomain)
+   */
+  public default <T extends AnnotatedConstruct, U extends UniversalConstruct<T>> U wrap(final T delegate,
+                                                                                       final BiFunction<? super T, ? super PrimordialDomain, ? extends U> factory) {
+    return factory.apply(delegate, this);
+  }
+
 }
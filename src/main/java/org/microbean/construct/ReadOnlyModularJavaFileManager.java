@@ -14,26 +14,18 @@
 package org.microbean.construct;
 
 import java.io.IOException;
-import java.io.UncheckedIOException;
-
-import java.lang.module.ModuleReader;
-import java.lang.module.ModuleReference;
 
 import java.lang.System.Logger;
 
-import java.util.ArrayList;
+import java.lang.module.ModuleReference;
+
 import java.util.Collection;
 import java.util.Collections;
-import java.util.EnumSet;
 import java.util.List;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Set;
 
 import java.util.concurrent.ConcurrentHashMap;
-
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.tools.FileObject;
 import javax.tools.ForwardingJavaFileManager;
@@ -54,8 +46,6 @@ final class ReadOnlyModularJavaFileManager extends ForwardingJavaFileManager<Sta
 
     private static final Logger LOGGER = System.getLogger(ReadOnlyModularJavaFileManager.class.getName());
 
-    private static final Set<JavaFileObject.Kind> ALL_KINDS = EnumSet.allOf(JavaFileObject.Kind.class);
-
 
     /*
      * Instance fields.
@@ -64,7 +54,8 @@ final class ReadOnlyModularJavaFileManager extends ForwardingJavaFileManager<Sta
 
     private final Set<Location> locations;
 
-    private final Map<ModuleReference, Map<String, List<JavaFileRecord>>> maps;
+    // Indices of the modules named by locations, each holding its module open until this file manager is closed.
+    private final ConcurrentMap<ModuleReference, ModuleIndex> indices;
 
 
     /*
@@ -74,8 +65,8 @@ final class ReadOnlyModularJavaFileManager extends ForwardingJavaFileManager<Sta
 
     ReadOnlyModularJavaFileManager(final StandardJavaFileManager fm, final Collection<? extends ReadOnlyModuleLocation> moduleLocations) {
       super(fm);
-      this.maps = new ConcurrentHashMap<>();
       this.locations = moduleLocations == null ? Set.of() : Set.copyOf(moduleLocations);
+      this.indices = new ConcurrentHashMap<>();
       if (LOGGER.isLoggable(DEBUG)) {
         LOGGER.log(DEBUG, "Module locations: " + this.locations);
       }
@@ -87,10 +78,37 @@ final class ReadOnlyModularJavaFileManager extends ForwardingJavaFileManager<Sta
      */
 
 
+    // Closes the ModuleIndexes (and hence the ModuleReaders) opened by this file manager, and then the file manager it
+    // forwards to.
     @Override
     public final void close() throws IOException {
-      super.close();
-      this.maps.clear();
+      IOException x = null;
+      for (final ModuleReference mref : this.indices.keySet()) {
+        final ModuleIndex index = this.indices.remove(mref);
+        if (index != null) {
+          try {
+            index.close();
+          } catch (final IOException e) {
+            if (x == null) {
+              x = e;
+            } else {
+              x.addSuppressed(e);
+            }
+          }
+        }
+      }
+      try {
+        super.close();
+      } catch (final IOException e) {
+        if (x == null) {
+          x = e;
+        } else {
+          x.addSuppressed(e);
+        }
+      }
+      if (x != null) {
+        throw x;
+      }
     }
 
     @Override
@@ -107,13 +125,7 @@ final class ReadOnlyModularJavaFileManager extends ForwardingJavaFileManager<Sta
                                                     final String className,
                                                     final JavaFileObject.Kind kind) throws IOException {
       if (packageOrientedLocation instanceof ReadOnlyModuleLocation m) {
-        try (final ModuleReader mr = m.moduleReference().open()) {
-          return mr.find(className.replace('.', '/') + kind.extension)
-            .map(u -> new JavaFileRecord(kind, className, u))
-            .orElse(null);
-        } catch (final IOException e) {
-          throw new UncheckedIOException(e.getMessage(), e);
-        }
+        return this.index(m).find(className, kind);
       }
       return super.getJavaFileForInput(packageOrientedLocation, className, kind);
     }
@@ -141,52 +153,7 @@ final class ReadOnlyModularJavaFileManager extends ForwardingJavaFileManager<Sta
                                                final boolean recurse)
       throws IOException {
       if (packageOrientedLocation instanceof ReadOnlyModuleLocation m) {
-        final ModuleReference mref = m.moduleReference();
-        if (recurse) {
-          // Don't cache anything; not really worth it
-          try (final ModuleReader reader = mref.open()) {
-            return list(reader, packageName, kinds, true);
-          }
-        }
-        final Map<String, List<JavaFileRecord>> m0 = this.maps.computeIfAbsent(mref, mr -> {
-            try (final ModuleReader reader = mr.open();
-                 final Stream<String> ss = reader.list()) {
-              return
-                Collections.unmodifiableMap(ss.filter(s -> !s.endsWith("/"))
-                                            .collect(HashMap::new,
-                                                     (map, s) -> {
-                                                       // s is, e.g., "foo/Bar.class"
-                                                       final int lastSlashIndex = s.lastIndexOf('/');
-                                                       assert lastSlashIndex != 0;
-                                                       final String p0 = lastSlashIndex > 0 ? s.substring(0, lastSlashIndex).replace('/', '.') : "";
-                                                       // p0 is now "foo"; list will be class files under package foo
-                                                       final List<JavaFileRecord> list = map.computeIfAbsent(p0, p1 -> new ArrayList<>());
-                                                       final JavaFileObject.Kind kind = kind(s);
-                                                       try {
-                                                         list.add(new JavaFileRecord(kind,
-                                                                                     kind == JavaFileObject.Kind.CLASS || kind == JavaFileObject.Kind.SOURCE ?
-                                                                                     s.substring(0, s.length() - kind.extension.length()).replace('/', '.') :
-                                                                                     null,
-                                                                                     reader.find(s).orElseThrow()));
-                                                       } catch (final IOException ioException) {
-                                                         throw new UncheckedIOException(ioException.getMessage(), ioException);
-                                                       }
-                                                     },
-                                                     Map::putAll));
-            } catch (final IOException ioException) {
-              throw new UncheckedIOException(ioException.getMessage(), ioException);
-            }
-          });
-        List<JavaFileRecord> unfilteredPackageContents = m0.get(packageName);
-        if (unfilteredPackageContents == null) {
-          return List.of();
-        }
-        assert !unfilteredPackageContents.isEmpty();
-        if (kinds.size() < ALL_KINDS.size()) {
-          unfilteredPackageContents = new ArrayList<>(unfilteredPackageContents);
-          unfilteredPackageContents.removeIf(f -> !kinds.contains(f.kind()));
-        }
-        return Collections.unmodifiableList(unfilteredPackageContents);
+        return Collections.unmodifiableList(this.index(m).list(packageName, kinds, recurse));
       }
       return super.list(packageOrientedLocation, packageName, kinds, recurse);
     }
@@ -284,63 +251,9 @@ final class ReadOnlyModularJavaFileManager extends ForwardingJavaFileManager<Sta
       throw new UnsupportedOperationException();
     }
 
-
-    /*
-     * Static methods.
-     */
-
-
-    private static final JavaFileObject.Kind kind(final String s) {
-      return kind(ALL_KINDS, s);
-    }
-
-    private static final JavaFileObject.Kind kind(final Iterable<? extends JavaFileObject.Kind> kinds, final String s) {
-      for (final JavaFileObject.Kind kind : kinds) {
-        if (kind != JavaFileObject.Kind.OTHER && s.endsWith(kind.extension)) {
-          return kind;
-        }
-      }
-      return JavaFileObject.Kind.OTHER;
-    }
-
-    private static final Iterable<JavaFileObject> list(final ModuleReader mr,
-                                                       final String packageName,
-                                                       final Set<JavaFileObject.Kind> kinds,
-                                                       final boolean recurse)
-      throws IOException {
-      final String p = packageName.replace('.', '/');
-      final int packagePrefixLength = p.length() + 1;
-      try (final Stream<String> ss = mr.list()) {
-        return ss
-          .filter(s ->
-                  !s.endsWith("/") &&
-                  s.startsWith(p) &&
-                  isAKind(kinds, s) &&
-                  (recurse || s.indexOf('/', packagePrefixLength) < 0))
-          .map(s -> {
-              final JavaFileObject.Kind kind = kind(kinds, s);
-              try {
-                return
-                  new JavaFileRecord(kind,
-                                     kind == JavaFileObject.Kind.CLASS || kind == JavaFileObject.Kind.SOURCE ?
-                                     s.substring(0, s.length() - kind.extension.length()).replace('/', '.') :
-                                     null,
-                                     mr.find(s).orElseThrow());
-              } catch (final IOException ioException) {
-                throw new UncheckedIOException(ioException.getMessage(), ioException);
-              }
-            })
-          .collect(Collectors.toUnmodifiableList());
-      }
-    }
-
-    private static final boolean isAKind(final Set<JavaFileObject.Kind> kinds, final String moduleResource) {
-      for (final JavaFileObject.Kind k : kinds) {
-        if (moduleResource.endsWith(k.extension)) {
-          return true;
-        }
-      }
-      return false;
+    // Returns the ModuleIndex for the module named by the supplied location, building it if necessary.
+    private final ModuleIndex index(final ReadOnlyModuleLocation m) {
+      return this.indices.computeIfAbsent(m.moduleReference(), ModuleIndex::new);
     }
 
   }
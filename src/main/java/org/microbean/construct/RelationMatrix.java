@@ -0,0 +1,216 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import javax.lang.model.type.TypeMirror;
+
+import static java.util.Objects.checkIndex;
+
+/**
+ * An immutable, compact matrix of the results of a binary type relation, such as {@linkplain
+ * Domain#assignable(TypeMirror, TypeMirror) assignability} or {@linkplain Domain#subtype(TypeMirror, TypeMirror)
+ * subtyping}, between each of a {@link java.util.List} of <dfn>candidate</dfn> types (the <dfn>rows</dfn>) and each of
+ * a {@link java.util.List} of <dfn>target</dfn> types (the <dfn>columns</dfn>).
+ *
+ * <p>Results are stored one bit per pair, in row-major order.</p>
+ *
+ * <p>Instances of this class are safe for concurrent use by multiple threads.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+ *
+ * @see Domain#assignableMatrix(java.util.List, java.util.List)
+ *
+ * @see Domain#subtypeMatrix(java.util.List, java.util.List)
+ */
+public final class RelationMatrix {
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final int rows;
+
+  private final int columns;
+
+  // Written only before this RelationMatrix is published.
+  private final long[] bits;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  RelationMatrix(final int rows, final int columns) {
+    super();
+    if (rows < 0) {
+      throw new IllegalArgumentException("rows: " + rows);
+    } else if (columns < 0) {
+      throw new IllegalArgumentException("columns: " + columns);
+    } else if ((long)rows * columns > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("rows * columns > Integer.MAX_VALUE; rows: " + rows + "; columns: " + columns);
+    }
+    this.rows = rows;
+    this.columns = columns;
+    this.bits = new long[(int)(((long)rows * columns + 63L) >>> 6)];
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Returns the number of pairs for which the relation holds.
+   *
+   * @return the number of pairs for which the relation holds
+   */
+  public final int cardinality() {
+    int rv = 0;
+    for (final long word : this.bits) {
+      rv += Long.bitCount(word);
+    }
+    return rv;
+  }
+
+  /**
+   * Returns a new {@link BitSet} whose set bits are the indices of the candidates (rows) to which the target at the
+   * supplied column index is related.
+   *
+   * @param column a column index; must be greater than or equal to {@code 0} and less than the {@linkplain #columns()
+   * number of columns}
+   *
+   * @return a new, non-{@code null} {@link BitSet}
+   *
+   * @exception IndexOutOfBoundsException if {@code column} is out of bounds
+   */
+  public final BitSet column(final int column) {
+    checkIndex(column, this.columns);
+    final BitSet rv = new BitSet(this.rows);
+    for (int row = 0; row < this.rows; row++) {
+      if (this.bit(row * this.columns + column)) {
+        rv.set(row);
+      }
+    }
+    return rv;
+  }
+
+  /**
+   * Returns the number of columns (targets) in this {@link RelationMatrix}.
+   *
+   * @return the number of columns; never less than {@code 0}
+   */
+  public final int columns() {
+    return this.columns;
+  }
+
+  @Override // Object
+  public final boolean equals(final Object other) {
+    if (other == this) {
+      return true;
+    } else if (other != null && other.getClass() == this.getClass()) {
+      final RelationMatrix her = (RelationMatrix)other;
+      return this.rows == her.rows && this.columns == her.columns && Arrays.equals(this.bits, her.bits);
+    } else {
+      return false;
+    }
+  }
+
+  /**
+   * Returns {@code true} if and only if the relation holds between the candidate at the supplied row index and the
+   * target at the supplied column index.
+   *
+   * @param row a row index; must be greater than or equal to {@code 0} and less than the {@linkplain #rows() number of
+   * rows}
+   *
+   * @param column a column index; must be greater than or equal to {@code 0} and less than the {@linkplain #columns()
+   * number of columns}
+   *
+   * @return {@code true} if and only if the relation holds between the candidate at the supplied row index and the
+   * target at the supplied column index
+   *
+   * @exception IndexOutOfBoundsException if either argument is out of bounds
+   */
+  public final boolean get(final int row, final int column) {
+    return this.bit(checkIndex(row, this.rows) * this.columns + checkIndex(column, this.columns));
+  }
+
+  @Override // Object
+  public final int hashCode() {
+    return 31 * (31 * this.rows + this.columns) + Arrays.hashCode(this.bits);
+  }
+
+  /**
+   * Returns a new {@link BitSet} whose set bits are the indices of the targets (columns) to which the candidate at the
+   * supplied row index is related.
+   *
+   * @param row a row index; must be greater than or equal to {@code 0} and less than the {@linkplain #rows() number of
+   * rows}
+   *
+   * @return a new, non-{@code null} {@link BitSet}
+   *
+   * @exception IndexOutOfBoundsException if {@code row} is out of bounds
+   */
+  public final BitSet row(final int row) {
+    checkIndex(row, this.rows);
+    final BitSet rv = new BitSet(this.columns);
+    final int start = row * this.columns;
+    for (int column = 0; column < this.columns; column++) {
+      if (this.bit(start + column)) {
+        rv.set(column);
+      }
+    }
+    return rv;
+  }
+
+  /**
+   * Returns the number of rows (candidates) in this {@link RelationMatrix}.
+   *
+   * @return the number of rows; never less than {@code 0}
+   */
+  public final int rows() {
+    return this.rows;
+  }
+
+  // Must be called only before this RelationMatrix is published.
+  final void set(final int row, final int column) {
+    final int i = row * this.columns + column;
+    this.bits[i >>> 6] |= 1L << i;
+  }
+
+  @Override // Object
+  public final String toString() {
+    final StringBuilder sb = new StringBuilder();
+    for (int row = 0; row < this.rows; row++) {
+      if (row > 0) {
+        sb.append('\n');
+      }
+      for (int column = 0; column < this.columns; column++) {
+        sb.append(this.bit(row * this.columns + column) ? '1' : '0');
+      }
+    }
+    return sb.toString();
+  }
+
+  private final boolean bit(final int i) {
+    return (this.bits[i >>> 6] & (1L << i)) != 0L;
+  }
+
+}
@@ -15,17 +15,37 @@ package org.microbean.construct;
 
 import java.lang.System.Logger;
 
+import java.time.Duration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 import java.util.concurrent.atomic.AtomicReference;
 
+import java.util.concurrent.locks.Lock;
+
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import javax.annotation.processing.ProcessingEnvironment;
 
+import javax.lang.model.element.Element;
+
+import javax.lang.model.util.Elements;
+
 import static java.lang.System.getLogger;
 
+import static java.lang.System.Logger.Level.DEBUG;
 import static java.lang.System.Logger.Level.ERROR;
 
+import static java.util.Objects.requireNonNull;
+
 /**
  * A utility class that can {@linkplain #of() supply} a {@link ProcessingEnvironment} suitable for use at runtime.
  *
@@ -38,6 +58,10 @@ import static java.lang.System.Logger.Level.ERROR;
  *
  * @see #of()
  *
+ * @see #newInstance()
+ *
+ * @see #warmUp(Lock, Collection)
+ *
  * @see #close()
  *
  * @see ProcessingEnvironment
@@ -56,6 +80,9 @@ public final class RuntimeProcessingEnvironmentSupplier implements AutoCloseable
 
   private static final RuntimeProcessingEnvironmentSupplier INSTANCE = new RuntimeProcessingEnvironmentSupplier();
 
+  private static final Executor WARM_UP_EXECUTOR =
+    r -> Thread.ofVirtual().name(RuntimeProcessingEnvironmentSupplier.class.getName() + ".warmUp").start(r);
+
 
   /*
    * Instance fields.
@@ -115,10 +142,131 @@ public final class RuntimeProcessingEnvironmentSupplier implements AutoCloseable
    */
   @Override // Supplier<ProcessingEnvironment>
   public final ProcessingEnvironment get() {
+    return this.task().join();
+  }
+
+  /**
+   * Returns a non-{@code null} {@link CompletableFuture} that will complete once the {@link ProcessingEnvironment}
+   * {@linkplain #get() supplied} by this {@link RuntimeProcessingEnvironmentSupplier} is available.
+   *
+   * <p>This is a convenience method that calls the {@link #warmUp(Lock, Collection)} method with the {@linkplain
+   * SymbolCompletionLock#INSTANCE global symbol completion lock} and an empty {@link Collection}.</p>
+   *
+   * @return a non-{@code null} {@link CompletableFuture}
+   *
+   * @see #warmUp(Lock, Collection)
+   */
+  // (Convenience.)
+  public final CompletableFuture<WarmUp> warmUp() {
+    return this.warmUp(SymbolCompletionLock.INSTANCE, List.of());
+  }
+
+  /**
+   * Returns a non-{@code null} {@link CompletableFuture} that will complete once the {@link ProcessingEnvironment}
+   * {@linkplain #get() supplied} by this {@link RuntimeProcessingEnvironmentSupplier} is available and the packages and
+   * types named by the supplied {@code names} have been pre-completed.
+   *
+   * <p>This is a convenience method that calls the {@link #warmUp(Lock, Collection)} method with the {@linkplain
+   * SymbolCompletionLock#INSTANCE global symbol completion lock} and the supplied {@code names}.</p>
+   *
+   * @param names a {@link Collection} of fully qualified package or type names; must not be {@code null}
+   *
+   * @return a non-{@code null} {@link CompletableFuture}
+   *
+   * @exception NullPointerException if {@code names} is {@code null}
+   *
+   * @see #warmUp(Lock, Collection)
+   */
+  // (Convenience.)
+  public final CompletableFuture<WarmUp> warmUp(final Collection<? extends CharSequence> names) {
+    return this.warmUp(SymbolCompletionLock.INSTANCE, names);
+  }
+
+  /**
+   * Returns a non-{@code null} {@link CompletableFuture} that will complete once the {@link ProcessingEnvironment}
+   * {@linkplain #get() supplied} by this {@link RuntimeProcessingEnvironmentSupplier} is available and the packages and
+   * types named by the supplied {@code names} have been pre-completed, in iteration order, on a background thread.
+   *
+   * <p>A {@link RuntimeProcessingEnvironmentSupplier} starts its underlying compilation task as soon as it is created,
+   * but most callers first notice the cost of doing so when they first call the {@link #get()} method, typically
+   * indirectly via a {@link DefaultDomain}. Calling this method early in the life of an application (in a {@code main}
+   * method, for example) moves that cost, and the cost of completing commonly used packages and types (such as those in
+   * {@code java.lang} or {@code java.util}), off the critical path. Callers that need everything to be ready may {@link
+   * CompletableFuture#join() join} the returned {@link CompletableFuture}.</p>
+   *
+   * <p>Each name is first treated as the canonical name of a type. If there is no such type, it is treated as the name
+   * of a package. Names that denote neither are recorded as {@linkplain WarmUp#unresolved() unresolved}. Each type or
+   * package is completed while the supplied {@link Lock} is held, so symbol completion performed by warm-up is
+   * serialized with any symbol completion performed by a {@link DefaultDomain} that uses the same {@link Lock}.</p>
+   *
+   * <p>The returned {@link CompletableFuture} completes with a {@link WarmUp} recording the timings of each phase. If
+   * this {@link RuntimeProcessingEnvironmentSupplier} is {@linkplain #close() closed} before warm-up finishes, it
+   * completes exceptionally with an {@link IllegalStateException} instead.</p>
+   *
+   * @param lock the {@link Lock} serializing symbol completion for this {@link RuntimeProcessingEnvironmentSupplier};
+   * must not be {@code null}; normally {@link SymbolCompletionLock#INSTANCE} for the {@link
+   * RuntimeProcessingEnvironmentSupplier} {@linkplain #of() returned by the <code>of()</code> method}
+   *
+   * @param names a {@link Collection} of fully qualified package or type names; must not be {@code null}
+   *
+   * @return a non-{@code null} {@link CompletableFuture}
+   *
+   * @exception NullPointerException if either argument is {@code null}
+   *
+   * @see WarmUp
+   *
+   * @see SymbolCompletionLock#INSTANCE
+   */
+  public final CompletableFuture<WarmUp> warmUp(final Lock lock, final Collection<? extends CharSequence> names) {
+    requireNonNull(lock, "lock");
+    final List<String> ns = new ArrayList<>(names.size());
+    for (final CharSequence name : names) {
+      ns.add(name.toString());
+    }
+    final BlockingCompilationTask f = this.task();
+    return f.thenApplyAsync(pe -> {
+        // Captured before anything else; once this supplier is closed, f no longer reports it.
+        final Duration bootstrap = f.bootstrapDuration();
+        if (bootstrap == null) {
+          throw new ClosedProcessorException();
+        }
+        final Elements elements = pe.getElementUtils();
+        final Map<String, Duration> completions = new LinkedHashMap<>();
+        final List<String> unresolved = new ArrayList<>();
+        for (final String name : ns) {
+          final long start = System.nanoTime();
+          lock.lock();
+          try {
+            if (f.isCompletedExceptionally()) {
+              // Closed during warm-up; stop using its ProcessingEnvironment.
+              throw new ClosedProcessorException();
+            }
+            Element e = elements.getTypeElement(name);
+            if (e == null) {
+              e = elements.getPackageElement(name);
+            }
+            if (e == null) {
+              unresolved.add(name);
+              continue;
+            }
+            e.getEnclosedElements(); // completes the symbol
+          } finally {
+            lock.unlock();
+          }
+          completions.put(name, Duration.ofNanos(System.nanoTime() - start));
+        }
+        final WarmUp w = new WarmUp(bootstrap, completions, unresolved);
+        if (LOGGER.isLoggable(DEBUG)) {
+          LOGGER.log(DEBUG, w.toString());
+        }
+        return w;
+      }, WARM_UP_EXECUTOR);
+  }
+
+  private final BlockingCompilationTask task() {
     final BlockingCompilationTask f = this.r.get();
     return
-      (f.isCompletedExceptionally() && f.exceptionNow() instanceof ClosedProcessorException ? install(this.r::set) : f)
-      .join();
+      f.isCompletedExceptionally() && f.exceptionNow() instanceof ClosedProcessorException ? install(this.r::set) : f;
   }
 
 
@@ -158,4 +306,24 @@ public final class RuntimeProcessingEnvironmentSupplier implements AutoCloseable
     return INSTANCE;
   }
 
+  /**
+   * Returns a new, non-{@code null} {@link RuntimeProcessingEnvironmentSupplier} that is independent of the one
+   * {@linkplain #of() returned by the <code>of()</code> method} and of any other.
+   *
+   * <p>Each {@link RuntimeProcessingEnvironmentSupplier} so returned starts its own compilation task, and hence has its
+   * own symbol table, and so consumes a proportionate amount of memory. Symbol completion involving {@link
+   * ProcessingEnvironment}s {@linkplain #get() supplied} by it must be serialized with a lock dedicated to it; the
+   * {@link SymbolCompletionLock#INSTANCE global symbol completion lock} need not be used.</p>
+   *
+   * <p>Most users should simply use an appropriate {@link DefaultDomain} or {@link ShardedDomain} instead of working
+   * directly with instances of this class.</p>
+   *
+   * @return a new, non-{@code null} {@link RuntimeProcessingEnvironmentSupplier}
+   *
+   * @see ShardedDomain
+   */
+  public static final RuntimeProcessingEnvironmentSupplier newInstance() {
+    return new RuntimeProcessingEnvironmentSupplier();
+  }
+
 }
@@ -0,0 +1,664 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct;
+
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericDeclaration;
+import java.lang.reflect.Type;
+
+import java.util.List;
+import java.util.Set;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import javax.lang.model.AnnotatedConstruct;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.ModuleElement;
+import javax.lang.model.element.Parameterizable;
+import javax.lang.model.element.TypeElement;
+
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+import javax.lang.model.util.Elements.Origin;
+
+import org.microbean.construct.element.StringName;
+import org.microbean.construct.element.SyntheticAnnotationTypeElement;
+import org.microbean.construct.element.SyntheticLocalVariableElement;
+import org.microbean.construct.element.UniversalElement;
+
+import org.microbean.construct.type.UniversalType;
+
+/**
+ * A {@link Domain} <strong>for use at runtime</strong> that distributes its work across a fixed number of independent
+ * {@link DefaultDomain}s (<dfn>shards</dfn>), each backed by its own {@linkplain
+ * RuntimeProcessingEnvironmentSupplier#newInstance() runtime <code>ProcessingEnvironment</code>} and its own lock.
+ *
+ * <p>Symbol completion in one shard does not block symbol completion in any other, so queries issued by different
+ * threads can proceed in parallel. The price is memory: each shard has its own symbol table.</p>
+ *
+ * <p>Constructs returned by a {@link ShardedDomain} belong to exactly one of its shards (their {@linkplain
+ * UniversalConstruct#domain() domain} is that shard). Operations that accept constructs are routed to the shard to
+ * which those constructs belong. Operations that accept only names, {@link TypeKind}s or reflective objects are routed
+ * to a shard chosen by the identity of the current {@link Thread}, so that the constructs a given thread obtains tend
+ * to belong to the same shard.</p>
+ *
+ * <p>Constructs from different shards cannot be combined in a single operation, and constructs that belong to no shard
+ * (such as those obtained from another {@link Domain}, or directly from a {@link
+ * javax.annotation.processing.ProcessingEnvironment}) cannot be used at all; such attempts will result in an {@link
+ * IllegalArgumentException}.</p>
+ *
+ * <p>Instances of this class are safe for concurrent use by multiple threads.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+ *
+ * @see RuntimeProcessingEnvironmentSupplier#newInstance()
+ *
+ * @see DefaultDomain
+ */
+@SuppressWarnings("unchecked")
+public final class ShardedDomain implements AutoCloseable, Domain {
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final RuntimeProcessingEnvironmentSupplier[] suppliers;
+
+  private final DefaultDomain[] shards;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link ShardedDomain}.
+   *
+   * <p>Each shard's {@link javax.annotation.processing.ProcessingEnvironment} begins initializing in the background
+   * immediately.</p>
+   *
+   * @param shards the number of shards; must be greater than {@code 0}
+   *
+   * @exception IllegalArgumentException if {@code shards} is less than {@code 1}
+   */
+  public ShardedDomain(final int shards) {
+    super();
+    if (shards < 1) {
+      throw new IllegalArgumentException("shards: " + shards);
+    }
+    this.suppliers = new RuntimeProcessingEnvironmentSupplier[shards];
+    this.shards = new DefaultDomain[shards];
+    for (int i = 0; i < shards; i++) {
+      this.suppliers[i] = RuntimeProcessingEnvironmentSupplier.newInstance();
+      this.shards[i] = DefaultDomain.of(this.suppliers[i], new ReentrantLock());
+    }
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  @Override // Domain
+  public List<? extends AnnotationMirror> allAnnotationMirrors(final Element e) {
+    return this.shard(e).allAnnotationMirrors(e);
+  }
+
+  @Override // Domain
+  public List<? extends UniversalElement> allMembers(final TypeElement e) {
+    return this.shard(e).allMembers(e);
+  }
+
+  @Override // Domain
+  public Element annotate(final List<? extends AnnotationMirror> annotations, final Element e) {
+    return this.shard(e).annotate(annotations, e);
+  }
+
+  @Override // Domain
+  public TypeMirror annotate(final List<? extends AnnotationMirror> annotations, final TypeMirror t) {
+    return this.shard(t).annotate(annotations, t);
+  }
+
+  @Override // Domain
+  public UniversalType arrayTypeOf(final TypeMirror t) {
+    return this.shard(t).arrayTypeOf(t);
+  }
+
+  @Override // Domain
+  public UniversalType asMemberOf(final DeclaredType containingType, final Element e) {
+    return this.shard(containingType, e).asMemberOf(containingType, e);
+  }
+
+  @Override // Domain
+  public boolean assignable(final TypeMirror payload, final TypeMirror receiver) {
+    return this.shard(payload, receiver).assignable(payload, receiver);
+  }
+
+  /**
+   * Returns a {@link RelationMatrix} computed by the shard to which the supplied types belong (or, if none belongs to
+   * any, the shard chosen for the current {@link Thread}) under one acquisition of its lock.
+   *
+   * @param payloads a {@link List} of {@link TypeMirror}s (the rows); must not be {@code null} and must not contain
+   * {@code null} elements
+   *
+   * @param receivers a {@link List} of {@link TypeMirror}s (the columns); must not be {@code null} and must not contain
+   * {@code null} elements
+   *
+   * @return a non-{@code null} {@link RelationMatrix}
+   *
+   * @exception NullPointerException if either argument is {@code null} or contains {@code null} elements
+   *
+   * @exception IllegalArgumentException if the supplied types belong to different shards, or for any of the reasons
+   * given by {@link DefaultDomain#assignableMatrix(List, List)}
+   *
+   * @see DefaultDomain#assignableMatrix(List, List)
+   */
+  @Override // Domain
+  public RelationMatrix assignableMatrix(final List<? extends TypeMirror> payloads,
+                                         final List<? extends TypeMirror> receivers) {
+    return this.shard(payloads, receivers).assignableMatrix(payloads, receivers);
+  }
+
+  /**
+   * Applies the supplied {@link Function} to the shard chosen for the current {@link Thread} while holding its lock
+   * once, and returns its result.
+   *
+   * <p>Operations performed by the {@link Function} go directly to that shard, so no other shard's lock is ever
+   * acquired during the batch. Any constructs the {@link Function} supplies to that shard must therefore belong to it:
+   * they must have been obtained from it within the batch, or from this {@link ShardedDomain} on the current {@link
+   * Thread} without supplying any construct.</p>
+   *
+   * @param <R> the type of the result
+   *
+   * @param f a {@link Function}; must not be {@code null}
+   *
+   * @return the result of applying the supplied {@link Function}, which may be {@code null}
+   *
+   * @exception NullPointerException if {@code f} is {@code null}
+   *
+   * @see Domain#batch(Function)
+   */
+  @Override // Domain
+  public <R> R batch(final Function<? super Domain, ? extends R> f) {
+    return this.shard().batch(f);
+  }
+
+  @Override // Domain
+  public StringName binaryName(final TypeElement e) {
+    return this.shard(e).binaryName(e);
+  }
+
+  @Override // Domain
+  public boolean bridge(final ExecutableElement e) {
+    return this.shard(e).bridge(e);
+  }
+
+  @Override // Domain
+  public UniversalType capture(final TypeMirror t) {
+    return this.shard(t).capture(t);
+  }
+
+  // Ensures that none of the supplied constructs belongs to a shard other than the supplied one.
+  private final DefaultDomain check(final DefaultDomain d, final TypeMirror[] ts) {
+    if (ts != null) {
+      for (final TypeMirror t : ts) {
+        final DefaultDomain o = this.owner(t);
+        if (o != null && o != d) {
+          throw new IllegalArgumentException("t belongs to a different shard: " + t);
+        }
+      }
+    }
+    return d;
+  }
+
+  /**
+   * Closes this {@link ShardedDomain} by {@linkplain RuntimeProcessingEnvironmentSupplier#close() closing} each of its
+   * shards' {@link RuntimeProcessingEnvironmentSupplier}s.
+   *
+   * <p>As with {@link RuntimeProcessingEnvironmentSupplier#close()}, subsequent use of this {@link ShardedDomain} will
+   * cause its shards to be reinitialized.</p>
+   *
+   * @see RuntimeProcessingEnvironmentSupplier#close()
+   */
+  @Override // AutoCloseable
+  public final void close() {
+    for (final RuntimeProcessingEnvironmentSupplier s : this.suppliers) {
+      s.close();
+    }
+  }
+
+  @Override // Domain
+  public boolean contains(final TypeMirror t0, final TypeMirror t1) {
+    return this.shard(t0, t1).contains(t0, t1);
+  }
+
+  // (Convenience.)
+  @Override // Domain
+  public UniversalType declaredType(final CharSequence canonicalName) {
+    return this.shard().declaredType(canonicalName);
+  }
+
+  @Override // Domain
+  public UniversalType declaredType(final TypeElement typeElement,
+                                    final TypeMirror... typeArguments) {
+    return this.shard(typeElement, typeArguments).declaredType(typeElement, typeArguments);
+  }
+
+  @Override // Domain
+  public UniversalType declaredType(final DeclaredType enclosingType,
+                                    final TypeElement typeElement,
+                                    final TypeMirror... typeArguments) {
+    return
+      this.check(this.shard(enclosingType, typeElement), typeArguments)
+      .declaredType(enclosingType, typeElement, typeArguments);
+  }
+
+  @Override // Domain
+  public List<? extends UniversalType> directSupertypes(final TypeMirror t) {
+    return this.shard(t).directSupertypes(t);
+  }
+
+  @Override // Domain
+  public UniversalElement element(final TypeMirror t) {
+    return this.shard(t).element(t);
+  }
+
+  @Override // Domain
+  public UniversalType elementType(final TypeMirror t) {
+    return this.shard(t).elementType(t);
+  }
+
+  @Override // Domain
+  public UniversalType erasure(final TypeMirror t) {
+    return this.shard(t).erasure(t);
+  }
+
+  @Override // Domain
+  public ExecutableElement executableElement(final Executable e) {
+    return this.shard().executableElement(e);
+  }
+
+  // (Convenience.)
+  @Override // Domain
+  public UniversalElement executableElement(final TypeElement declaringElement,
+                                            final TypeMirror returnType,
+                                            final CharSequence name,
+                                            final TypeMirror... parameterTypes) {
+    return
+      this.check(this.shard(declaringElement, returnType), parameterTypes)
+      .executableElement(declaringElement, returnType, name, parameterTypes);
+  }
+
+  @Override // Domain
+  public boolean generic(final Element e) {
+    return this.shard(e).generic(e);
+  }
+
+  @Override // Domain
+  public boolean generic(final TypeMirror t) {
+    return this.shard(t).generic(t);
+  }
+
+  // (Convenience.)
+  @Override // Domain
+  public UniversalElement javaLangObject() {
+    return this.shard().javaLangObject();
+  }
+
+  // (Convenience.)
+  @Override // Domain
+  public UniversalType javaLangObjectType() {
+    return this.shard().javaLangObjectType();
+  }
+
+  /**
+   * Locks the lock belonging to the shard that would be chosen for the current {@link Thread}, and returns an {@link
+   * Unlockable} that unlocks it.
+   *
+   * <p>Constructs returned by this {@link ShardedDomain} use their own shards' locks, not this method.</p>
+   *
+   * @return a non-{@code null} {@link Unlockable}
+   */
+  @Override // PrimordialDomain
+  public Unlockable lock() {
+    return this.shard().lock();
+  }
+
+  @Override // PrimordialDomain
+  public Unlockable lock(final Element e) {
+    return this.shard(e).lock(e);
+  }
+
+  @Override // Domain
+  public boolean metaAnnotated(final TypeElement annotationInterface, final CharSequence qualifiedName) {
+    return this.shard(annotationInterface).metaAnnotated(annotationInterface, qualifiedName);
+  }
+
+  @Override // Domain
+  public Set<String> metaAnnotationInterfaceNames(final TypeElement annotationInterface) {
+    return this.shard(annotationInterface).metaAnnotationInterfaceNames(annotationInterface);
+  }
+
+  // (Canonical.)
+  @Override // Domain
+  public UniversalElement moduleElement(final CharSequence canonicalName) {
+    return this.shard().moduleElement(canonicalName);
+  }
+
+  // (Canonical.)
+  @Override // Domain
+  public StringName name(final CharSequence name) {
+    return this.shard().name(name);
+  }
+
+  // (Canonical.)
+  @Override // Domain
+  public UniversalType noType(final TypeKind kind) {
+    return this.shard().noType(kind);
+  }
+
+  // (Canonical.)
+  @Override // Domain
+  public UniversalType nullType() {
+    return this.shard().nullType();
+  }
+
+  @Override // Domain
+  public Origin origin(final Element e) {
+    return this.shard(e).origin(e);
+  }
+
+  // (Canonical.)
+  @Override // Domain
+  public UniversalElement packageElement(final CharSequence canonicalName) {
+    return this.shard().packageElement(canonicalName);
+  }
+
+  // (Canonical.)
+  @Override // Domain
+  public UniversalElement packageElement(final ModuleElement asSeenFrom, final CharSequence canonicalName) {
+    return this.shard(asSeenFrom).packageElement(asSeenFrom, canonicalName);
+  }
+
+  // (Canonical.)
+  @Override // Domain
+  public Parameterizable parameterizable(final GenericDeclaration gd) {
+    return this.shard().parameterizable(gd);
+  }
+
+  @Override // Domain
+  public boolean parameterized(final TypeMirror t) {
+    return this.shard(t).parameterized(t);
+  }
+
+  @Override // Domain
+  public UniversalType primitiveType(final TypeKind kind) {
+    return this.shard().primitiveType(kind);
+  }
+
+  // (Convenience.)
+  // (Unboxing.)
+  @Override // Domain
+  public UniversalType primitiveType(final CharSequence canonicalName) {
+    return this.shard().primitiveType(canonicalName);
+  }
+
+  // (Convenience.)
+  // (Unboxing.)
+  @Override // Domain
+  public UniversalType primitiveType(final TypeElement e) {
+    return this.shard(e).primitiveType(e);
+  }
+
+  // (Canonical.)
+  // (Unboxing.)
+  @Override // Domain
+  public UniversalType primitiveType(final TypeMirror t) {
+    return this.shard(t).primitiveType(t);
+  }
+
+  @Override // Domain
+  public boolean prototypical(final TypeMirror t) {
+    return this.shard(t).prototypical(t);
+  }
+
+  @Override // Domain
+  public boolean raw(final TypeMirror t) {
+    return this.shard(t).raw(t);
+  }
+
+  @Override // Domain
+  public UniversalType rawType(final TypeMirror t) {
+    return this.shard(t).rawType(t);
+  }
+
+  // (Canonical.)
+  @Override // Domain
+  public UniversalElement recordComponentElement(final ExecutableElement e) {
+    return this.shard(e).recordComponentElement(e);
+  }
+
+  @Override // Domain
+  public boolean sameType(final TypeMirror t0, final TypeMirror t1) {
+    return this.shard(t0, t1).sameType(t0, t1);
+  }
+
+  // Returns the shard chosen for the current thread.
+  private final DefaultDomain shard() {
+    return this.shards[(int)Long.remainderUnsigned(Thread.currentThread().threadId(), this.shards.length)];
+  }
+
+  // Returns the shard to which the supplied construct belongs, or the shard chosen for the current thread if it does not
+  // belong to any of them.
+  private final DefaultDomain shard(final AnnotatedConstruct c) {
+    final DefaultDomain d = this.owner(c);
+    return d == null ? this.shard() : d;
+  }
+
+  private final DefaultDomain shard(final AnnotatedConstruct c0, final AnnotatedConstruct c1) {
+    final DefaultDomain d0 = this.owner(c0);
+    final DefaultDomain d1 = this.owner(c1);
+    if (d0 == null) {
+      return d1 == null ? this.shard() : d1;
+    } else if (d1 == null || d0 == d1) {
+      return d0;
+    }
+    throw new IllegalArgumentException("c0 and c1 belong to different shards; c0: " + c0 + "; c1: " + c1);
+  }
+
+  private final DefaultDomain shard(final AnnotatedConstruct c, final TypeMirror[] ts) {
+    return this.check(this.shard(c), ts);
+  }
+
+  // Returns the shard to which all of the constructs in the supplied Lists belong, or the shard chosen for the current
+  // thread if none of them belongs to any.
+  private final DefaultDomain shard(final List<? extends TypeMirror> ts0, final List<? extends TypeMirror> ts1) {
+    DefaultDomain d = null;
+    for (final List<? extends TypeMirror> ts : List.of(ts0, ts1)) {
+      for (final TypeMirror t : ts) {
+        final DefaultDomain o = this.owner(t);
+        if (d == null) {
+          d = o;
+        } else if (o != null && o != d) {
+          throw new IllegalArgumentException("t belongs to a different shard: " + t);
+        }
+      }
+    }
+    return d == null ? this.shard() : d;
+  }
+
+  // Returns the shard to which the supplied construct belongs, or null if it is null or does not depend on any compiler.
+  // Rejects constructs that belong to no shard, such as raw javac constructs, whose compilers cannot be determined:
+  // handing them to the compiler of whatever shard happens to be chosen would mix symbol tables.
+  private final DefaultDomain owner(final AnnotatedConstruct c) {
+    return switch (c) {
+    case null -> null;
+    case UniversalConstruct<?> uc -> {
+      final PrimordialDomain d = uc.domain();
+      for (final DefaultDomain shard : this.shards) {
+        if (d == shard) {
+          yield shard;
+        }
+      }
+      throw new IllegalArgumentException("c does not belong to this ShardedDomain: " + c);
+    }
+    case SyntheticAnnotationTypeElement s -> null;
+    case SyntheticLocalVariableElement s -> this.owner(s.asType());
+    default -> throw new IllegalArgumentException("c does not belong to this ShardedDomain: " + c);
+    };
+  }
+
+  /**
+   * Returns the number of shards this {@link ShardedDomain} has.
+   *
+   * @return the number of shards this {@link ShardedDomain} has; always greater than {@code 0}
+   */
+  public final int shards() {
+    return this.shards.length;
+  }
+
+  @Override // Domain
+  public boolean subsignature(final ExecutableType t0, final ExecutableType t1) {
+    return this.shard(t0, t1).subsignature(t0, t1);
+  }
+
+  @Override // Domain
+  public boolean subtype(final TypeMirror candidateSubtype, final TypeMirror candidateSupertype) {
+    return this.shard(candidateSubtype, candidateSupertype).subtype(candidateSubtype, candidateSupertype);
+  }
+
+  /**
+   * Returns a {@link RelationMatrix} computed by the shard to which the supplied types belong (or, if none belongs to
+   * any, the shard chosen for the current {@link Thread}) under one acquisition of its lock.
+   *
+   * @param candidateSubtypes a {@link List} of {@link TypeMirror}s (the rows); must not be {@code null} and must not
+   * contain {@code null} elements
+   *
+   * @param supertypes a {@link List} of {@link TypeMirror}s (the columns); must not be {@code null} and must not
+   * contain {@code null} elements
+   *
+   * @return a non-{@code null} {@link RelationMatrix}
+   *
+   * @exception NullPointerException if either argument is {@code null} or contains {@code null} elements
+   *
+   * @exception IllegalArgumentException if the supplied types belong to different shards, or for any of the reasons
+   * given by {@link DefaultDomain#subtypeMatrix(List, List)}
+   *
+   * @see DefaultDomain#subtypeMatrix(List, List)
+   */
+  @Override // Domain
+  public RelationMatrix subtypeMatrix(final List<? extends TypeMirror> candidateSubtypes,
+                                      final List<? extends TypeMirror> supertypes) {
+    return this.shard(candidateSubtypes, supertypes).subtypeMatrix(candidateSubtypes, supertypes);
+  }
+
+  @Override // PrimordialDomain
+  public String toString(final CharSequence name) {
+    return this.shard().toString(name);
+  }
+
+  @Override // Domain
+  public TypeMirror type(final Type t) {
+    return this.shard().type(t);
+  }
+
+  @Override // Domain
+  public TypeMirror[] types(final Type[] ts) {
+    return this.shard().types(ts);
+  }
+
+  // (Canonical.)
+  @Override // Domain
+  public UniversalElement typeElement(final CharSequence canonicalName) {
+    return this.shard().typeElement(canonicalName);
+  }
+
+  // (Canonical.)
+  @Override // Domain
+  public UniversalElement typeElement(final ModuleElement asSeenFrom, final CharSequence canonicalName) {
+    return this.shard(asSeenFrom).typeElement(asSeenFrom, canonicalName);
+  }
+
+  // (Canonical.)
+  // (Boxing.)
+  @Override // Domain
+  public UniversalElement typeElement(final PrimitiveType t) {
+    return this.shard(t).typeElement(t);
+  }
+
+  // (Convenience.)
+  // (Boxing.)
+  @Override // Domain
+  public UniversalElement typeElement(final TypeKind primitiveTypeKind) {
+    return this.shard().typeElement(primitiveTypeKind);
+  }
+
+  // (Convenience.)
+  @Override // Domain
+  public UniversalElement typeParameterElement(final Parameterizable p, final CharSequence name) {
+    return this.shard(p).typeParameterElement(p, name);
+  }
+
+  // (Convenience.)
+  @Override // Domain
+  public UniversalType typeVariable(final Parameterizable p, final CharSequence name) {
+    return this.shard(p).typeVariable(p, name);
+  }
+
+  // (Convenience.)
+  @Override // Domain
+  public UniversalElement variableElement(final Element e, final CharSequence name) {
+    return this.shard(e).variableElement(e, name);
+  }
+
+  // (Convenience.)
+  @Override // Domain
+  public UniversalElement variableElement(final Field f) {
+    return this.shard().variableElement(f);
+  }
+
+  @Override // Domain
+  public UniversalType wildcardType() {
+    return this.shard().wildcardType();
+  }
+
+  @Override // Domain
+  public UniversalType wildcardType(final TypeMirror extendsBound, final TypeMirror superBound) {
+    return this.shard(extendsBound, superBound).wildcardType(extendsBound, superBound);
+  }
+
+  // Wraps the supplied delegate using the shard to which it belongs. Raw javac constructs belong to no shard and are
+  // rejected.
+  @Override // PrimordialDomain
+  public <T extends AnnotatedConstruct, U extends UniversalConstruct<T>> U wrap(final T delegate,
+                                                                               final BiFunction<? super T, ? super PrimordialDomain, ? extends U> factory) {
+    return this.shard(delegate).wrap(delegate, factory);
+  }
+
+}
@@ -0,0 +1,238 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct;
+
+import java.io.IOException;
+
+import java.lang.constant.DynamicConstantDesc;
+
+import java.nio.file.Path;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.lang.model.element.TypeElement;
+
+import org.microbean.construct.SymbolSnapshot.TypeFacts;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link DefaultDomain} that answers {@linkplain #typeFacts(CharSequence) questions about types} from a {@link
+ * SymbolSnapshot} where possible, and that boots its underlying Java compiler only when it is first actually needed.
+ *
+ * <p>All {@link Domain} operations, which necessarily traffic in constructs that only a Java compiler can produce,
+ * behave exactly as they do in a {@link DefaultDomain} {@linkplain DefaultDomain#DefaultDomain() created for runtime
+ * use}. The first such operation boots the Java compiler (unless something else already has). By contrast, the {@link
+ * #typeFacts(CharSequence)} method consults this {@link SnapshotDomain}'s {@link SymbolSnapshot} first, and boots the
+ * Java compiler only on a miss. Facts gathered on misses are retained so that an augmented {@link SymbolSnapshot} may
+ * be {@linkplain #snapshot() obtained} and {@linkplain SymbolSnapshot#write(Path) written} for use by a later
+ * process.</p>
+ *
+ * <p>Instances of this class are safe for concurrent use by multiple threads.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+ *
+ * @see SymbolSnapshot
+ *
+ * @see #typeFacts(CharSequence)
+ */
+@SuppressWarnings("unchecked")
+public final class SnapshotDomain extends DefaultDomain {
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final SymbolSnapshot snapshot;
+
+  // Facts (or their absence) obtained from the live domain on misses.
+  private final ConcurrentHashMap<String, Optional<TypeFacts>> computed;
+
+  private final LongAdder hits;
+
+  private final LongAdder misses;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link SnapshotDomain} with an empty {@link SymbolSnapshot} {@linkplain
+   * SymbolSnapshot#currentFingerprint() fingerprinted with the current environment}.
+   *
+   * @see #SnapshotDomain(SymbolSnapshot)
+   */
+  public SnapshotDomain() {
+    this(new SymbolSnapshot(SymbolSnapshot.currentFingerprint(), List.of()));
+  }
+
+  /**
+   * Creates a new {@link SnapshotDomain}.
+   *
+   * <p>The caller is responsible for ensuring that the supplied {@link SymbolSnapshot} is valid for the current
+   * environment; {@link SymbolSnapshot#read(Path)} does so.</p>
+   *
+   * @param snapshot a {@link SymbolSnapshot}; must not be {@code null}
+   *
+   * @exception NullPointerException if {@code snapshot} is {@code null}
+   *
+   * @see SymbolSnapshot#read(Path)
+   */
+  public SnapshotDomain(final SymbolSnapshot snapshot) {
+    super(() -> RuntimeProcessingEnvironmentSupplier.of().get(), SymbolCompletionLock.INSTANCE);
+    this.snapshot = requireNonNull(snapshot, "snapshot");
+    this.computed = new ConcurrentHashMap<>();
+    this.hits = new LongAdder();
+    this.misses = new LongAdder();
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Returns an {@link Optional} housing {@link TypeFacts} describing the type with the supplied canonical name, or an
+   * {@linkplain Optional#isEmpty() empty <code>Optional</code>} if there is no such type.
+   *
+   * <p>The {@link SymbolSnapshot} supplied at construction time is consulted first. On a miss, facts are obtained from
+   * this {@link SnapshotDomain} itself, booting its Java compiler if necessary, and are retained.</p>
+   *
+   * @param canonicalName a canonical name; must not be {@code null}
+   *
+   * @return a non-{@code null} {@link Optional}
+   *
+   * @exception NullPointerException if {@code canonicalName} is {@code null}
+   *
+   * @see #snapshot()
+   */
+  public final Optional<TypeFacts> typeFacts(final CharSequence canonicalName) {
+    final String n = canonicalName.toString();
+    final Optional<TypeFacts> rv = this.snapshot.type(n);
+    if (rv.isPresent()) {
+      this.hits.increment();
+      return rv;
+    }
+    Optional<TypeFacts> c = this.computed.get(n);
+    if (c == null) {
+      this.misses.increment();
+      // Deliberately not computeIfAbsent: computing takes the symbol completion lock, which must never be acquired
+      // while a ConcurrentHashMap bin is locked.
+      final TypeElement e = this.typeElement(n);
+      c = e == null ? Optional.empty() : Optional.of(SymbolSnapshot.facts(e, this));
+      final Optional<TypeFacts> old = this.computed.putIfAbsent(n, c);
+      if (old != null) {
+        c = old;
+      }
+    } else {
+      this.hits.increment();
+    }
+    return c;
+  }
+
+  /**
+   * Returns the number of invocations of the {@link #typeFacts(CharSequence)} method that did not require consulting
+   * the Java compiler.
+   *
+   * @return the number of hits
+   */
+  public final long hits() {
+    return this.hits.sum();
+  }
+
+  /**
+   * Returns the number of invocations of the {@link #typeFacts(CharSequence)} method that required consulting the Java
+   * compiler.
+   *
+   * @return the number of misses
+   */
+  public final long misses() {
+    return this.misses.sum();
+  }
+
+  /**
+   * Returns a {@link SymbolSnapshot} containing the facts in the {@link SymbolSnapshot} supplied at construction time
+   * together with any facts obtained since on misses.
+   *
+   * @return a non-{@code null} {@link SymbolSnapshot}
+   *
+   * @see SymbolSnapshot#write(Path)
+   */
+  public final SymbolSnapshot snapshot() {
+    final List<TypeFacts> l = new ArrayList<>();
+    this.computed.values().forEach(o -> o.ifPresent(l::add));
+    return this.snapshot.plus(l);
+  }
+
+  /**
+   * Returns an {@linkplain Optional#isEmpty() empty <code>Optional</code>}, since a {@link SnapshotDomain} has no
+   * nominal descriptor.
+   *
+   * @return an {@linkplain Optional#isEmpty() empty <code>Optional</code>}
+   */
+  @Override // DefaultDomain
+  public final Optional<DynamicConstantDesc<DefaultDomain>> describeConstable() {
+    return Optional.empty();
+  }
+
+  // Identity-based; DefaultDomain's equality would boot the compiler.
+  @Override // DefaultDomain
+  public final boolean equals(final Object other) {
+    return this == other;
+  }
+
+  // Identity-based; DefaultDomain's hash code would boot the compiler.
+  @Override // DefaultDomain
+  public final int hashCode() {
+    return System.identityHashCode(this);
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  /**
+   * Returns a new {@link SnapshotDomain} backed by the {@link SymbolSnapshot} {@linkplain SymbolSnapshot#read(Path)
+   * read} from the file identified by the supplied {@link Path}, or by an empty {@link SymbolSnapshot} if there is no
+   * such file or it is not valid for the current environment.
+   *
+   * @param p a {@link Path}; must not be {@code null}
+   *
+   * @return a non-{@code null} {@link SnapshotDomain}
+   *
+   * @exception NullPointerException if {@code p} is {@code null}
+   *
+   * @exception IOException if an input/output error occurs
+   *
+   * @see SymbolSnapshot#read(Path)
+   */
+  public static final SnapshotDomain of(final Path p) throws IOException {
+    final Optional<SymbolSnapshot> s = SymbolSnapshot.read(p);
+    return s.isPresent() ? new SnapshotDomain(s.orElseThrow()) : new SnapshotDomain();
+  }
+
+}
@@ -19,6 +19,11 @@ import java.util.concurrent.locks.ReentrantLock;
  * A class holding a {@link ReentrantLock} that should be used to serialize <dfn>symbol completion</dfn> and <dfn>name
  * expansion</dfn>.
  *
+ * <p>This lock is global because a Java compiler cannot complete two symbols concurrently, even if they belong to
+ * unrelated classes. Once a top-level class has been completed, however, the first touches of constructs belonging to
+ * it need not be serialized; see {@link PrimordialDomain#lock(javax.lang.model.element.Element)}. To complete symbols
+ * in parallel, use a {@link ShardedDomain}.</p>
+ *
  * <p>Most users should simply {@linkplain DefaultDomain#DefaultDomain() use an appropriate <code>DefaultDomain</code>}
  * instead of working directly with instances of this class.</p>
  *
@@ -0,0 +1,637 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.io.UncheckedIOException;
+
+import java.lang.module.ResolvedModule;
+
+import java.net.URI;
+
+import java.nio.charset.StandardCharsets;
+
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+import java.nio.file.attribute.BasicFileAttributes;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import java.util.stream.Stream;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+import org.microbean.construct.vm.AccessFlags;
+import org.microbean.construct.vm.Signatures;
+import org.microbean.construct.vm.TypeDescriptors;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An immutable, persistable record of value-typed facts about {@link TypeElement}s (their kinds, access flags, binary
+ * names, descriptors, signatures, direct supertypes and members) that were obtained from a {@link Domain}, and that
+ * remain valid for as long as the {@linkplain #fingerprint() classpath, module path and Java runtime} from which they
+ * were obtained do not change.
+ *
+ * <p>A {@link SymbolSnapshot} {@linkplain #write(Path) written} by one process may be {@linkplain #read(Path) read} by
+ * a later one, which can then answer questions about the recorded types without booting a Java compiler. Constructs
+ * such as {@link Element}s and {@link TypeMirror}s themselves cannot be recorded; they can be produced only by a live
+ * {@link Domain}.</p>
+ *
+ * <p>Instances of this class are safe for concurrent use by multiple threads.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+ *
+ * @see SnapshotDomain
+ *
+ * @see #of(Domain, Collection)
+ *
+ * @see #read(Path)
+ *
+ * @see #write(Path)
+ */
+public final class SymbolSnapshot {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  private static final int MAGIC = 0x4D425353; // "MBSS"
+
+  private static final int FORMAT = 1;
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final String fingerprint;
+
+  private final Map<String, TypeFacts> types;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link SymbolSnapshot}.
+   *
+   * @param fingerprint the {@linkplain #fingerprint() fingerprint} of the environment from which the supplied {@link
+   * TypeFacts} were obtained; must not be {@code null}
+   *
+   * @param types a {@link Collection} of {@link TypeFacts}; must not be {@code null}; if two elements have the same
+   * {@linkplain TypeFacts#name() name}, the last one wins
+   *
+   * @exception NullPointerException if either argument is {@code null}
+   */
+  public SymbolSnapshot(final String fingerprint, final Collection<? extends TypeFacts> types) {
+    super();
+    this.fingerprint = requireNonNull(fingerprint, "fingerprint");
+    final Map<String, TypeFacts> m = new LinkedHashMap<>();
+    for (final TypeFacts t : types) {
+      m.put(t.name(), t);
+    }
+    this.types = Collections.unmodifiableMap(m);
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Returns the fingerprint of the environment from which this {@link SymbolSnapshot}'s facts were obtained.
+   *
+   * @return the non-{@code null} fingerprint of the environment from which this {@link SymbolSnapshot}'s facts were
+   * obtained
+   *
+   * @see #currentFingerprint()
+   */
+  public final String fingerprint() {
+    return this.fingerprint;
+  }
+
+  /**
+   * Returns a new {@link SymbolSnapshot} with the same {@linkplain #fingerprint() fingerprint} as this one, containing
+   * this {@link SymbolSnapshot}'s {@link TypeFacts} and the supplied {@link TypeFacts}, which take precedence.
+   *
+   * @param types a {@link Collection} of {@link TypeFacts}; must not be {@code null}
+   *
+   * @return a new {@link SymbolSnapshot}, or this {@link SymbolSnapshot} if {@code types} is empty
+   *
+   * @exception NullPointerException if {@code types} is {@code null}
+   */
+  public final SymbolSnapshot plus(final Collection<? extends TypeFacts> types) {
+    if (types.isEmpty()) {
+      return this;
+    }
+    final List<TypeFacts> l = new ArrayList<>(this.types.size() + types.size());
+    l.addAll(this.types.values());
+    l.addAll(types);
+    return new SymbolSnapshot(this.fingerprint, l);
+  }
+
+  /**
+   * Returns an {@link Optional} housing the {@link TypeFacts} recorded for the type with the supplied canonical name,
+   * or an {@linkplain Optional#isEmpty() empty <code>Optional</code>} if there are none.
+   *
+   * @param canonicalName a canonical name; must not be {@code null}
+   *
+   * @return a non-{@code null} {@link Optional}
+   *
+   * @exception NullPointerException if {@code canonicalName} is {@code null}
+   */
+  public final Optional<TypeFacts> type(final CharSequence canonicalName) {
+    return Optional.ofNullable(this.types.get(canonicalName.toString()));
+  }
+
+  /**
+   * Returns an immutable {@link Collection} of all the {@link TypeFacts} in this {@link SymbolSnapshot}, in the order
+   * in which they were recorded.
+   *
+   * @return a non-{@code null}, immutable {@link Collection} of {@link TypeFacts}
+   */
+  public final Collection<TypeFacts> types() {
+    return this.types.values();
+  }
+
+  @Override // Object
+  public final String toString() {
+    return this.getClass().getSimpleName() + "[fingerprint=" + this.fingerprint + ", types=" + this.types.size() + "]";
+  }
+
+  /**
+   * Writes this {@link SymbolSnapshot} to the file identified by the supplied {@link Path}, replacing it atomically if
+   * possible.
+   *
+   * @param p a {@link Path}; must not be {@code null}
+   *
+   * @exception NullPointerException if {@code p} is {@code null}
+   *
+   * @exception IOException if an input/output error occurs
+   *
+   * @see #read(Path)
+   */
+  public final void write(final Path p) throws IOException {
+    final Path parent = p.toAbsolutePath().getParent();
+    final Path tmp = Files.createTempFile(parent, p.getFileName().toString(), ".tmp");
+    try {
+      try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT);
+        out.writeUTF(this.fingerprint);
+        out.writeInt(this.types.size());
+        for (final TypeFacts t : this.types.values()) {
+          out.writeUTF(t.name());
+          out.writeUTF(t.kind().name());
+          out.writeInt(t.accessFlags());
+          out.writeUTF(t.binaryName());
+          out.writeUTF(t.descriptor());
+          writeNullableUTF(out, t.signature());
+          out.writeInt(t.directSupertypes().size());
+          for (final String s : t.directSupertypes()) {
+            out.writeUTF(s);
+          }
+          out.writeInt(t.members().size());
+          for (final MemberFacts m : t.members()) {
+            out.writeUTF(m.kind().name());
+            out.writeUTF(m.name());
+            out.writeInt(m.accessFlags());
+            out.writeUTF(m.descriptor());
+            writeNullableUTF(out, m.signature());
+          }
+        }
+      }
+      try {
+        Files.move(tmp, p, REPLACE_EXISTING, ATOMIC_MOVE);
+      } catch (final AtomicMoveNotSupportedException e) {
+        Files.move(tmp, p, REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  /**
+   * Returns the fingerprint of the current environment, which is a digest of the Java runtime version and location,
+   * the classpath, and the locations of the modules in the boot layer and in the layer containing this class, together
+   * with the sizes and modification times of any of those locations that are files, and of every file beneath any of
+   * them that are directories.
+   *
+   * <p>A {@link SymbolSnapshot} whose {@linkplain #fingerprint() fingerprint} differs from the current environment's
+   * should not be used.</p>
+   *
+   * @return the non-{@code null} fingerprint of the current environment
+   */
+  public static final String currentFingerprint() {
+    final MessageDigest md;
+    try {
+      md = MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e.getMessage(), e); // every Java platform must support SHA-256
+    }
+    update(md, "format=" + FORMAT);
+    update(md, "java.version=" + Runtime.version());
+    update(md, "java.home=" + System.getProperty("java.home"));
+    final String cp = System.getProperty("java.class.path");
+    if (cp != null && !cp.isEmpty()) {
+      for (final String entry : cp.split(File.pathSeparator)) {
+        update(md, "classpath=" + entry);
+        update(md, Path.of(entry));
+      }
+    }
+    final List<ModuleLayer> layers = new ArrayList<>(2);
+    layers.add(ModuleLayer.boot());
+    final ModuleLayer layer = SymbolSnapshot.class.getModule().getLayer();
+    if (layer != null && layer != ModuleLayer.boot()) {
+      layers.add(layer);
+    }
+    for (final ModuleLayer l : layers) {
+      final List<ResolvedModule> modules = new ArrayList<>(l.configuration().modules());
+      modules.sort(Comparator.comparing(ResolvedModule::name));
+      for (final ResolvedModule m : modules) {
+        update(md, "module=" + m.name());
+        final Optional<URI> location = m.reference().location();
+        if (location.isPresent()) {
+          final URI u = location.orElseThrow();
+          update(md, "location=" + u);
+          if ("file".equalsIgnoreCase(u.getScheme())) {
+            update(md, Path.of(u));
+          }
+        }
+      }
+    }
+    return HexFormat.of().formatHex(md.digest());
+  }
+
+  /**
+   * Returns the {@link TypeFacts} describing the supplied {@link TypeElement}.
+   *
+   * @param e a {@link TypeElement}; must not be {@code null}
+   *
+   * @param d the {@link Domain} from which the {@link TypeElement} originated; must not be {@code null}
+   *
+   * @return non-{@code null} {@link TypeFacts}
+   *
+   * @exception NullPointerException if either argument is {@code null}
+   */
+  @SuppressWarnings("try")
+  public static final TypeFacts facts(final TypeElement e, final Domain d) {
+    try (var lock = d.lock()) {
+      final List<String> supertypes = new ArrayList<>();
+      for (final TypeMirror t : d.directSupertypes(e.asType())) {
+        if (t.getKind() == TypeKind.DECLARED) {
+          supertypes.add(d.toString(d.binaryName((TypeElement)((DeclaredType)t).asElement())));
+        }
+      }
+      final List<MemberFacts> members = new ArrayList<>();
+      for (final Element m : e.getEnclosedElements()) {
+        switch (m.getKind()) {
+        case CONSTRUCTOR, ENUM_CONSTANT, FIELD, METHOD ->
+          members.add(new MemberFacts(m.getKind(),
+                                      d.toString(m.getSimpleName()),
+                                      AccessFlags.accessFlags(m, d),
+                                      TypeDescriptors.typeDescriptor(d.erasure(m.asType()), d).descriptorString(),
+                                      signature(m, d)));
+        default -> {}
+        }
+      }
+      return new TypeFacts(d.toString(e.getQualifiedName()),
+                           e.getKind(),
+                           AccessFlags.accessFlags(e, d),
+                           d.toString(d.binaryName(e)),
+                           TypeDescriptors.typeDescriptor(d.erasure(e.asType()), d).descriptorString(),
+                           signature(e, d),
+                           supertypes,
+                           members);
+    }
+  }
+
+  /**
+   * Returns a new {@link SymbolSnapshot} {@linkplain #currentFingerprint() fingerprinted with the current environment}
+   * containing {@link TypeFacts} for each of the types, obtained from the supplied {@link Domain}, named by the
+   * supplied canonical names.
+   *
+   * <p>Names that do not identify a type are ignored.</p>
+   *
+   * @param d a {@link Domain}; must not be {@code null}
+   *
+   * @param canonicalNames a {@link Collection} of canonical names; must not be {@code null}
+   *
+   * @return a non-{@code null} {@link SymbolSnapshot}
+   *
+   * @exception NullPointerException if either argument is {@code null}
+   */
+  public static final SymbolSnapshot of(final Domain d, final Collection<? extends CharSequence> canonicalNames) {
+    final List<TypeFacts> types = new ArrayList<>(canonicalNames.size());
+    for (final CharSequence n : canonicalNames) {
+      final TypeElement e = d.typeElement(n);
+      if (e != null) {
+        types.add(facts(e, d));
+      }
+    }
+    return new SymbolSnapshot(currentFingerprint(), types);
+  }
+
+  /**
+   * Reads a {@link SymbolSnapshot} previously {@linkplain #write(Path) written} to the file identified by the supplied
+   * {@link Path}, returning an {@linkplain Optional#isEmpty() empty <code>Optional</code>} if there is no such file, if
+   * it is truncated or corrupt or was written in an unknown format, or if its {@linkplain #fingerprint() fingerprint}
+   * is not the {@linkplain #currentFingerprint() current environment's fingerprint}.
+   *
+   * @param p a {@link Path}; must not be {@code null}
+   *
+   * @return a non-{@code null} {@link Optional}
+   *
+   * @exception NullPointerException if {@code p} is {@code null}
+   *
+   * @exception IOException if an input/output error occurs
+   *
+   * @see #write(Path)
+   */
+  public static final Optional<SymbolSnapshot> read(final Path p) throws IOException {
+    try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(p)))) {
+      if (in.readInt() != MAGIC || in.readInt() != FORMAT) {
+        return Optional.empty();
+      }
+      final String fingerprint = in.readUTF();
+      if (!fingerprint.equals(currentFingerprint())) {
+        return Optional.empty();
+      }
+      final int typeCount = in.readInt();
+      if (typeCount < 0) {
+        return Optional.empty();
+      }
+      final List<TypeFacts> types = new ArrayList<>(capacity(typeCount));
+      for (int i = 0; i < typeCount; i++) {
+        final String name = in.readUTF();
+        final ElementKind kind = kind(in.readUTF());
+        final int accessFlags = in.readInt();
+        final String binaryName = in.readUTF();
+        final String descriptor = in.readUTF();
+        final String signature = readNullableUTF(in);
+        final int supertypeCount = in.readInt();
+        if (kind == null || supertypeCount < 0) {
+          return Optional.empty();
+        }
+        final List<String> supertypes = new ArrayList<>(capacity(supertypeCount));
+        for (int j = 0; j < supertypeCount; j++) {
+          supertypes.add(in.readUTF());
+        }
+        final int memberCount = in.readInt();
+        if (memberCount < 0) {
+          return Optional.empty();
+        }
+        final List<MemberFacts> members = new ArrayList<>(capacity(memberCount));
+        for (int j = 0; j < memberCount; j++) {
+          final ElementKind memberKind = kind(in.readUTF());
+          if (memberKind == null) {
+            return Optional.empty();
+          }
+          members.add(new MemberFacts(memberKind, in.readUTF(), in.readInt(), in.readUTF(), readNullableUTF(in)));
+        }
+        types.add(new TypeFacts(name, kind, accessFlags, binaryName, descriptor, signature, supertypes, members));
+      }
+      return Optional.of(new SymbolSnapshot(fingerprint, types));
+    } catch (final EOFException | NoSuchFileException | UTFDataFormatException e) {
+      return Optional.empty();
+    }
+  }
+
+  // Returns an initial capacity for a list of count elements read from a (possibly corrupt) file, so that a huge count
+  // cannot exhaust memory before the end of the file is reached.
+  private static final int capacity(final int count) {
+    return Math.min(count, 1024);
+  }
+
+  // Returns the ElementKind with the supplied name, or null if there is none.
+  private static final ElementKind kind(final String name) {
+    try {
+      return ElementKind.valueOf(name);
+    } catch (final IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private static final String signature(final Element e, final Domain d) {
+    try {
+      return Signatures.signature(e, d);
+    } catch (final IllegalArgumentException e0) {
+      // e.g. annotation interfaces
+      return null;
+    }
+  }
+
+  private static final void update(final MessageDigest md, final String s) {
+    md.update(s.getBytes(StandardCharsets.UTF_8));
+    md.update((byte)0);
+  }
+
+  // Non-private for testing only.
+  static final void update(final MessageDigest md, final Path p) {
+    try {
+      final BasicFileAttributes a = Files.readAttributes(p, BasicFileAttributes.class);
+      if (a.isDirectory()) {
+        // Rewriting a file beneath a directory changes neither the directory's size nor its modification time, so
+        // every regular file beneath it is accounted for instead.
+        update(md, "directory");
+        try (final Stream<Path> s = Files.find(p, Integer.MAX_VALUE, (f, fa) -> fa.isRegularFile())) {
+          for (final Path f : (Iterable<Path>)s.sorted()::iterator) {
+            update(md, "entry=" + p.relativize(f));
+            update(md, Files.readAttributes(f, BasicFileAttributes.class));
+          }
+        }
+      } else {
+        update(md, a);
+      }
+    } catch (final NoSuchFileException e) {
+      update(md, "absent");
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e.getMessage(), e);
+    }
+  }
+
+  private static final void update(final MessageDigest md, final BasicFileAttributes a) {
+    update(md, "size=" + a.size() + ", lastModified=" + a.lastModifiedTime().toMillis());
+  }
+
+  private static final String readNullableUTF(final DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readUTF() : null;
+  }
+
+  private static final void writeNullableUTF(final DataOutputStream out, final String s) throws IOException {
+    if (s == null) {
+      out.writeBoolean(false);
+    } else {
+      out.writeBoolean(true);
+      out.writeUTF(s);
+    }
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  /**
+   * Value-typed facts about a type.
+   *
+   * @param name the canonical name of the type; must not be {@code null}
+   *
+   * @param kind the {@link ElementKind} of the type; must not be {@code null}
+   *
+   * @param accessFlags the {@linkplain AccessFlags#accessFlags(Element, Domain) access flags} of the type
+   *
+   * @param binaryName the binary name of the type; must not be {@code null}
+   *
+   * @param descriptor the descriptor of the type; must not be {@code null}
+   *
+   * @param signature the {@linkplain Signatures#signature(Element, Domain) signature} of the type; may be {@code null}
+   *
+   * @param directSupertypes the binary names of the direct supertypes of the type; must not be {@code null}
+   *
+   * @param members {@link MemberFacts} describing the constructors, enum constants, fields and methods declared by the
+   * type; must not be {@code null}
+   *
+   * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+   */
+  public static final record TypeFacts(String name,
+                                       ElementKind kind,
+                                       int accessFlags,
+                                       String binaryName,
+                                       String descriptor,
+                                       String signature,
+                                       List<String> directSupertypes,
+                                       List<MemberFacts> members) {
+
+    /**
+     * Creates a new {@link TypeFacts}.
+     *
+     * @param name the canonical name of the type; must not be {@code null}
+     *
+     * @param kind the {@link ElementKind} of the type; must not be {@code null}
+     *
+     * @param accessFlags the {@linkplain AccessFlags#accessFlags(Element, Domain) access flags} of the type
+     *
+     * @param binaryName the binary name of the type; must not be {@code null}
+     *
+     * @param descriptor the descriptor of the type; must not be {@code null}
+     *
+     * @param signature the {@linkplain Signatures#signature(Element, Domain) signature} of the type; may be {@code
+     * null}
+     *
+     * @param directSupertypes the binary names of the direct supertypes of the type; must not be {@code null}
+     *
+     * @param members {@link MemberFacts} describing the constructors, enum constants, fields and methods declared by
+     * the type; must not be {@code null}
+     *
+     * @exception NullPointerException if any argument that must not be {@code null} is {@code null}
+     */
+    public TypeFacts {
+      requireNonNull(name, "name");
+      requireNonNull(kind, "kind");
+      requireNonNull(binaryName, "binaryName");
+      requireNonNull(descriptor, "descriptor");
+      directSupertypes = List.copyOf(directSupertypes);
+      members = List.copyOf(members);
+    }
+
+  }
+
+  /**
+   * Value-typed facts about a member of a type.
+   *
+   * @param kind the {@link ElementKind} of the member; must not be {@code null}
+   *
+   * @param name the simple name of the member; must not be {@code null}
+   *
+   * @param accessFlags the {@linkplain AccessFlags#accessFlags(Element, Domain) access flags} of the member
+   *
+   * @param descriptor the descriptor of the member; must not be {@code null}
+   *
+   * @param signature the {@linkplain Signatures#signature(Element, Domain) signature} of the member; may be {@code
+   * null}
+   *
+   * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+   */
+  public static final record MemberFacts(ElementKind kind, String name, int accessFlags, String descriptor, String signature) {
+
+    /**
+     * Creates a new {@link MemberFacts}.
+     *
+     * @param kind the {@link ElementKind} of the member; must not be {@code null}
+     *
+     * @param name the simple name of the member; must not be {@code null}
+     *
+     * @param accessFlags the {@linkplain AccessFlags#accessFlags(Element, Domain) access flags} of the member
+     *
+     * @param descriptor the descriptor of the member; must not be {@code null}
+     *
+     * @param signature the {@linkplain Signatures#signature(Element, Domain) signature} of the member; may be {@code
+     * null}
+     *
+     * @exception NullPointerException if any argument that must not be {@code null} is {@code null}
+     */
+    public MemberFacts {
+      requireNonNull(kind, "kind");
+      requireNonNull(name, "name");
+      requireNonNull(descriptor, "descriptor");
+    }
+
+  }
+
+}
@@ -0,0 +1,253 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct;
+
+import java.util.Iterator;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * A bounded, concurrent cache of the results of binary type relations ({@linkplain Domain#assignable(TypeMirror,
+ * TypeMirror) assignability}, {@linkplain Domain#contains(TypeMirror, TypeMirror) containment}, {@linkplain
+ * Domain#sameType(TypeMirror, TypeMirror) sameness} and {@linkplain Domain#subtype(TypeMirror, TypeMirror)
+ * subtyping}) that a {@link DefaultDomain} may use to avoid repeatedly locking and consulting its underlying {@link
+ * javax.lang.model.util.Types} implementation.
+ *
+ * <p>Entries are keyed by the identities of the (unwrapped) {@link TypeMirror}s involved. When the number of entries
+ * exceeds the {@linkplain #maximumSize() maximum size}, a batch of arbitrary entries, whose size is governed by the
+ * {@linkplain #evictionBatchSize() eviction batch size}, is evicted.</p>
+ *
+ * <p>Instances of this class are safe for concurrent use by multiple threads.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+ *
+ * @see DefaultDomain#DefaultDomain(javax.annotation.processing.ProcessingEnvironment,
+ * java.util.concurrent.locks.Lock, TypeRelationCache)
+ */
+public final class TypeRelationCache {
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final int maximumSize;
+
+  private final int evictionBatchSize;
+
+  private final ConcurrentHashMap<Key, Boolean> map;
+
+  private final AtomicBoolean evicting;
+
+  private final LongAdder hits;
+
+  private final LongAdder misses;
+
+  private final LongAdder evictions;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new {@link TypeRelationCache} that will hold at most (approximately) the supplied number of entries and
+   * that will evict one eighth of that number of entries at a time when full.
+   *
+   * @param maximumSize the maximum number of entries; must be greater than {@code 0}
+   *
+   * @exception IllegalArgumentException if {@code maximumSize} is less than {@code 1}
+   *
+   * @see #TypeRelationCache(int, int)
+   */
+  public TypeRelationCache(final int maximumSize) {
+    this(maximumSize, Math.max(1, maximumSize / 8));
+  }
+
+  /**
+   * Creates a new {@link TypeRelationCache}.
+   *
+   * @param maximumSize the maximum number of entries; must be greater than {@code 0}
+   *
+   * @param evictionBatchSize the number of entries to evict when the number of entries exceeds {@code maximumSize};
+   * must be greater than {@code 0} and less than or equal to {@code maximumSize}
+   *
+   * @exception IllegalArgumentException if either argument is out of range
+   */
+  public TypeRelationCache(final int maximumSize, final int evictionBatchSize) {
+    super();
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException("maximumSize: " + maximumSize);
+    } else if (evictionBatchSize < 1 || evictionBatchSize > maximumSize) {
+      throw new IllegalArgumentException("evictionBatchSize: " + evictionBatchSize);
+    }
+    this.maximumSize = maximumSize;
+    this.evictionBatchSize = evictionBatchSize;
+    this.map = new ConcurrentHashMap<>();
+    this.evicting = new AtomicBoolean();
+    this.hits = new LongAdder();
+    this.misses = new LongAdder();
+    this.evictions = new LongAdder();
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Removes all entries from this {@link TypeRelationCache}.
+   *
+   * <p>Statistics are not reset.</p>
+   */
+  public final void clear() {
+    this.map.clear();
+  }
+
+  /**
+   * Returns the number of entries that will be evicted when this {@link TypeRelationCache} is full.
+   *
+   * @return the number of entries that will be evicted when this {@link TypeRelationCache} is full; always greater
+   * than {@code 0}
+   */
+  public final int evictionBatchSize() {
+    return this.evictionBatchSize;
+  }
+
+  /**
+   * Returns the number of entries that have been evicted from this {@link TypeRelationCache}.
+   *
+   * @return the number of entries that have been evicted
+   */
+  public final long evictions() {
+    return this.evictions.sum();
+  }
+
+  /**
+   * Returns the number of lookups that found a cached result.
+   *
+   * @return the number of lookups that found a cached result
+   */
+  public final long hits() {
+    return this.hits.sum();
+  }
+
+  /**
+   * Returns the maximum number of entries this {@link TypeRelationCache} will (approximately) hold.
+   *
+   * @return the maximum number of entries; always greater than {@code 0}
+   */
+  public final int maximumSize() {
+    return this.maximumSize;
+  }
+
+  /**
+   * Returns the number of lookups that did not find a cached result.
+   *
+   * @return the number of lookups that did not find a cached result
+   */
+  public final long misses() {
+    return this.misses.sum();
+  }
+
+  /**
+   * Returns the current number of entries in this {@link TypeRelationCache}.
+   *
+   * @return the current number of entries
+   */
+  public final long size() {
+    return this.map.mappingCount();
+  }
+
+  @Override // Object
+  public final String toString() {
+    return
+      this.getClass().getSimpleName() +
+      "[size=" + this.size() +
+      ", maximumSize=" + this.maximumSize +
+      ", hits=" + this.hits() +
+      ", misses=" + this.misses() +
+      ", evictions=" + this.evictions() +
+      "]";
+  }
+
+  // Returns null on a miss.
+  final Boolean get(final Relation r, final TypeMirror t0, final TypeMirror t1) {
+    final Boolean rv = this.map.get(new Key(r, t0, t1));
+    if (rv == null) {
+      this.misses.increment();
+    } else {
+      this.hits.increment();
+    }
+    return rv;
+  }
+
+  final void put(final Relation r, final TypeMirror t0, final TypeMirror t1, final boolean result) {
+    this.map.put(new Key(r, t0, t1), Boolean.valueOf(result));
+    if (this.map.mappingCount() > this.maximumSize && this.evicting.compareAndSet(false, true)) {
+      try {
+        final Iterator<Key> i = this.map.keySet().iterator();
+        for (int n = 0; n < this.evictionBatchSize && i.hasNext(); n++) {
+          i.next();
+          i.remove();
+          this.evictions.increment();
+        }
+      } finally {
+        this.evicting.set(false);
+      }
+    }
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  enum Relation {
+    ASSIGNABLE,
+    CONTAINS,
+    SAME_TYPE,
+    SUBTYPE;
+  }
+
+  // Identity-based; javax.lang.model makes no guarantees about TypeMirror equality.
+  private static final record Key(Relation r, TypeMirror t0, TypeMirror t1) {
+
+    @Override // Record
+    public final int hashCode() {
+      return (31 * (31 * this.r().hashCode() + System.identityHashCode(this.t0()))) + System.identityHashCode(this.t1());
+    }
+
+    @Override // Record
+    public final boolean equals(final Object other) {
+      return
+        other == this ||
+        other instanceof Key k &&
+        this.r() == k.r() &&
+        this.t0() == k.t0() &&
+        this.t1() == k.t1();
+    }
+
+  }
+
+}
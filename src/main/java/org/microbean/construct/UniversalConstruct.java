@@ -20,12 +20,9 @@ import java.lang.constant.Constable;
 import java.lang.constant.ConstantDesc;
 import java.lang.constant.DynamicConstantDesc;
 
-import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-import java.util.concurrent.CopyOnWriteArrayList;
-
 import java.util.function.Supplier;
 
 import javax.lang.model.AnnotatedConstruct;
@@ -91,8 +88,12 @@ public abstract sealed class UniversalConstruct<T extends AnnotatedConstruct>
   // Eventually this should become a lazy constant/stable value
   private volatile String s;
 
-  // Eventually this should become a lazy constant/stable value
-  private volatile CopyOnWriteArrayList<AnnotationMirror> annotations;
+  // Immutable when not null, so it can be shared by copies and clones. Replaced wholesale; never modified in place.
+  private volatile List<AnnotationMirror> annotations;
+
+  // Set by a Canonicalizer before this UniversalConstruct is published to other threads; never cleared. Canonical
+  // UniversalConstructs are shared by all callers, so their annotations must not be replaced. volatile not needed.
+  private boolean canonical;
 
 
   /*
@@ -114,10 +115,7 @@ public abstract sealed class UniversalConstruct<T extends AnnotatedConstruct>
     this.domain = uc.domain;
     this.delegateSupplier = uc.delegateSupplier;
     this.s = uc.s;
-    final Collection<? extends AnnotationMirror> annotations = uc.annotations; // volatile read
-    if (annotations != null) {
-      this.annotations = new CopyOnWriteArrayList<>(annotations);
-    }
+    this.annotations = uc.annotations; // volatile write, read
   }
 
   /**
@@ -156,12 +154,12 @@ public abstract sealed class UniversalConstruct<T extends AnnotatedConstruct>
     super();
     this.domain = requireNonNull(domain, "domain");
     if (annotations != null) {
-      this.annotations = new CopyOnWriteArrayList<>(annotations);
+      this.annotations = List.copyOf(annotations);
     }
     final T unwrappedDelegate = unwrap(requireNonNull(delegate, "delegate"));
     if (unwrappedDelegate == delegate) {
       this.delegateSupplier = () -> {
-        try (var lock = domain.lock()) {
+        try (var lock = unwrappedDelegate instanceof Element e ? domain.lock(e) : domain.lock()) {
           // No unwrapping happened so do symbol completion early; most common case.
           if (unwrappedDelegate instanceof Element) {
             ((Element)unwrappedDelegate).getModifiers();
@@ -194,9 +192,8 @@ public abstract sealed class UniversalConstruct<T extends AnnotatedConstruct>
     } catch (final CloneNotSupportedException e) {
       throw new AssertionError(e.getMessage(), e);
     }
-    if (clone.annotations != null) {
-      clone.annotations = new CopyOnWriteArrayList<>(this.getAnnotationMirrors());
-    }
+    // The annotations, if any, are immutable and so are shared. A clone is never canonical.
+    clone.canonical = false;
     return clone;
   }
 
@@ -266,23 +263,29 @@ public abstract sealed class UniversalConstruct<T extends AnnotatedConstruct>
   }
 
   /**
-   * Returns a non-{@code null}, determinate, <strong>mutable</strong>, thread-safe {@link List} of {@link
-   * AnnotationMirror} instances representing the annotations to be considered <dfn>directly present</dfn> on this
-   * {@link UniversalConstruct} implementation.
+   * Returns a non-{@code null}, determinate, immutable {@link List} of {@link AnnotationMirror} instances representing
+   * the annotations to be considered <dfn>directly present</dfn> on this {@link UniversalConstruct} implementation.
    *
-   * @return a non-{@code null}, determinate, <strong>mutable</strong> thread-safe {@link List} of {@link
-   * AnnotationMirror}s
+   * <p>The annotations of a {@link UniversalConstruct} may be {@linkplain #replaceAnnotationMirrors(List) replaced},
+   * but the {@link List} returned by this method never changes.</p>
+   *
+   * @return a non-{@code null}, determinate, immutable {@link List} of {@link AnnotationMirror}s
    *
    * @see AnnotatedConstruct#getAnnotationMirrors()
+   *
+   * @see #replaceAnnotationMirrors(List)
    */
   @Override // AnnotatedConstruct
   @SuppressWarnings("try")
   public final List<AnnotationMirror> getAnnotationMirrors() {
-    CopyOnWriteArrayList<AnnotationMirror> annotations = this.annotations; // volatile read
+    List<AnnotationMirror> annotations = this.annotations; // volatile read
     if (annotations == null) {
+      final T delegate = this.delegate();
+      // Completion does not establish everything annotation access needs (javac attributes annotations lazily), so an
+      // open completion gate is not enough; take the domain lock.
       try (var lock = this.domain().lock()) {
         this.annotations = annotations = // volatile write
-          new CopyOnWriteArrayList<>(UniversalAnnotation.of(this.delegate().getAnnotationMirrors(), this.domain()));
+          List.copyOf(UniversalAnnotation.of(delegate.getAnnotationMirrors(), this.domain()));
       }
     }
     return annotations;
@@ -294,15 +297,15 @@ public abstract sealed class UniversalConstruct<T extends AnnotatedConstruct>
    *
    * <p>See the specification for the {@link AnnotatedConstruct#getAnnotation(Class)} method for important details.</p>
    *
-   * <p>{@link UniversalConstruct} implementations deliberately permit modification of their {@linkplain
-   * #getAnnotationMirrors() annotations}. Consequently, this override first checks to see if there is at least one
-   * {@link AnnotationMirror} whose {@linkplain AnnotationMirror#getAnnotationType() annotation type} is declared by a
-   * {@link javax.lang.model.element.TypeElement} whose {@linkplain
+   * <p>{@link UniversalConstruct} implementations deliberately permit {@linkplain #replaceAnnotationMirrors(List)
+   * replacement} of their {@linkplain #getAnnotationMirrors() annotations}. Consequently, this override first checks to
+   * see if there is at least one {@link AnnotationMirror} whose {@linkplain AnnotationMirror#getAnnotationType()
+   * annotation type} is declared by a {@link javax.lang.model.element.TypeElement} whose {@linkplain
    * javax.lang.model.element.TypeElement#getQualifiedName() qualified name} is {@linkplain
    * javax.lang.model.element.Name#contentEquals(CharSequence) equal to} the {@linkplain Class#getCanonicalName()
    * canonical name} of the supplied {@link Class}. If there is, then the {@link AnnotatedConstruct#getAnnotation(Class)
-   * getAnnotation(Class)} method is invoked on the {@linkplain #delegate() delegate} and its result is
-   * returned. Otherwise, {@code null} is returned.</p>
+   * getAnnotation(Class)} method is invoked on the {@linkplain #delegate() delegate} and its result is returned.
+   * Otherwise, {@code null} is returned.</p>
    *
    * <p>There are circumstances where the {@link Annotation} returned by this method may not accurately reflect a
    * synthetic annotation added to this {@link AnnotatedConstruct} implementation's {@linkplain #getAnnotationMirrors()
@@ -346,10 +349,10 @@ public abstract sealed class UniversalConstruct<T extends AnnotatedConstruct>
    * <p>See the specification for the {@link AnnotatedConstruct#getAnnotationsByType(Class)} method for important
    * details.</p>
    *
-   * <p>{@link UniversalConstruct} implementations deliberately permit modification of their {@linkplain
-   * #getAnnotationMirrors() annotations}. Consequently, this override first checks to see if there is at least one
-   * {@link AnnotationMirror} whose {@linkplain AnnotationMirror#getAnnotationType() annotation type} is declared by a
-   * {@link javax.lang.model.element.TypeElement} whose {@linkplain
+   * <p>{@link UniversalConstruct} implementations deliberately permit {@linkplain #replaceAnnotationMirrors(List)
+   * replacement} of their {@linkplain #getAnnotationMirrors() annotations}. Consequently, this override first checks to
+   * see if there is at least one {@link AnnotationMirror} whose {@linkplain AnnotationMirror#getAnnotationType()
+   * annotation type} is declared by a {@link javax.lang.model.element.TypeElement} whose {@linkplain
    * javax.lang.model.element.TypeElement#getQualifiedName() qualified name} is {@linkplain
    * javax.lang.model.element.Name#contentEquals(CharSequence) equal to} the {@linkplain Class#getCanonicalName()
    * canonical name} of the supplied {@link Class}. If there is, then the {@link
@@ -403,6 +406,44 @@ public abstract sealed class UniversalConstruct<T extends AnnotatedConstruct>
     return this.delegate().hashCode();
   }
 
+  /**
+   * Replaces the annotations to be considered <dfn>directly present</dfn> on this {@link UniversalConstruct}
+   * implementation with an immutable copy of the supplied {@link List}.
+   *
+   * <p>{@link List}s previously returned by the {@link #getAnnotationMirrors()} method are unaffected. Copies and
+   * {@linkplain #clone() clones} of this {@link UniversalConstruct} are unaffected.</p>
+   *
+   * <p>A {@link UniversalConstruct} that has been {@linkplain Canonicalizer canonicalized} is shared by every caller
+   * of its {@linkplain #domain() domain}, and so its annotations cannot be replaced. Use {@link Domain#annotate(List,
+   * Element)} or {@link Domain#annotate(List, TypeMirror)} instead, which return a new, non-canonical {@link
+   * UniversalConstruct} in such cases.</p>
+   *
+   * @param annotations a {@link List} of {@link AnnotationMirror}s; must not be {@code null} and must not contain {@code
+   * null} elements
+   *
+   * @exception NullPointerException if {@code annotations} is {@code null} or contains {@code null} elements
+   *
+   * @exception UnsupportedOperationException if this {@link UniversalConstruct} is canonical
+   *
+   * @see #getAnnotationMirrors()
+   *
+   * @see Domain#annotate(List, Element)
+   *
+   * @see Domain#annotate(List, TypeMirror)
+   */
+  public final void replaceAnnotationMirrors(final List<? extends AnnotationMirror> annotations) {
+    if (this.canonical) {
+      throw new UnsupportedOperationException("canonical: " + this);
+    }
+    this.annotations = List.copyOf(annotations); // volatile write
+  }
+
+  // Marks this UniversalConstruct as canonical so that its annotations can no longer be replaced. Called by
+  // Canonicalizer before this UniversalConstruct is published.
+  final void canonicalize() {
+    this.canonical = true;
+  }
+
   @Override // Object
   @SuppressWarnings("try")
   public final String toString() {
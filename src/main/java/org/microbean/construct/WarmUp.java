@@ -0,0 +1,87 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct;
+
+import java.time.Duration;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An immutable record of the timings of the phases of a {@linkplain
+ * RuntimeProcessingEnvironmentSupplier#warmUp(java.util.concurrent.locks.Lock, java.util.Collection) warm-up} of a
+ * {@link RuntimeProcessingEnvironmentSupplier}.
+ *
+ * @param bootstrap the time that elapsed between the start of the underlying compilation task and the moment its {@link
+ * javax.annotation.processing.ProcessingEnvironment} became available; must not be {@code null}
+ *
+ * @param completions an immutable {@link Map} of the names of the packages and types that were pre-completed, in the
+ * order in which they were completed, to the time it took to complete each of them; must not be {@code null}
+ *
+ * @param unresolved an immutable {@link List} of the names that did not denote any package or type; must not be {@code
+ * null}
+ *
+ * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+ *
+ * @see RuntimeProcessingEnvironmentSupplier#warmUp(java.util.concurrent.locks.Lock, java.util.Collection)
+ */
+public final record WarmUp(Duration bootstrap, Map<String, Duration> completions, List<String> unresolved) {
+
+  /**
+   * Creates a new {@link WarmUp}.
+   *
+   * @param bootstrap the time that elapsed between the start of the underlying compilation task and the moment its
+   * {@link javax.annotation.processing.ProcessingEnvironment} became available; must not be {@code null}
+   *
+   * @param completions a {@link Map} of the names of the packages and types that were pre-completed to the time it
+   * took to complete each of them; must not be {@code null}; its iteration order is preserved
+   *
+   * @param unresolved a {@link List} of the names that did not denote any package or type; must not be {@code null}
+   *
+   * @exception NullPointerException if any argument is {@code null}
+   */
+  public WarmUp {
+    requireNonNull(bootstrap, "bootstrap");
+    completions = Collections.unmodifiableMap(new LinkedHashMap<>(completions));
+    unresolved = List.copyOf(unresolved);
+  }
+
+  /**
+   * Returns the sum of the time taken to complete all pre-completed packages and types.
+   *
+   * @return the sum of the time taken to complete all pre-completed packages and types; never {@code null}
+   */
+  public final Duration completion() {
+    Duration sum = Duration.ZERO;
+    for (final Duration d : this.completions().values()) {
+      sum = sum.plus(d);
+    }
+    return sum;
+  }
+
+  /**
+   * Returns the sum of the {@linkplain #bootstrap() bootstrap time} and the {@linkplain #completion() completion time}.
+   *
+   * @return the sum of the {@linkplain #bootstrap() bootstrap time} and the {@linkplain #completion() completion time};
+   * never {@code null}
+   */
+  public final Duration total() {
+    return this.bootstrap().plus(this.completion());
+  }
+
+}
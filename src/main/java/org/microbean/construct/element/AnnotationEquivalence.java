@@ -0,0 +1,299 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct.element;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import java.util.function.Predicate;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+
+import org.microbean.construct.element.AnnotationInterfaceDescriptor.ValueKind;
+
+import static java.util.Objects.requireNonNull;
+
+import static javax.lang.model.element.ElementKind.ANNOTATION_TYPE;
+
+/**
+ * An equivalence relation over annotations of a single annotation interface, together with a consistent hash function,
+ * compiled once for a given {@link Predicate} selecting the annotation interface elements that participate in them.
+ *
+ * <p>An {@link AnnotationEquivalence} implements the same relation as {@link
+ * AnnotationMirrors#sameAnnotation(AnnotationMirror, AnnotationMirror, Predicate)}, and the same hash function as
+ * {@link AnnotationMirrors#hashCode(AnnotationMirror, Predicate)}, but it already knows which elements are included and
+ * how their values are to be compared, so that comparing or hashing annotations loops over their values without
+ * evaluating its {@link Predicate} or allocating. This is useful when many annotations of one annotation interface are
+ * compared using one {@link Predicate}, as when qualifiers are matched while excluding their non-binding elements.</p>
+ *
+ * <p>An {@link AnnotationEquivalence}'s {@link Predicate} is evaluated exactly once for each element of its annotation
+ * interface, when the {@link AnnotationEquivalence} is compiled, against that element as it was represented when its
+ * annotation interface was first described, and the result is reused for annotations whose elements are represented
+ * otherwise. The {@link Predicate} must therefore depend only on the element's name and signature, and not on how it
+ * happens to be represented (for example, as a {@link UniversalElement} or not) or on its identity.</p>
+ *
+ * <p>Instances of this class are immutable and safe for concurrent use by multiple threads.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+ *
+ * @see #of(TypeElement, Predicate)
+ *
+ * @see AnnotationMirrors#sameAnnotation(AnnotationMirror, AnnotationMirror, Predicate)
+ *
+ * @see AnnotationMirrors#hashCode(AnnotationMirror, Predicate)
+ */
+public final class AnnotationEquivalence {
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final AnnotationInterfaceDescriptor d;
+
+  private final Predicate<? super ExecutableElement> p;
+
+  // The indices of the included elements, in declaration order.
+  private final int[] indices;
+
+  private final SameAnnotationValueVisitor visitor;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  AnnotationEquivalence(final AnnotationInterfaceDescriptor d, final Predicate<? super ExecutableElement> p) {
+    super();
+    this.d = d;
+    this.p = p;
+    final int size = d.size();
+    int[] indices = new int[size];
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      if (p == null || p.test(d.element(i))) {
+        indices[count++] = i;
+      }
+    }
+    this.indices = count == size ? indices : Arrays.copyOf(indices, count);
+    this.visitor = new SameAnnotationValueVisitor(p);
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Returns {@code true} if and only if the supplied {@link AnnotationMirror}s are annotations of this {@link
+   * AnnotationEquivalence}'s annotation interface that represent the same (underlying, otherwise opaque) annotation, as
+   * far as its included elements are concerned.
+   *
+   * @param a0 an {@link AnnotationMirror}; may be {@code null}
+   *
+   * @param a1 an {@link AnnotationMirror}; may be {@code null}
+   *
+   * @return {@code true} if {@code a0} and {@code a1} are identical, or if they are annotations of this {@link
+   * AnnotationEquivalence}'s annotation interface whose included elements have the same values; {@code false} otherwise
+   *
+   * @see AnnotationMirrors#sameAnnotation(AnnotationMirror, AnnotationMirror, Predicate)
+   */
+  public final boolean equivalent(final AnnotationMirror a0, final AnnotationMirror a1) {
+    if (a0 == a1) {
+      return true;
+    } else if (a0 == null || a1 == null) {
+      return false;
+    }
+    final AnnotationInterfaceDescriptor d0 = AnnotationInterfaceDescriptor.of(a0);
+    final AnnotationInterfaceDescriptor d1 = AnnotationInterfaceDescriptor.of(a1);
+    if (!this.describes(d0) || !this.describes(d1)) {
+      return false;
+    }
+    final AnnotationValue[] vs0 = d0.values(a0);
+    final AnnotationValue[] vs1 = d1.values(a1);
+    for (final int i : this.indices) {
+      if (!this.same(this.d.kind(i), this.d.isArray(i), vs0[i], vs1[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns a hashcode for the supplied {@link AnnotationMirror}, computed from the values of its included elements
+   * according as much as possible to the rules described in the {@link java.lang.annotation.Annotation#hashCode()}
+   * contract, that is consistent with the {@link #equivalent(AnnotationMirror, AnnotationMirror)} method.
+   *
+   * @param a an {@link AnnotationMirror}; may be {@code null} in which case {@code 0} will be returned
+   *
+   * @return a hashcode for the supplied {@link AnnotationMirror}
+   *
+   * @exception IllegalArgumentException if {@code a} is not an annotation of this {@link AnnotationEquivalence}'s
+   * annotation interface
+   *
+   * @see AnnotationMirrors#hashCode(AnnotationMirror, Predicate)
+   */
+  public final int hash(final AnnotationMirror a) {
+    if (a == null) {
+      return 0;
+    }
+    final AnnotationInterfaceDescriptor d = AnnotationInterfaceDescriptor.of(a);
+    if (!this.describes(d)) {
+      throw new IllegalArgumentException("a: " + a);
+    }
+    final AnnotationValue[] values = d.values(a);
+    int hashCode = 0;
+    for (final int i : this.indices) {
+      // "The hash code of an annotation is the sum of the hash codes of its members (including those with default
+      // values). The hash code of an annotation member is (127 times the hash code of the member-name as computed by
+      // String.hashCode()) XOR the hash code of the member-value."
+      hashCode += this.d.nameHashCode(i) ^ this.hash(this.d.kind(i), this.d.isArray(i), values[i]);
+    }
+    return hashCode;
+  }
+
+  // Returns the Predicate supplied at construction time, which may be null.
+  final Predicate<? super ExecutableElement> predicate() {
+    return this.p;
+  }
+
+  // Returns true if the supplied AnnotationInterfaceDescriptor describes this AnnotationEquivalence's annotation
+  // interface, possibly as represented differently (e.g. synthetically).
+  private final boolean describes(final AnnotationInterfaceDescriptor d) {
+    if (d == this.d) {
+      return true;
+    }
+    final int size = d.size();
+    if (size != this.d.size() || !d.qualifiedName().equals(this.d.qualifiedName())) {
+      return false;
+    }
+    for (int i = 0; i < size; i++) {
+      if (!d.name(i).equals(this.d.name(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private final boolean same(final ValueKind k, final boolean array, final AnnotationValue v0, final AnnotationValue v1) {
+    if (v0 == v1) {
+      return true;
+    } else if (v0 == null || v1 == null) {
+      return false; // erroneous
+    }
+    final Object o0 = v0.getValue();
+    final Object o1 = v1.getValue();
+    if (array) {
+      if (!(o0 instanceof List<?> l0) || !(o1 instanceof List<?> l1)) {
+        return this.visitor.visit(v0, o1); // erroneous
+      }
+      final int size = l0.size();
+      if (size != l1.size()) {
+        return false;
+      }
+      for (int i = 0; i < size; i++) {
+        // Yes, order is important (!)
+        if (!this.same(k, false, (AnnotationValue)l0.get(i), (AnnotationValue)l1.get(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    // "Two corresponding primitive typed members whose values are x and y are considered equal if x == y, unless their
+    // type is float or double", in which case Float#equals(Object) or Double#equals(Object) semantics apply; strings are
+    // compared with String#equals(Object).
+    if (k == ValueKind.VALUE) {
+      return Objects.equals(o0, o1);
+    } else if (k == ValueKind.ENUM && o0 instanceof VariableElement ve0 && o1 instanceof VariableElement ve1) {
+      // Both constants belong to the element's enum class.
+      return ve0.getSimpleName().contentEquals(ve1.getSimpleName());
+    } else if (k == ValueKind.ANNOTATION && o0 instanceof AnnotationMirror a0 && o1 instanceof AnnotationMirror a1) {
+      return a0 == a1 || AnnotationInterfaceDescriptor.of(a0).equivalence(this.p).equivalent(a0, a1);
+    }
+    return this.visitor.visit(v0, o1); // classes, and anything erroneous
+  }
+
+  private final int hash(final ValueKind k, final boolean array, final AnnotationValue v) {
+    if (v == null) {
+      return 0; // erroneous
+    }
+    final Object o = v.getValue();
+    if (array && o instanceof List<?> l) {
+      // See AnnotationValueHashcodeVisitor.
+      int hashCode = 1;
+      for (final Object e : l) {
+        hashCode = 31 * hashCode + this.hash(k, false, (AnnotationValue)e);
+      }
+      return hashCode;
+    }
+    if (k == ValueKind.VALUE) {
+      return o == null ? 0 : o.hashCode();
+    } else if (k == ValueKind.ANNOTATION && o instanceof AnnotationMirror a) {
+      return AnnotationValueHashcodeVisitor.hashCode(a, this.p);
+    }
+    return AnnotationValueHashcodeVisitor.hashCode(v, this.p);
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  /**
+   * Returns an {@link AnnotationEquivalence} for annotations of the supplied annotation interface that includes those
+   * of its elements that the supplied {@link Predicate} accepts.
+   *
+   * <p>The {@link AnnotationEquivalence} that includes all elements, and those returned for the first few other {@link
+   * Predicate}s, are retained and returned again for the same annotation interface and an equal (usually the identical)
+   * {@link Predicate}. Callers that supply a new {@link Predicate} on each call (for example, a capturing lambda) should
+   * instead retain the {@link AnnotationEquivalence}s they need.</p>
+   *
+   * @param annotationInterface a {@link TypeElement} representing an annotation interface; must not be {@code null};
+   * must return {@link javax.lang.model.element.ElementKind#ANNOTATION_TYPE ANNOTATION_TYPE} from its {@link
+   * TypeElement#getKind() getKind()} method
+   *
+   * @param p a {@link Predicate} that returns {@code true} if a given {@link ExecutableElement}, representing an
+   * annotation interface element, is to be included in comparison and hashing operations, and that depends only on
+   * that element's name and signature; may be {@code null} in which case it is as if {@code e -> true} were supplied
+   * instead
+   *
+   * @return a non-{@code null} {@link AnnotationEquivalence}
+   *
+   * @exception NullPointerException if {@code annotationInterface} is {@code null}
+   *
+   * @exception IllegalArgumentException if {@code annotationInterface} does not represent an annotation interface
+   */
+  public static final AnnotationEquivalence of(final TypeElement annotationInterface,
+                                               final Predicate<? super ExecutableElement> p) {
+    if (requireNonNull(annotationInterface, "annotationInterface").getKind() != ANNOTATION_TYPE) {
+      throw new IllegalArgumentException("annotationInterface: " + annotationInterface);
+    }
+    return AnnotationInterfaceDescriptor.of(annotationInterface).equivalence(p);
+  }
+
+  // Returns the AnnotationEquivalence for the interface of the supplied AnnotationMirror and the supplied Predicate.
+  static final AnnotationEquivalence of(final AnnotationMirror a, final Predicate<? super ExecutableElement> p) {
+    return AnnotationInterfaceDescriptor.of(a).equivalence(p);
+  }
+
+}
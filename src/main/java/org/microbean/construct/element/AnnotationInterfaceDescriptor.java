@@ -0,0 +1,402 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct.element;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.RetentionPolicy;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import java.util.function.Predicate;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.QualifiedNameable;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+
+import static java.util.Collections.unmodifiableSet;
+
+import static javax.lang.model.element.ElementKind.ANNOTATION_TYPE;
+
+import static javax.lang.model.type.TypeKind.ARRAY;
+
+import static javax.lang.model.util.ElementFilter.methodsIn;
+
+import static org.microbean.construct.UniversalConstruct.unwrap;
+
+// An immutable description of an annotation interface: its elements, in declaration order, with their names and
+// default values, and the facts its meta-annotations establish. Computed once per annotation interface, so that
+// comparing and hashing annotations (see SameAnnotationValueVisitor and AnnotationValueHashcodeVisitor) does not
+// re-walk its members and meta-annotations.
+//
+// Descriptors of annotation interfaces represented by UniversalElements are cached, by qualified name, in the map their
+// domain supplies (see PrimordialDomain#annotationInterfaces()), so that each compiler's annotation interfaces are
+// described in terms of that compiler's constructs, and are discarded along with them. A UniversalAnnotation also
+// remembers its descriptor, so that the map is consulted only once per annotation. Other annotation interfaces,
+// including synthetic ones, whose annotations may change, belong to no domain and are described afresh each time.
+final class AnnotationInterfaceDescriptor {
+
+
+  /*
+   * Static fields.
+   */
+
+
+  private static final Set<ElementType> EMPTY_ELEMENT_TYPES = unmodifiableSet(EnumSet.noneOf(ElementType.class));
+
+  // The number of AnnotationEquivalences for non-null Predicates that a descriptor retains. A Predicate is usually a
+  // constant, so few are ever compiled for one annotation interface; this bounds the damage of one that is not.
+  private static final int MAX_EQUIVALENCES = 8;
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final String qualifiedName;
+
+  private final ExecutableElement[] elements;
+
+  private final String[] names;
+
+  private final int[] nameHashCodes;
+
+  private final AnnotationValue[] defaultValues;
+
+  private final ValueKind[] kinds;
+
+  private final boolean[] arrays;
+
+  private final RetentionPolicy retentionPolicy;
+
+  private final boolean inherited;
+
+  private final Set<ElementType> targetElementTypes;
+
+  private final TypeElement repeatableContainer;
+
+  // The AnnotationEquivalence that includes all elements; racy single-check idiom (see equivalence(Predicate)).
+  private AnnotationEquivalence all;
+
+  // AnnotationEquivalences compiled for non-null Predicates, keyed by Predicate; at most MAX_EQUIVALENCES of them.
+  private final ConcurrentMap<Predicate<? super ExecutableElement>, AnnotationEquivalence> equivalences;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  private AnnotationInterfaceDescriptor(final TypeElement t) {
+    super();
+    this.qualifiedName = t.getQualifiedName().toString();
+    this.equivalences = new ConcurrentHashMap<>();
+    final List<? extends ExecutableElement> elements = methodsIn(t.getEnclosedElements());
+    final int size = elements.size();
+    this.elements = elements.toArray(new ExecutableElement[size]);
+    this.names = new String[size];
+    this.nameHashCodes = new int[size];
+    this.defaultValues = new AnnotationValue[size];
+    this.kinds = new ValueKind[size];
+    this.arrays = new boolean[size];
+    for (int i = 0; i < size; i++) {
+      final ExecutableElement ee = this.elements[i];
+      this.names[i] = ee.getSimpleName().toString();
+      // "The hash code of an annotation member is (127 times the hash code of the member-name as computed by
+      // String.hashCode()) XOR the hash code of the member-value."
+      this.nameHashCodes[i] = 127 * this.names[i].hashCode();
+      this.defaultValues[i] = ee.getDefaultValue();
+      TypeMirror rt = ee.getReturnType();
+      if (rt.getKind() == ARRAY && rt instanceof ArrayType at) {
+        this.arrays[i] = true;
+        rt = at.getComponentType();
+      }
+      this.kinds[i] = ValueKind.of(rt);
+    }
+    RetentionPolicy retentionPolicy = RetentionPolicy.CLASS;
+    boolean inherited = false;
+    Set<ElementType> targetElementTypes = EMPTY_ELEMENT_TYPES;
+    TypeElement repeatableContainer = null;
+    if (t.getKind() == ANNOTATION_TYPE) {
+      // Meta-annotation values are read from their explicit values, not via AnnotationMirrors#allAnnotationValues(),
+      // which would need the descriptors of the meta-annotations' interfaces (e.g. @Retention's, while it is itself
+      // being described).
+      for (final AnnotationMirror ma : t.getAnnotationMirrors()) {
+        switch (((QualifiedNameable)ma.getAnnotationType().asElement()).getQualifiedName().toString()) {
+        case "java.lang.annotation.Inherited" -> inherited = true;
+        case "java.lang.annotation.Repeatable" -> {
+          if (value(ma) instanceof DeclaredType dt && dt.asElement() instanceof TypeElement te) {
+            repeatableContainer = te;
+          }
+        }
+        case "java.lang.annotation.Retention" -> {
+          if (value(ma) instanceof VariableElement ve) {
+            retentionPolicy = RetentionPolicy.valueOf(ve.getSimpleName().toString());
+          }
+        }
+        case "java.lang.annotation.Target" -> {
+          if (value(ma) instanceof List<?> l && !l.isEmpty()) {
+            final Set<ElementType> s = EnumSet.noneOf(ElementType.class);
+            for (final Object o : l) {
+              s.add(ElementType.valueOf(((VariableElement)((AnnotationValue)o).getValue()).getSimpleName().toString()));
+            }
+            targetElementTypes = unmodifiableSet(s);
+          }
+        }
+        default -> {}
+        }
+      }
+    }
+    this.retentionPolicy = retentionPolicy;
+    this.inherited = inherited;
+    this.targetElementTypes = targetElementTypes;
+    this.repeatableContainer = repeatableContainer;
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  // Returns the ExecutableElement at the supplied index, represented as it was when the described interface was first
+  // described.
+  final ExecutableElement element(final int i) {
+    return this.elements[i];
+  }
+
+  // Returns the ExecutableElement at the supplied index, represented as the elements of the supplied AnnotationMirror,
+  // which must be an annotation of the described interface, are: as a UniversalElement if it is a UniversalAnnotation,
+  // and as an unwrapped element otherwise.
+  final ExecutableElement element(final AnnotationMirror a, final int i) {
+    final ExecutableElement ee = this.elements[i];
+    return a instanceof UniversalAnnotation ua ? UniversalElement.of(unwrap(ee), ua.domain()) : unwrap(ee);
+  }
+
+  // Returns the AnnotationEquivalence that compares and hashes annotations of the described interface using the supplied
+  // Predicate, which may be null, compiling it if necessary. The AnnotationEquivalence for the null Predicate, and those
+  // compiled for the first MAX_EQUIVALENCES other Predicates, are retained, so that callers alternating between
+  // Predicates do not recompile them on each call.
+  final AnnotationEquivalence equivalence(final Predicate<? super ExecutableElement> p) {
+    AnnotationEquivalence e;
+    if (p == null) {
+      e = this.all;
+      if (e == null) {
+        this.all = e = new AnnotationEquivalence(this, null); // safely published: all of its fields are final
+      }
+    } else {
+      e = this.equivalences.get(p);
+      if (e == null) {
+        e = new AnnotationEquivalence(this, p);
+        if (this.equivalences.size() < MAX_EQUIVALENCES) {
+          final AnnotationEquivalence prior = this.equivalences.putIfAbsent(p, e);
+          if (prior != null) {
+            e = prior;
+          }
+        }
+      }
+    }
+    return e;
+  }
+
+  // Returns true if the described interface is meta-annotated with @Inherited.
+  final boolean inherited() {
+    return this.inherited;
+  }
+
+  // Returns true if the element at the supplied index is array-typed.
+  final boolean isArray(final int i) {
+    return this.arrays[i];
+  }
+
+  // Returns the kind of the values (or, if it is array-typed, of the array components) of the element at the supplied
+  // index.
+  final ValueKind kind(final int i) {
+    return this.kinds[i];
+  }
+
+  // Returns the name of the element at the supplied index.
+  final String name(final int i) {
+    return this.names[i];
+  }
+
+  // Returns 127 times the hash code of the name of the element at the supplied index.
+  final int nameHashCode(final int i) {
+    return this.nameHashCodes[i];
+  }
+
+  // Returns the qualified name of the described interface.
+  final String qualifiedName() {
+    return this.qualifiedName;
+  }
+
+  // Returns the container annotation interface named by the described interface's @Repeatable meta-annotation, or
+  // null.
+  final TypeElement repeatableContainer() {
+    return this.repeatableContainer;
+  }
+
+  // Returns the RetentionPolicy established by the described interface's @Retention meta-annotation, or CLASS.
+  final RetentionPolicy retentionPolicy() {
+    return this.retentionPolicy;
+  }
+
+  // Returns the number of elements of the described interface.
+  final int size() {
+    return this.elements.length;
+  }
+
+  // Returns the immutable ElementTypes established by the described interface's @Target meta-annotation, or an empty
+  // Set.
+  final Set<ElementType> targetElementTypes() {
+    return this.targetElementTypes;
+  }
+
+  // Returns an array, which must not be modified, of the values, explicit or default, of the supplied AnnotationMirror,
+  // which must be an annotation of the described interface, indexed as its elements are. UniversalAnnotations and
+  // SyntheticAnnotationMirrors, whose values cannot change, compute theirs only once.
+  final AnnotationValue[] values(final AnnotationMirror a) {
+    return switch (a) {
+    case UniversalAnnotation ua -> ua.values(this);
+    case SyntheticAnnotationMirror sam -> sam.values(this);
+    default -> this.computeValues(a);
+    };
+  }
+
+  // Returns a new array of the values, explicit or default, of the supplied AnnotationMirror, which must be an
+  // annotation of the described interface, indexed as its elements are. Explicit values are matched to elements by
+  // (unwrapped) identity or, failing that, by name. An element of an erroneous annotation may lack a value, in which
+  // case the array will contain null at its index.
+  final AnnotationValue[] computeValues(final AnnotationMirror a) {
+    final AnnotationValue[] values = this.defaultValues.clone();
+    final Map<? extends ExecutableElement, ? extends AnnotationValue> explicitValues = a.getElementValues();
+    if (!explicitValues.isEmpty()) {
+      ENTRY_LOOP:
+      for (final Entry<? extends ExecutableElement, ? extends AnnotationValue> e : explicitValues.entrySet()) {
+        final ExecutableElement k = unwrap(e.getKey());
+        for (int i = 0; i < this.elements.length; i++) {
+          if (unwrap(this.elements[i]) == k) {
+            values[i] = e.getValue();
+            continue ENTRY_LOOP;
+          }
+        }
+        for (int i = 0; i < this.elements.length; i++) {
+          if (k.getSimpleName().contentEquals(this.names[i])) {
+            values[i] = e.getValue();
+            continue ENTRY_LOOP;
+          }
+        }
+      }
+    }
+    return values;
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  // Returns the AnnotationInterfaceDescriptor describing the interface of the supplied AnnotationMirror.
+  static final AnnotationInterfaceDescriptor of(final AnnotationMirror a) {
+    return
+      a instanceof UniversalAnnotation ua ?
+      ua.descriptor() :
+      of((TypeElement)a.getAnnotationType().asElement());
+  }
+
+  // Returns the AnnotationInterfaceDescriptor describing the supplied TypeElement, computing it if necessary.
+  static final AnnotationInterfaceDescriptor of(final TypeElement t) {
+    if (!(t instanceof UniversalElement ue)) {
+      return new AnnotationInterfaceDescriptor(t);
+    }
+    final ConcurrentMap<String, Object> m = ue.domain().annotationInterfaces();
+    final String k = ue.getQualifiedName().toString();
+    AnnotationInterfaceDescriptor d = (AnnotationInterfaceDescriptor)m.get(k);
+    if (d == null) {
+      // Deliberately not computeIfAbsent: computing may acquire the domain's lock.
+      d = new AnnotationInterfaceDescriptor(t);
+      final Object prior = m.putIfAbsent(k, d);
+      if (prior != null) {
+        d = (AnnotationInterfaceDescriptor)prior;
+      }
+    }
+    return d;
+  }
+
+  // Returns the value of the supplied AnnotationMirror's explicitly valued "value" element, or null.
+  private static final Object value(final AnnotationMirror a) {
+    for (final Entry<? extends ExecutableElement, ? extends AnnotationValue> e : a.getElementValues().entrySet()) {
+      if (e.getKey().getSimpleName().contentEquals("value")) {
+        return e.getValue().getValue();
+      }
+    }
+    return null;
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  // The kinds of values an annotation interface element (or, if it is array-typed, each of its components) may have,
+  // as far as comparing and hashing them is concerned.
+  static enum ValueKind {
+
+    // Primitives and Strings, compared with equals(Object) and hashed with hashCode(), as the
+    // java.lang.annotation.Annotation contract specifies.
+    VALUE,
+
+    // Enum constants, compared and hashed by simple name (the enum class being the element's).
+    ENUM,
+
+    // Annotations.
+    ANNOTATION,
+
+    // Classes, and anything erroneous: compared and hashed by SameAnnotationValueVisitor and
+    // AnnotationValueHashcodeVisitor.
+    OTHER;
+
+    private static final ValueKind of(final TypeMirror t) {
+      return switch (t.getKind()) {
+      case BOOLEAN, BYTE, CHAR, DOUBLE, FLOAT, INT, LONG, SHORT -> VALUE;
+      case DECLARED -> switch (((DeclaredType)t).asElement()) {
+        case TypeElement te when te.getKind() == ElementKind.ENUM -> ENUM;
+        case TypeElement te when te.getKind() == ANNOTATION_TYPE -> ANNOTATION;
+        case TypeElement te when te.getQualifiedName().contentEquals("java.lang.String") -> VALUE;
+        default -> OTHER;
+        };
+      default -> OTHER;
+      };
+    }
+
+  }
+
+}
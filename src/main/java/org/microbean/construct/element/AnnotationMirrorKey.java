@@ -0,0 +1,81 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct.element;
+
+import java.util.function.Predicate;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.ExecutableElement;
+
+import static java.util.Objects.requireNonNull;
+
+// Wraps an AnnotationMirror so that equality is AnnotationMirrors.sameAnnotation(AnnotationMirror, AnnotationMirror,
+// Predicate) and the hashcode is AnnotationMirrors.hashCode(AnnotationMirror, Predicate), computed once. Keys are
+// compared only with keys bearing the same Predicate (see AnnotationMirrorSet and AnnotationMirrorMap), using the
+// AnnotationEquivalence compiled for it, which is retained so that it is not sought again on each comparison.
+final class AnnotationMirrorKey {
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final AnnotationMirror a;
+
+  private final AnnotationEquivalence e;
+
+  private final int hashCode;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  AnnotationMirrorKey(final AnnotationMirror a, final Predicate<? super ExecutableElement> p) {
+    super();
+    this.a = requireNonNull(a, "a");
+    this.e = AnnotationEquivalence.of(a, p);
+    this.hashCode = AnnotationMirrors.hashCode(a, p);
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  final AnnotationMirror annotationMirror() {
+    return this.a;
+  }
+
+  @Override // Object
+  public final boolean equals(final Object other) {
+    return
+      other == this ||
+      other instanceof AnnotationMirrorKey k && k.hashCode == this.hashCode && this.e.equivalent(this.a, k.a);
+  }
+
+  @Override // Object
+  public final int hashCode() {
+    return this.hashCode;
+  }
+
+  @Override // Object
+  public final String toString() {
+    return this.a.toString();
+  }
+
+}
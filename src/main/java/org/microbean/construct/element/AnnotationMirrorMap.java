@@ -0,0 +1,214 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct.element;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import java.util.function.Predicate;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.ExecutableElement;
+
+/**
+ * A mutable {@link Map} whose keys are {@link AnnotationMirror}s, iterated in insertion order, in which two keys are
+ * considered equal if and only if they are {@linkplain AnnotationMirrors#sameAnnotation(AnnotationMirror,
+ * AnnotationMirror, Predicate) the same annotation}.
+ *
+ * <p>Hashing is {@linkplain AnnotationMirrors#hashCode(AnnotationMirror, Predicate) consistent} with that relation, so
+ * keys are found in constant expected time, and each key is hashed only once, when it is put or sought.</p>
+ *
+ * <p>Like a {@link java.util.TreeMap} with a custom {@link java.util.Comparator}, an {@link AnnotationMirrorMap} does
+ * not use {@link Object#equals(Object)} to compare its keys, and so is not a general-purpose {@link Map}: its {@link
+ * #equals(Object)} and {@link #hashCode()} methods are consistent only with those of other {@link
+ * AnnotationMirrorMap}s bearing the same {@link Predicate}.</p>
+ *
+ * <p>{@code null} keys are not permitted; {@code null} values are.</p>
+ *
+ * <p>Instances of this class are not safe for concurrent use by multiple threads.</p>
+ *
+ * @param <V> the type of the values
+ *
+ * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+ *
+ * @see AnnotationMirrors#sameAnnotation(AnnotationMirror, AnnotationMirror, Predicate)
+ *
+ * @see AnnotationMirrors#hashCode(AnnotationMirror, Predicate)
+ *
+ * @see AnnotationMirrorSet
+ */
+public final class AnnotationMirrorMap<V> extends AbstractMap<AnnotationMirror, V> {
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final Predicate<? super ExecutableElement> p;
+
+  private final Map<AnnotationMirrorKey, V> map;
+
+  private final Set<Entry<AnnotationMirror, V>> entrySet;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new, empty {@link AnnotationMirrorMap} that compares all annotation interface elements.
+   *
+   * @see #AnnotationMirrorMap(Predicate)
+   */
+  public AnnotationMirrorMap() {
+    this(null);
+  }
+
+  /**
+   * Creates a new, empty {@link AnnotationMirrorMap}.
+   *
+   * @param p a {@link Predicate} that returns {@code true} if a given {@link ExecutableElement}, representing an
+   * annotation interface element, is to be included in comparison and hashing operations; may be {@code null} in which
+   * case it is as if {@code e -> true} were supplied instead
+   */
+  public AnnotationMirrorMap(final Predicate<? super ExecutableElement> p) {
+    super();
+    this.p = p;
+    this.map = new LinkedHashMap<>();
+    this.entrySet = new EntrySet();
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  @Override // AbstractMap
+  public final void clear() {
+    this.map.clear();
+  }
+
+  @Override // AbstractMap
+  public final boolean containsKey(final Object k) {
+    return k instanceof AnnotationMirror a && this.map.containsKey(new AnnotationMirrorKey(a, this.p));
+  }
+
+  @Override // AbstractMap
+  public final Set<Entry<AnnotationMirror, V>> entrySet() {
+    return this.entrySet;
+  }
+
+  @Override // AbstractMap
+  public final V get(final Object k) {
+    return k instanceof AnnotationMirror a ? this.map.get(new AnnotationMirrorKey(a, this.p)) : null;
+  }
+
+  @Override // AbstractMap
+  public final int hashCode() {
+    int hashCode = 0;
+    for (final Entry<AnnotationMirrorKey, V> e : this.map.entrySet()) {
+      hashCode += e.getKey().hashCode() ^ Objects.hashCode(e.getValue());
+    }
+    return hashCode;
+  }
+
+  /**
+   * Associates the supplied value with the supplied {@link AnnotationMirror}, or with the key already present that is
+   * {@linkplain AnnotationMirrors#sameAnnotation(AnnotationMirror, AnnotationMirror, Predicate) the same annotation},
+   * and returns the value previously associated with it, if any.
+   *
+   * @param k an {@link AnnotationMirror}; must not be {@code null}
+   *
+   * @param v a value; may be {@code null}
+   *
+   * @return the value previously associated with {@code k}, or {@code null}
+   *
+   * @exception NullPointerException if {@code k} is {@code null}
+   */
+  @Override // AbstractMap
+  public final V put(final AnnotationMirror k, final V v) {
+    return this.map.put(new AnnotationMirrorKey(k, this.p), v);
+  }
+
+  @Override // AbstractMap
+  public final V remove(final Object k) {
+    return k instanceof AnnotationMirror a ? this.map.remove(new AnnotationMirrorKey(a, this.p)) : null;
+  }
+
+  @Override // AbstractMap
+  public final int size() {
+    return this.map.size();
+  }
+
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  private final class EntrySet extends AbstractSet<Entry<AnnotationMirror, V>> {
+
+    private EntrySet() {
+      super();
+    }
+
+    @Override // AbstractSet
+    public final void clear() {
+      map.clear();
+    }
+
+    @Override // AbstractSet
+    public final Iterator<Entry<AnnotationMirror, V>> iterator() {
+      final Iterator<Entry<AnnotationMirrorKey, V>> i = map.entrySet().iterator();
+      return new Iterator<>() {
+        @Override // Iterator
+        public final boolean hasNext() {
+          return i.hasNext();
+        }
+
+        @Override // Iterator
+        public final Entry<AnnotationMirror, V> next() {
+          final Entry<AnnotationMirrorKey, V> e = i.next();
+          return new SimpleEntry<>(e.getKey().annotationMirror(), e.getValue()) {
+            @Override // SimpleEntry
+            public final V setValue(final V v) {
+              super.setValue(v);
+              return e.setValue(v);
+            }
+          };
+        }
+
+        @Override // Iterator
+        public final void remove() {
+          i.remove();
+        }
+      };
+    }
+
+    @Override // AbstractSet
+    public final int size() {
+      return map.size();
+    }
+
+  }
+
+}
@@ -0,0 +1,212 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct.element;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import java.util.function.Predicate;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.ExecutableElement;
+
+/**
+ * A mutable {@link Set} of {@link AnnotationMirror}s, iterated in insertion order, in which two {@link
+ * AnnotationMirror}s are considered equal if and only if they are {@linkplain
+ * AnnotationMirrors#sameAnnotation(AnnotationMirror, AnnotationMirror, Predicate) the same annotation}.
+ *
+ * <p>Hashing is {@linkplain AnnotationMirrors#hashCode(AnnotationMirror, Predicate) consistent} with that relation, so
+ * membership is determined in constant expected time, and each {@link AnnotationMirror} is hashed only once, when it is
+ * added or sought.</p>
+ *
+ * <p>Like a {@link java.util.TreeSet} with a custom {@link java.util.Comparator}, an {@link AnnotationMirrorSet} does
+ * not use {@link Object#equals(Object)} to compare its elements, and so is not a general-purpose {@link Set}: its
+ * {@link #equals(Object)} and {@link #hashCode()} methods are consistent only with those of other {@link
+ * AnnotationMirrorSet}s bearing the same {@link Predicate}.</p>
+ *
+ * <p>{@code null} elements are not permitted.</p>
+ *
+ * <p>Instances of this class are not safe for concurrent use by multiple threads.</p>
+ *
+ * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
+ *
+ * @see AnnotationMirrors#sameAnnotation(AnnotationMirror, AnnotationMirror, Predicate)
+ *
+ * @see AnnotationMirrors#hashCode(AnnotationMirror, Predicate)
+ *
+ * @see AnnotationMirrorMap
+ */
+public final class AnnotationMirrorSet extends AbstractSet<AnnotationMirror> {
+
+
+  /*
+   * Instance fields.
+   */
+
+
+  private final Predicate<? super ExecutableElement> p;
+
+  private final Set<AnnotationMirrorKey> keys;
+
+
+  /*
+   * Constructors.
+   */
+
+
+  /**
+   * Creates a new, empty {@link AnnotationMirrorSet} that compares all annotation interface elements.
+   *
+   * @see #AnnotationMirrorSet(Predicate)
+   */
+  public AnnotationMirrorSet() {
+    this((Predicate<? super ExecutableElement>)null);
+  }
+
+  /**
+   * Creates a new, empty {@link AnnotationMirrorSet}.
+   *
+   * @param p a {@link Predicate} that returns {@code true} if a given {@link ExecutableElement}, representing an
+   * annotation interface element, is to be included in comparison and hashing operations; may be {@code null} in which
+   * case it is as if {@code e -> true} were supplied instead
+   */
+  public AnnotationMirrorSet(final Predicate<? super ExecutableElement> p) {
+    super();
+    this.p = p;
+    this.keys = new LinkedHashSet<>();
+  }
+
+  /**
+   * Creates a new {@link AnnotationMirrorSet} that compares all annotation interface elements and that contains the
+   * distinct elements of the supplied {@link Collection}.
+   *
+   * @param c a {@link Collection} of {@link AnnotationMirror}s; must not be {@code null} and must not contain {@code
+   * null}
+   *
+   * @exception NullPointerException if {@code c} is {@code null} or contains {@code null}
+   *
+   * @see #AnnotationMirrorSet(Collection, Predicate)
+   */
+  public AnnotationMirrorSet(final Collection<? extends AnnotationMirror> c) {
+    this(c, null);
+  }
+
+  /**
+   * Creates a new {@link AnnotationMirrorSet} that contains the distinct elements of the supplied {@link Collection}.
+   *
+   * @param c a {@link Collection} of {@link AnnotationMirror}s; must not be {@code null} and must not contain {@code
+   * null}
+   *
+   * @param p a {@link Predicate} that returns {@code true} if a given {@link ExecutableElement}, representing an
+   * annotation interface element, is to be included in comparison and hashing operations; may be {@code null} in which
+   * case it is as if {@code e -> true} were supplied instead
+   *
+   * @exception NullPointerException if {@code c} is {@code null} or contains {@code null}
+   */
+  public AnnotationMirrorSet(final Collection<? extends AnnotationMirror> c, final Predicate<? super ExecutableElement> p) {
+    this(p);
+    this.addAll(c);
+  }
+
+
+  /*
+   * Instance methods.
+   */
+
+
+  /**
+   * Adds the supplied {@link AnnotationMirror} to this {@link AnnotationMirrorSet} if it does not already contain
+   * {@linkplain AnnotationMirrors#sameAnnotation(AnnotationMirror, AnnotationMirror, Predicate) the same annotation}.
+   *
+   * @param a an {@link AnnotationMirror}; must not be {@code null}
+   *
+   * @return {@code true} if this {@link AnnotationMirrorSet} changed as a result of this invocation
+   *
+   * @exception NullPointerException if {@code a} is {@code null}
+   */
+  @Override // AbstractSet
+  public final boolean add(final AnnotationMirror a) {
+    return this.keys.add(new AnnotationMirrorKey(a, this.p));
+  }
+
+  @Override // AbstractSet
+  public final void clear() {
+    this.keys.clear();
+  }
+
+  /**
+   * Returns {@code true} if and only if this {@link AnnotationMirrorSet} contains an {@link AnnotationMirror} that is
+   * {@linkplain AnnotationMirrors#sameAnnotation(AnnotationMirror, AnnotationMirror, Predicate) the same annotation} as
+   * the supplied {@link Object}.
+   *
+   * @param o an {@link Object}; may be {@code null} in which case {@code false} will be returned
+   *
+   * @return {@code true} if and only if this {@link AnnotationMirrorSet} contains an {@link AnnotationMirror} that is
+   * {@linkplain AnnotationMirrors#sameAnnotation(AnnotationMirror, AnnotationMirror, Predicate) the same annotation} as
+   * the supplied {@link Object}
+   */
+  @Override // AbstractSet
+  public final boolean contains(final Object o) {
+    return o instanceof AnnotationMirror a && this.keys.contains(new AnnotationMirrorKey(a, this.p));
+  }
+
+  @Override // AbstractSet
+  public final int hashCode() {
+    int hashCode = 0;
+    for (final AnnotationMirrorKey k : this.keys) {
+      hashCode += k.hashCode();
+    }
+    return hashCode;
+  }
+
+  @Override // AbstractSet
+  public final Iterator<AnnotationMirror> iterator() {
+    final Iterator<AnnotationMirrorKey> i = this.keys.iterator();
+    return new Iterator<>() {
+      @Override // Iterator
+      public final boolean hasNext() {
+        return i.hasNext();
+      }
+
+      @Override // Iterator
+      public final AnnotationMirror next() {
+        return i.next().annotationMirror();
+      }
+
+      @Override // Iterator
+      public final void remove() {
+        i.remove();
+      }
+    };
+  }
+
+  @Override // AbstractSet
+  public final boolean remove(final Object o) {
+    return o instanceof AnnotationMirror a && this.keys.remove(new AnnotationMirrorKey(a, this.p));
+  }
+
+  @Override // AbstractSet
+  public final int size() {
+    return this.keys.size();
+  }
+
+  // Returns the Predicate supplied at construction time, which may be null.
+  final Predicate<? super ExecutableElement> predicate() {
+    return this.p;
+  }
+
+}
@@ -17,7 +17,6 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.RetentionPolicy;
 
 import java.util.ArrayDeque;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.Iterator;
@@ -43,7 +42,6 @@ import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Name;
 import javax.lang.model.element.QualifiedNameable;
 import javax.lang.model.element.TypeElement;
-import javax.lang.model.element.VariableElement;
 
 import javax.lang.model.type.ArrayType;
 import javax.lang.model.type.DeclaredType;
@@ -52,12 +50,13 @@ import javax.lang.model.type.TypeMirror;
 
 import static java.util.Collections.unmodifiableList;
 import static java.util.Collections.unmodifiableSequencedMap;
-import static java.util.Collections.unmodifiableSet;
 
 import static java.util.LinkedHashMap.newLinkedHashMap;
 
 import static java.util.HashSet.newHashSet;
 
+import static java.util.Objects.requireNonNull;
+
 import static java.util.function.Function.identity;
 
 import static java.util.stream.Stream.concat;
@@ -74,8 +73,6 @@ import static javax.lang.model.element.Modifier.PUBLIC;
 import static javax.lang.model.type.TypeKind.ARRAY;
 import static javax.lang.model.type.TypeKind.DECLARED;
 
-import static javax.lang.model.util.ElementFilter.methodsIn;
-
 /**
  * A utility class for working with annotations as represented by {@link AnnotationMirror}s, {@link ExecutableElement}s,
  * and {@link AnnotationValue}s.
@@ -84,8 +81,6 @@ import static javax.lang.model.util.ElementFilter.methodsIn;
  */
 public final class AnnotationMirrors {
 
-  private static final Set<ElementType> EMPTY_ELEMENT_TYPES = unmodifiableSet(EnumSet.noneOf(ElementType.class));
-
   private static final SequencedMap<?, ?> EMPTY_MAP = unmodifiableSequencedMap(newLinkedHashMap(0));
 
   private AnnotationMirrors() {
@@ -110,7 +105,6 @@ public final class AnnotationMirrors {
    */
   public static final List<? extends AnnotationMirror> allAnnotationMirrors(Element e) {
     final List<AnnotationMirror> allAnnotations = new LinkedList<>(e.getAnnotationMirrors());
-    WHILE_LOOP:
     while (e.getKind() == CLASS && e instanceof TypeElement te) {
       final TypeMirror sct = te.getSuperclass();
       if (sct.getKind() != DECLARED || !(sct instanceof DeclaredType)) {
@@ -120,11 +114,12 @@ public final class AnnotationMirrors {
       final List<? extends AnnotationMirror> superclassAnnotations = e.getAnnotationMirrors();
       if (!superclassAnnotations.isEmpty()) {
         int added = 0;
+        SUPERCLASS_ANNOTATION_LOOP:
         for (final AnnotationMirror superclassAnnotation : superclassAnnotations) {
           if (inherited(superclassAnnotation)) {
             for (final AnnotationMirror a : allAnnotations.subList(added, allAnnotations.size())) {
               if (((QualifiedNameable)superclassAnnotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(((QualifiedNameable)a.getAnnotationType().asElement()).getQualifiedName())) {
-                continue WHILE_LOOP;
+                continue SUPERCLASS_ANNOTATION_LOOP; // already present; the superclass's others may not be
               }
             }
             // javac prepends superclass annotations, resulting in a strage order; we duplicate it
@@ -166,17 +161,18 @@ public final class AnnotationMirrors {
     if (a == null) {
       return emptySequencedMap();
     }
-    final Collection<? extends ExecutableElement> elements = methodsIn(a.getAnnotationType().asElement().getEnclosedElements());
-    if (elements.isEmpty()) {
+    final AnnotationInterfaceDescriptor d = AnnotationInterfaceDescriptor.of(a);
+    final int size = d.size();
+    if (size == 0) {
       return emptySequencedMap();
     }
-    final SequencedMap<ExecutableElement, AnnotationValue> m = newLinkedHashMap(elements.size());
-    final Map<? extends ExecutableElement, ? extends AnnotationValue> explicitValues = a.getElementValues();
-    for (final ExecutableElement ee : elements) {
-      // You're going to want to use getOrDefault() here. Go ahead and try but you'll run into typing issues.
-      m.put(ee, explicitValues.containsKey(ee) ? explicitValues.get(ee) : ee.getDefaultValue());
+    final AnnotationValue[] values = d.values(a);
+    final SequencedMap<ExecutableElement, AnnotationValue> m = newLinkedHashMap(size);
+    for (int i = 0; i < size; i++) {
+      // Default values are those of the descriptor's representation; present them as explicit ones are.
+      m.put(d.element(a, i), a instanceof UniversalAnnotation ua ? UniversalAnnotationValue.of(values[i], ua.domain()) : values[i]);
     }
-    return m.isEmpty() ? emptySequencedMap() : unmodifiableSequencedMap(m);
+    return unmodifiableSequencedMap(m);
   }
 
   /**
@@ -227,6 +223,9 @@ public final class AnnotationMirrors {
   public static final boolean contains(final Collection<? extends AnnotationMirror> c,
                                        final AnnotationMirror a,
                                        final Predicate<? super ExecutableElement> p) {
+    if (c instanceof AnnotationMirrorSet s && s.predicate() == p) {
+      return s.contains(requireNonNull(a, "a"));
+    }
     for (final AnnotationMirror ca : c) {
       if (sameAnnotation(ca, a, p)) {
         return true;
@@ -282,8 +281,9 @@ public final class AnnotationMirrors {
     if (c0.size() < c1.size()) {
       return false;
     }
+    final AnnotationMirrorSet s0 = set(c0, p);
     for (final AnnotationMirror a1 : c1) {
-      if (!contains(c0, a1, p)) {
+      if (!s0.contains(a1)) {
         return false;
       }
     }
@@ -421,7 +421,7 @@ public final class AnnotationMirrors {
    * @see java.lang.annotation.Annotation#hashCode()
    */
   public static final int hashCode(final AnnotationMirror a, final Predicate<? super ExecutableElement> p) {
-    return a == null ? 0 : new AnnotationValueHashcodeVisitor().visitAnnotation(a, p == null ? ee -> true : p).intValue();
+    return AnnotationValueHashcodeVisitor.hashCode(a, p);
   }
 
   /**
@@ -442,7 +442,7 @@ public final class AnnotationMirrors {
    * @see #inherited(TypeElement)
    */
   public static final boolean inherited(final AnnotationMirror a) {
-    return inherited((TypeElement)a.getAnnotationType().asElement());
+    return AnnotationInterfaceDescriptor.of(a).inherited();
   }
 
   /**
@@ -463,14 +463,79 @@ public final class AnnotationMirrors {
    * section 9.6.4.3
    */
   public static final boolean inherited(final TypeElement annotationInterface) {
-    if (annotationInterface.getKind() == ANNOTATION_TYPE) {
-      for (final AnnotationMirror ma : annotationInterface.getAnnotationMirrors()) {
-        if (((QualifiedNameable)ma.getAnnotationType().asElement()).getQualifiedName().contentEquals("java.lang.annotation.Inherited")) {
-          return true;
+    return AnnotationInterfaceDescriptor.of(annotationInterface).inherited();
+  }
+
+  /**
+   * Returns a non-{@code null}, determinate, immutable {@link Set} of the {@linkplain
+   * QualifiedNameable#getQualifiedName() qualified names} of the annotation interfaces of the annotations present,
+   * directly or transitively, on the supplied annotation interface: its <dfn>meta-annotation closure</dfn>.
+   *
+   * <p>The closure of an annotation interface that is (meta-) annotated with itself, such as {@link
+   * java.lang.annotation.Documented}, contains its own qualified name. Cycles are otherwise traversed only once.</p>
+   *
+   * <p>The returned {@link Set} answers membership queries in constant expected time.</p>
+   *
+   * @param annotationInterface a {@link TypeElement} representing an {@linkplain
+   * javax.lang.model.element.ElementKind#ANNOTATION_TYPE annotation interface}; must not be {@code null}
+   *
+   * @return a non-{@code null}, determinate, immutable {@link Set} of qualified names
+   *
+   * @exception NullPointerException if {@code annotationInterface} is {@code null}
+   *
+   * @see #streamDepthFirst(AnnotatedConstruct)
+   */
+  public static final Set<String> metaAnnotationInterfaceNames(final TypeElement annotationInterface) {
+    final Set<String> names = newHashSet(17); // 17 == arbitrary
+    final Queue<Element> q = new ArrayDeque<>();
+    Element e = requireNonNull(annotationInterface, "annotationInterface");
+    do {
+      for (final AnnotationMirror a : e.getAnnotationMirrors()) {
+        final Element ai = a.getAnnotationType().asElement();
+        if (names.add(((QualifiedNameable)ai).getQualifiedName().toString())) {
+          q.add(ai);
         }
       }
-    }
-    return false;
+    } while ((e = q.poll()) != null);
+    return names.isEmpty() ? Set.of() : Set.copyOf(names);
+  }
+
+  /**
+   * Returns the {@link TypeElement} representing the <dfn>containing annotation interface</dfn> of the annotation
+   * interface {@linkplain AnnotationMirror#getAnnotationType() represented} by the supplied {@link AnnotationMirror}, or
+   * {@code null} if that annotation interface is not {@linkplain java.lang.annotation.Repeatable repeatable}.
+   *
+   * @param a an {@link AnnotationMirror}; must not be {@code null}
+   *
+   * @return a {@link TypeElement}, or {@code null}
+   *
+   * @exception NullPointerException if {@code a} is {@code null}
+   *
+   * @see #repeatableContainer(TypeElement)
+   */
+  public static final TypeElement repeatableContainer(final AnnotationMirror a) {
+    return AnnotationInterfaceDescriptor.of(a).repeatableContainer();
+  }
+
+  /**
+   * Returns the {@link TypeElement} representing the <dfn>containing annotation interface</dfn> of the supplied
+   * annotation interface, or {@code null} if the supplied annotation interface is not {@linkplain
+   * java.lang.annotation.Repeatable repeatable}.
+   *
+   * @param annotationInterface a {@link TypeElement} representing an {@linkplain
+   * javax.lang.model.element.ElementKind#ANNOTATION_TYPE annotation interface}; must not be {@code null}
+   *
+   * @return a {@link TypeElement}, or {@code null}
+   *
+   * @exception NullPointerException if {@code annotationInterface} is {@code null}
+   *
+   * @see java.lang.annotation.Repeatable
+   *
+   * @spec https://docs.oracle.com/javase/specs/jls/se25/html/jls-9.html#jls-9.6.3 Java Language Specification, section
+   * 9.6.3
+   */
+  public static final TypeElement repeatableContainer(final TypeElement annotationInterface) {
+    return AnnotationInterfaceDescriptor.of(annotationInterface).repeatableContainer();
   }
 
   /**
@@ -486,7 +551,7 @@ public final class AnnotationMirrors {
    * @see #retentionPolicy(TypeElement)
    */
   public static final RetentionPolicy retentionPolicy(final AnnotationMirror a) {
-    return retentionPolicy((TypeElement)a.getAnnotationType().asElement());
+    return AnnotationInterfaceDescriptor.of(a).retentionPolicy();
   }
 
   /**
@@ -507,14 +572,7 @@ public final class AnnotationMirrors {
    * section 9.6.4.2
    */
   public static final RetentionPolicy retentionPolicy(final TypeElement annotationInterface) {
-    if (annotationInterface.getKind() == ANNOTATION_TYPE) {
-      for (final AnnotationMirror ma : annotationInterface.getAnnotationMirrors()) {
-        if (((QualifiedNameable)ma.getAnnotationType().asElement()).getQualifiedName().contentEquals("java.lang.annotation.Retention")) {
-          return RetentionPolicy.valueOf(((VariableElement)get(ma, "value")).getSimpleName().toString());
-        }
-      }
-    }
-    return RetentionPolicy.CLASS;
+    return AnnotationInterfaceDescriptor.of(annotationInterface).retentionPolicy();
   }
 
   /**
@@ -551,12 +609,14 @@ public final class AnnotationMirrors {
    *
    * @see SameAnnotationValueVisitor#visitAnnotation(AnnotationMirror, Object)
    *
+   * @see AnnotationEquivalence
+   *
    * @see #allAnnotationValues(AnnotationMirror)
    */
   public static final boolean sameAnnotation(final AnnotationMirror am0,
                                              final AnnotationMirror am1,
                                              final Predicate<? super ExecutableElement> p) {
-    return am0 == am1 || new SameAnnotationValueVisitor(p).visitAnnotation(am0, am1);
+    return am0 == am1 || am0 != null && AnnotationEquivalence.of(am0, p).equivalent(am0, am1);
   }
 
   /**
@@ -700,31 +760,21 @@ public final class AnnotationMirrors {
     if (ams.isEmpty()) {
       return empty();
     }
-    final Collection<AnnotationMirror> seen = new ArrayList<>();
+    final AnnotationMirrorSet seen = new AnnotationMirrorSet(p);
     final Queue<AnnotationMirror> q = new ArrayDeque<>();
-    DEDUP_LOOP_0:
     for (final AnnotationMirror a0 : ams) {
-      for (final AnnotationMirror a1 : seen) {
-        if (sameAnnotation(a0, a1, p)) {
-          continue DEDUP_LOOP_0;
-        }
+      if (seen.add(a0)) {
+        q.add(a0);
       }
-      q.add(a0);
-      seen.add(a0);
     }
     return
       iterate(q.poll(),
               Objects::nonNull,
               a0 -> {
-                DEDUP_LOOP_1:
                 for (final AnnotationMirror a1 : a0.getAnnotationType().asElement().getAnnotationMirrors()) {
-                  for (final AnnotationMirror a2 : seen) {
-                    if (sameAnnotation(a1, a2, p)) {
-                      continue DEDUP_LOOP_1;
-                    }
+                  if (seen.add(a1)) {
+                    q.add(a1);
                   }
-                  q.add(a1);
-                  seen.add(a1);
                 }
                 return q.poll();
               });
@@ -749,7 +799,7 @@ public final class AnnotationMirrors {
    * @see #sameAnnotation(AnnotationMirror, AnnotationMirror)
    */
   public static final Stream<AnnotationMirror> streamDepthFirst(final AnnotatedConstruct ac) {
-    return streamDepthFirst(ac, AnnotationMirrors::returnTrue); // 17 == arbitrary
+    return streamDepthFirst(ac, AnnotationMirrors::returnTrue);
   }
 
   /**
@@ -774,7 +824,7 @@ public final class AnnotationMirrors {
    */
   public static final Stream<AnnotationMirror> streamDepthFirst(final AnnotatedConstruct ac,
                                                                 final Predicate<? super ExecutableElement> p) {
-    return streamDepthFirst(ac, new ArrayList<>(17), p); // 17 == arbitrary
+    return streamDepthFirst(ac, new AnnotationMirrorSet(p), p);
   }
 
   /**
@@ -795,7 +845,7 @@ public final class AnnotationMirrors {
    * @see #sameAnnotation(AnnotationMirror, AnnotationMirror)
    */
   public static final Stream<AnnotationMirror> streamDepthFirst(final Collection<? extends AnnotationMirror> ams) {
-    return streamDepthFirst(ams, AnnotationMirrors::returnTrue); // 17 == arbitrary
+    return streamDepthFirst(ams, AnnotationMirrors::returnTrue);
   }
 
   /**
@@ -819,7 +869,7 @@ public final class AnnotationMirrors {
    */
   public static final Stream<AnnotationMirror> streamDepthFirst(final Collection<? extends AnnotationMirror> ams,
                                                                 final Predicate<? super ExecutableElement> p) {
-    return ams.isEmpty() ? empty() : streamDepthFirst(ams, new ArrayList<>(17), p); // 17 == arbitrary
+    return ams.isEmpty() ? empty() : streamDepthFirst(ams, new AnnotationMirrorSet(p), p);
   }
 
 
@@ -837,7 +887,7 @@ public final class AnnotationMirrors {
    * @exception NullPointerException if {@code a} is {@code null}
    */
   public static final Set<ElementType> targetElementTypes(final AnnotationMirror a) {
-    return targetElementTypes((TypeElement)a.getAnnotationType().asElement());
+    return AnnotationInterfaceDescriptor.of(a).targetElementTypes();
   }
 
   /**
@@ -860,23 +910,7 @@ public final class AnnotationMirrors {
    * section 9.6.4.1
    */
   public static final Set<ElementType> targetElementTypes(final TypeElement annotationInterface) {
-    if (annotationInterface.getKind() == ANNOTATION_TYPE) {
-      for (final AnnotationMirror ma : annotationInterface.getAnnotationMirrors()) {
-        if (((QualifiedNameable)ma.getAnnotationType().asElement()).getQualifiedName().contentEquals("java.lang.annotation.Target")) {
-          @SuppressWarnings("unchecked")
-          final List<? extends AnnotationValue> elementTypes = (List<? extends AnnotationValue>)get(ma, "value");
-          if (elementTypes.isEmpty()) {
-            break;
-          }
-          final Set<ElementType> s = EnumSet.noneOf(ElementType.class);
-          for (final AnnotationValue av : elementTypes) {
-            s.add(ElementType.valueOf(((VariableElement)av.getValue()).getSimpleName().toString()));
-          }
-          return unmodifiableSet(s);
-        }
-      }
-    }
-    return EMPTY_ELEMENT_TYPES;
+    return AnnotationInterfaceDescriptor.of(annotationInterface).targetElementTypes();
   }
 
   /**
@@ -960,14 +994,21 @@ public final class AnnotationMirrors {
     return true;
   }
 
+  // Returns c if it is an AnnotationMirrorSet bearing p, or a new AnnotationMirrorSet bearing p containing the elements
+  // of c otherwise.
+  private static final AnnotationMirrorSet set(final Collection<? extends AnnotationMirror> c,
+                                               final Predicate<? super ExecutableElement> p) {
+    return c instanceof AnnotationMirrorSet s && s.predicate() == p ? s : new AnnotationMirrorSet(c, p);
+  }
+
   private static final Stream<AnnotationMirror> streamDepthFirst(final AnnotatedConstruct ac,
-                                                                 final Collection<AnnotationMirror> seen,
+                                                                 final AnnotationMirrorSet seen,
                                                                  final Predicate<? super ExecutableElement> p) {
     return streamDepthFirst(ac.getAnnotationMirrors(), seen, p);
   }
 
   private static final Stream<AnnotationMirror> streamDepthFirst(final Collection<? extends AnnotationMirror> ams,
-                                                                 final Collection<AnnotationMirror> seen,
+                                                                 final AnnotationMirrorSet seen,
                                                                  final Predicate<? super ExecutableElement> p) {
     if (ams.isEmpty()) {
       return empty();
@@ -977,15 +1018,9 @@ public final class AnnotationMirrors {
       Stream.of(ams
                 .stream()
                 .sequential()
-                .flatMap(a0 -> {
-                    for (final AnnotationMirror a1 : seen) {
-                      if (sameAnnotation(a0, a1, p)) {
-                        return empty();
-                      }
-                    }
-                    seen.add(a0);
-                    return streamDepthFirst(a0.getAnnotationType().asElement().getAnnotationMirrors(), seen, p);
-                  }))
+                .flatMap(a0 -> seen.add(a0) ?
+                         concat(Stream.of(a0), streamDepthFirst(a0.getAnnotationType().asElement().getAnnotationMirrors(), seen, p)) :
+                         empty()))
       .flatMap(identity());
   }
 
@@ -14,26 +14,36 @@
 package org.microbean.construct.element;
 
 import java.util.List;
-import java.util.Map;
 
 import java.util.function.Predicate;
 
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.AnnotationValue;
-import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.QualifiedNameable;
 import javax.lang.model.element.VariableElement;
 
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.NoType;
+import javax.lang.model.type.PrimitiveType;
 import javax.lang.model.type.TypeMirror;
 
 import javax.lang.model.util.AbstractAnnotationValueVisitor14;
 
-import static javax.lang.model.element.ElementKind.METHOD;
+import static javax.lang.model.type.TypeKind.ARRAY;
+import static javax.lang.model.type.TypeKind.DECLARED;
+import static javax.lang.model.type.TypeKind.VOID;
 
 /**
  * An {@link AbstractAnnotationValueVisitor14} that computes a hashcode for an {@link AnnotationValue}, emulating as
  * closely as possible the rules described by the {@link java.lang.annotation.Annotation#hashCode()} contract.
  *
+ * <p>Hashcodes computed by this visitor are consistent with the relation implemented by {@link
+ * SameAnnotationValueVisitor}: values that it considers the same have equal hashcodes. Where the {@link
+ * java.lang.annotation.Annotation#hashCode()} contract calls for an identity-based hashcode (as for enum constants and
+ * classes), one derived from names is computed instead.</p>
+ *
  * @author <a href="https://about.me/lairdnelson" target="_top">Laird Nelson</a>
  *
  * @see SameAnnotationValueVisitor
@@ -64,43 +74,14 @@ public final class AnnotationValueHashcodeVisitor extends AbstractAnnotationValu
     super();
   }
 
-  @Override // AbstractAnnotationValueVisitor14q
-  public final Integer visitAnnotation(final AnnotationMirror am0, Predicate<? super ExecutableElement> p) {
-    if (am0 == null) {
-      return 0;
-    }
-    if (p == null) {
-      p = ee -> true;
-    }
-    int hashCode = 0;
-    final Map<? extends ExecutableElement, ? extends AnnotationValue> explicitValues = am0.getElementValues();
-    for (final Element e : am0.getAnnotationType().asElement().getEnclosedElements()) {
-      if (e.getKind() == METHOD && e instanceof ExecutableElement ee && p.test(ee)) {
-        final AnnotationValue v = explicitValues.containsKey(ee) ? explicitValues.get(ee) : ee.getDefaultValue();
-        // An annotation member value is either explicit or default but cannot be null.
-        assert v != null : "v == null; ee: " + ee;
-        // "The hash code of an annotation is the sum of the hash codes of its members (including those with default values). The
-        // hash code of an annotation member is (127 times the hash code of the member-name as computed by String.hashCode())
-        // XOR the hash code of the member-value."
-        hashCode += ((127 * ee.getSimpleName().toString().hashCode()) ^ this.visit(v, p).intValue());
-      }
-    }
-    return hashCode;
+  @Override // AbstractAnnotationValueVisitor14
+  public final Integer visitAnnotation(final AnnotationMirror am0, final Predicate<? super ExecutableElement> p) {
+    return hashCode(am0, p);
   }
 
   @Override // AbstractAnnotationValueVisitor14
-  public final Integer visitArray(final List<? extends AnnotationValue> l0, final Predicate<? super ExecutableElement> ignored) {
-    // "The hash code of an array[-typed annotation] member-value is computed by calling the appropriate overloading of
-    // Arrays.hashCode on the value. (There is one overloading for each primitive type, and one for object reference
-    // types.)"
-    //
-    // More cumbersome than you might think. Somewhat conveniently, in general Arrays.hashCode(something) will perform
-    // the same calculation as an equivalent List. So perform the calculation on a "de-AnnotationValueized" List.
-    //
-    // (Implementation note: in the JDK as of this writing, ArraySupport will do fancy stuff with vectors, which
-    // presumably List's hashCode calculations do not. If this ends up being some kind of hot spot, we could turn the
-    // List into an array appropriately.)
-    return l0.stream().map(AnnotationValue::getValue).toList().hashCode();
+  public final Integer visitArray(final List<? extends AnnotationValue> l0, final Predicate<? super ExecutableElement> p) {
+    return hashCode(l0, p);
   }
 
   @Override // AbstractAnnotationValueVisitor14
@@ -137,9 +118,7 @@ public final class AnnotationValueHashcodeVisitor extends AbstractAnnotationValu
 
   @Override // AbstractAnnotationValueVisitor14
   public final Integer visitEnumConstant(final VariableElement ve0, final Predicate<? super ExecutableElement> ignored) {
-    // "The hash code of a string, enum, class, or annotation member-value v is computed as by calling v.hashCode(). (In
-    // the case of annotation member values, this is a recursive definition.)"
-    return ve0 == null ? 0 : ve0.hashCode();
+    return hashCode(ve0);
   }
 
   @Override // AbstractAnnotationValueVisitor14
@@ -183,9 +162,83 @@ public final class AnnotationValueHashcodeVisitor extends AbstractAnnotationValu
 
   @Override // AbstractAnnotationValueVisitor14
   public final Integer visitType(final TypeMirror t0, final Predicate<? super ExecutableElement> ignored) {
+    return hashCode(t0);
+  }
+
+
+  /*
+   * Static methods.
+   */
+
+
+  // Returns a hashcode for the supplied AnnotationMirror without boxing. If the supplied Predicate is null, so that all
+  // elements are included, a hashcode cached by the AnnotationMirror, if it is a UniversalAnnotation or a
+  // SyntheticAnnotationMirror, is returned.
+  static final int hashCode(final AnnotationMirror a, final Predicate<? super ExecutableElement> p) {
+    return p == null ? switch (a) {
+      case null -> 0;
+      case UniversalAnnotation ua -> ua.structuralHashCode();
+      case SyntheticAnnotationMirror sam -> sam.structuralHashCode();
+      default -> computeHashCode(a, null);
+      } : computeHashCode(a, p);
+  }
+
+  // Computes a hashcode for the supplied AnnotationMirror without boxing or consulting any cache of hashcodes. A null
+  // Predicate includes all elements.
+  static final int computeHashCode(final AnnotationMirror a, final Predicate<? super ExecutableElement> p) {
+    return a == null ? 0 : AnnotationEquivalence.of(a, p).hash(a);
+  }
+
+  // Returns a hashcode for the supplied AnnotationValue without boxing (other than any its getValue() method performs)
+  // or dispatching through a visitor.
+  static final int hashCode(final AnnotationValue v, final Predicate<? super ExecutableElement> p) {
+    return switch (v.getValue()) {
+    case null -> 0;
+    case AnnotationMirror a -> hashCode(a, p);
+    case List<?> l -> hashCode(l, p);
+    case TypeMirror t -> hashCode(t);
+    case VariableElement ve -> hashCode(ve);
+    // "The hash code of a primitive value v is equal to WrapperType.valueOf(v).hashCode()"; "the hash code of a
+    // string...is computed as by calling v.hashCode()"
+    case Object o -> o.hashCode();
+    };
+  }
+
+  private static final int hashCode(final List<?> l, final Predicate<? super ExecutableElement> p) {
+    // "The hash code of an array[-typed annotation] member-value is computed by calling the appropriate overloading of
+    // Arrays.hashCode on the value. (There is one overloading for each primitive type, and one for object reference
+    // types.)"
+    //
+    // The calculation is that of List#hashCode(), but each element's hashcode is computed as above, so that it is
+    // consistent with SameAnnotationValueVisitor (an element may be, for example, an annotation or an enum constant).
+    int hashCode = 1;
+    for (final Object o : l) {
+      hashCode = 31 * hashCode + hashCode((AnnotationValue)o, p);
+    }
+    return hashCode;
+  }
+
+  private static final int hashCode(final TypeMirror t) {
     // "The hash code of a string, enum, class, or annotation member-value v is computed as by calling v.hashCode(). (In
     // the case of annotation member values, this is a recursive definition.)"
-    return t0 == null ? 0 : t0.hashCode();
+    //
+    // Class#hashCode() is identity-based; SameAnnotationValueVisitor compares classes by name (or kind).
+    return switch (t) {
+    case null -> 0;
+    case ArrayType at when at.getKind() == ARRAY -> 31 * hashCode(at.getComponentType()) + 1;
+    case DeclaredType dt when dt.getKind() == DECLARED -> ((QualifiedNameable)dt.asElement()).getQualifiedName().toString().hashCode();
+    case PrimitiveType pt when pt.getKind().isPrimitive() -> pt.getKind().hashCode();
+    case NoType nt when nt.getKind() == VOID -> VOID.hashCode();
+    default -> t.hashCode();
+    };
+  }
+
+  private static final int hashCode(final VariableElement ve) {
+    // "The hash code of a string, enum, class, or annotation member-value v is computed as by calling v.hashCode(). (In
+    // the case of annotation member values, this is a recursive definition.)"
+    //
+    // Enum#hashCode() is identity-based; SameAnnotationValueVisitor compares enum constants by name.
+    return ve == null ? 0 : ve.getSimpleName().toString().hashCode();
   }
 
 }
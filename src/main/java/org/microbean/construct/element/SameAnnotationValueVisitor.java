@@ -13,9 +13,7 @@
  */
 package org.microbean.construct.element;
 
-import java.util.Iterator;
 import java.util.List;
-import java.util.Map.Entry;
 import java.util.Objects;
 
 import java.util.function.Predicate;
@@ -42,8 +40,6 @@ import static javax.lang.model.type.TypeKind.ARRAY;
 import static javax.lang.model.type.TypeKind.DECLARED;
 import static javax.lang.model.type.TypeKind.VOID;
 
-import static org.microbean.construct.element.AnnotationMirrors.allAnnotationValues;
-
 /**
  * An {@link AbstractAnnotationValueVisitor14} that determines if the otherwise opaque values {@linkplain
  * AnnotationValue#getValue() represented} by two {@link AnnotationValue} implementations are to be considered the
@@ -115,7 +111,7 @@ public final class SameAnnotationValueVisitor extends AbstractAnnotationValueVis
    */
   public SameAnnotationValueVisitor(final Predicate<? super ExecutableElement> p) {
     super();
-    this.p = p == null ? ee -> true : p;
+    this.p = p; // null means all elements are included
   }
 
 
@@ -129,26 +125,7 @@ public final class SameAnnotationValueVisitor extends AbstractAnnotationValueVis
     return am0 == v1 || am0 != null && switch (v1) {
     case null -> false;
     case AnnotationValue av1 -> this.visitAnnotation(am0, av1.getValue());
-    case AnnotationMirror am1 -> {
-      if (!((QualifiedNameable)am0.getAnnotationType().asElement()).getQualifiedName().contentEquals(((QualifiedNameable)am1.getAnnotationType().asElement()).getQualifiedName())) {
-        yield false;
-      }
-      final Iterator<Entry<ExecutableElement, AnnotationValue>> i0 = allAnnotationValues(am0).entrySet().iterator();
-      final Iterator<Entry<ExecutableElement, AnnotationValue>> i1 = allAnnotationValues(am1).entrySet().iterator();
-      while (i0.hasNext()) {
-        if (!i1.hasNext()) {
-          yield false;
-        }
-        final Entry<ExecutableElement, AnnotationValue> e0 = i0.next();
-        final Entry<ExecutableElement, AnnotationValue> e1 = i1.next();
-        final ExecutableElement ee0 = e0.getKey();
-        if (!ee0.getSimpleName().contentEquals(e1.getKey().getSimpleName()) ||
-            this.p.test(ee0) && !this.visit(e0.getValue(), e1.getValue().getValue())) {
-          yield false;
-        }
-      }
-      yield !i1.hasNext();
-    }
+    case AnnotationMirror am1 -> AnnotationEquivalence.of(am0, this.p).equivalent(am0, am1);
     default -> false;
     };
   }
@@ -180,7 +157,7 @@ public final class SameAnnotationValueVisitor extends AbstractAnnotationValueVis
     return switch (v1) {
     case null -> false;
     case AnnotationValue av1 -> this.visitBoolean(b0, av1.getValue());
-    case Boolean b1 -> b0 && b1.booleanValue();
+    case Boolean b1 -> b0 == b1.booleanValue();
     default -> false;
     };
   }
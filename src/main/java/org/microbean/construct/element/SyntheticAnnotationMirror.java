@@ -76,6 +76,12 @@ public final class SyntheticAnnotationMirror implements AnnotationMirror, Consta
 
   private final Map<? extends ExecutableElement, ? extends AnnotationValue> elementValues;
 
+  // Memoized by structuralHashCode(); 0 until then.
+  private int structuralHashCode;
+
+  // Memoized by values(AnnotationInterfaceDescriptor); null until then.
+  private volatile AnnotationValue[] values;
+
 
   /*
    * Constructors.
@@ -218,6 +224,26 @@ public final class SyntheticAnnotationMirror implements AnnotationMirror, Consta
     return "@" + this.annotationTypeElement.toString(); // TODO: not anywhere near good enough
   }
 
+  // Returns AnnotationMirrors#hashCode(AnnotationMirror) for this annotation. Its element values are fixed at
+  // construction, so the result is memoized (racily, since recomputing it is harmless).
+  final int structuralHashCode() {
+    int h = this.structuralHashCode;
+    if (h == 0) {
+      this.structuralHashCode = h = AnnotationValueHashcodeVisitor.computeHashCode(this, null);
+    }
+    return h;
+  }
+
+  // Returns this annotation's values, falling back to defaults, in the order in which the supplied descriptor of its
+  // interface lists that interface's elements. Memoized; callers must not modify the returned array.
+  final AnnotationValue[] values(final AnnotationInterfaceDescriptor d) {
+    AnnotationValue[] values = this.values; // volatile read
+    if (values == null) {
+      this.values = values = d.computeValues(this); // volatile write
+    }
+    return values;
+  }
+
   // Called by describeConstable().
   private final Map<? extends String, ?> toSyntheticValues() {
     if (this.elementValues.isEmpty()) {
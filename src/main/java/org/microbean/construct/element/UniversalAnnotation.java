@@ -18,7 +18,6 @@ import java.lang.constant.ConstantDesc;
 import java.lang.constant.DynamicConstantDesc;
 import java.lang.constant.MethodTypeDesc;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -66,6 +65,16 @@ public final class UniversalAnnotation implements AnnotationMirror, Constable {
 
   private final PrimordialDomain domain;
 
+  // See structuralHashCode(); 0 if not yet computed.
+  private int structuralHashCode;
+
+  // The AnnotationInterfaceDescriptor describing this UniversalAnnotation's annotation interface, or null if it has not
+  // yet been obtained. See descriptor().
+  private volatile AnnotationInterfaceDescriptor descriptor;
+
+  // See values(AnnotationInterfaceDescriptor); null if not yet read from the delegate.
+  private volatile AnnotationValue[] values;
+
 
   /*
    * Constructors.
@@ -140,6 +149,16 @@ public final class UniversalAnnotation implements AnnotationMirror, Constable {
                                                                 primordialDomainDesc)));
   }
 
+  // Returns the AnnotationInterfaceDescriptor describing this UniversalAnnotation's annotation interface, obtaining it
+  // only once.
+  final AnnotationInterfaceDescriptor descriptor() {
+    AnnotationInterfaceDescriptor d = this.descriptor; // volatile read
+    if (d == null) {
+      this.descriptor = d = AnnotationInterfaceDescriptor.of(this.getAnnotationType().asElement()); // volatile write
+    }
+    return d;
+  }
+
   /**
    * Returns the {@link PrimordialDomain} supplied at construction time.
    *
@@ -190,6 +209,26 @@ public final class UniversalAnnotation implements AnnotationMirror, Constable {
     return this.delegate().hashCode();
   }
 
+  // Returns AnnotationMirrors#hashCode(AnnotationMirror) for this annotation, computed on first use. A javac annotation
+  // never changes once attributed, so the (racily published) result stays valid.
+  final int structuralHashCode() {
+    int h = this.structuralHashCode;
+    if (h == 0) {
+      this.structuralHashCode = h = AnnotationValueHashcodeVisitor.computeHashCode(this, null);
+    }
+    return h;
+  }
+
+  // Returns the delegate's element values, with defaults for those it omits, positioned as the supplied descriptor of
+  // the annotation interface orders its elements. Read once and shared; do not modify the returned array.
+  final AnnotationValue[] values(final AnnotationInterfaceDescriptor d) {
+    AnnotationValue[] values = this.values; // volatile read
+    if (values == null) {
+      this.values = values = d.computeValues(this); // volatile write
+    }
+    return values;
+  }
+
 
   /*
    * Static methods.
@@ -231,11 +270,12 @@ public final class UniversalAnnotation implements AnnotationMirror, Constable {
     if (as.isEmpty()) {
       return List.of();
     }
-    final List<UniversalAnnotation> newAs = new ArrayList<>(as.size());
+    final UniversalAnnotation[] newAs = new UniversalAnnotation[as.size()];
+    int i = 0;
     for (final AnnotationMirror a : as) {
-      newAs.add(UniversalAnnotation.of(a, domain));
+      newAs[i++] = UniversalAnnotation.of(a, domain);
     }
-    return Collections.unmodifiableList(newAs);
+    return List.of(newAs);
   }
 
   /**
@@ -74,6 +74,18 @@ public final class UniversalElement
   // volatile not needed
   private Supplier<? extends List<? extends UniversalElement>> enclosedElementsSupplier;
 
+  // Frequently read attributes of the delegate, each captured once. Racy initialization is benign: each is immutable
+  // and any two values captured from the same delegate are equivalent.
+
+  private volatile Attributes attributes;
+
+  private volatile StringName simpleName;
+
+  private volatile StringName qualifiedName;
+
+  // Wrapped only when first asked for, since most elements are never asked for it.
+  private volatile UniversalElement enclosingElement;
+
 
   /*
    * Constructors.
@@ -92,6 +104,10 @@ public final class UniversalElement
   public UniversalElement(final UniversalElement ue) {
     super(ue);
     this.enclosedElementsSupplier = ue.enclosedElementsSupplier;
+    this.attributes = ue.attributes; // volatile write, read
+    this.simpleName = ue.simpleName; // volatile write, read
+    this.qualifiedName = ue.qualifiedName; // volatile write, read
+    this.enclosingElement = ue.enclosingElement; // volatile write, read
   }
 
   /**
@@ -131,6 +147,7 @@ public final class UniversalElement
     super(annotations, delegate, domain);
     this.enclosedElementsSupplier = () -> {
       final List<? extends UniversalElement> ees;
+      // Listing members may complete them lazily, so an open completion gate is not enough; take the domain lock.
       try (var lock = domain.lock()) {
         ees = this.wrap(this.delegate().getEnclosedElements());
         this.enclosedElementsSupplier = () -> ees;
@@ -279,7 +296,12 @@ public final class UniversalElement
 
   @Override // Element
   public final UniversalElement getEnclosingElement() {
-    return this.wrap(this.delegate().getEnclosingElement());
+    UniversalElement e = this.enclosingElement; // volatile read
+    if (e == null) {
+      e = this.wrap(this.delegate().getEnclosingElement());
+      this.enclosingElement = e; // volatile write
+    }
+    return e;
   }
 
   @Override // TypeParameterElement
@@ -301,12 +323,12 @@ public final class UniversalElement
 
   @Override // Element
   public final ElementKind getKind() {
-    return this.delegate().getKind();
+    return this.attributes().kind();
   }
 
   @Override // Element
   public final Set<Modifier> getModifiers() {
-    return this.delegate().getModifiers();
+    return this.attributes().modifiers();
   }
 
   @Override // TypeElement
@@ -328,14 +350,19 @@ public final class UniversalElement
   @Override // ModuleElement, PackageElement, TypeElement
   @SuppressWarnings("try")
   public final StringName getQualifiedName() {
-    return switch (this.getKind()) {
-    case ANNOTATION_TYPE, CLASS, ENUM, INTERFACE, MODULE, PACKAGE, RECORD -> {
-      try (var lock = this.domain().lock()) {
-        yield StringName.of(((QualifiedNameable)this.delegate()).getQualifiedName().toString(), this.domain());
+    StringName n = this.qualifiedName; // volatile read
+    if (n == null) {
+      n = switch (this.getKind()) {
+      case ANNOTATION_TYPE, CLASS, ENUM, INTERFACE, MODULE, PACKAGE, RECORD -> {
+        try (var lock = this.domain().lock()) {
+          yield StringName.of(((QualifiedNameable)this.delegate()).getQualifiedName().toString(), this.domain());
+        }
       }
+      default -> StringName.of("", this.domain());
+      };
+      this.qualifiedName = n; // volatile write
     }
-    default -> StringName.of("", this.domain());
-    };
+    return n;
   }
 
   @Override // ExecutableElement
@@ -362,9 +389,14 @@ public final class UniversalElement
   @Override // Element
   @SuppressWarnings("try")
   public final StringName getSimpleName() {
-    try (var lock = this.domain().lock()) {
-      return new StringName(this.delegate().getSimpleName().toString(), this.domain());
+    StringName n = this.simpleName; // volatile read
+    if (n == null) {
+      try (var lock = this.domain().lock()) {
+        n = new StringName(this.delegate().getSimpleName().toString(), this.domain());
+      }
+      this.simpleName = n; // volatile write
     }
+    return n;
   }
 
   @Override // TypeElement
@@ -439,6 +471,19 @@ public final class UniversalElement
     };
   }
 
+  // Returns the Attributes of this UniversalElement, capturing them from its delegate the first time. The delegate has
+  // been completed by then, so this reads only state that completion established. (Names are not among the Attributes
+  // because decoding them must always be serialized.)
+  private final Attributes attributes() {
+    Attributes a = this.attributes; // volatile read
+    if (a == null) {
+      final Element e = this.delegate(); // completes e
+      a = new Attributes(e.getKind(), e.getModifiers());
+      this.attributes = a; // volatile write
+    }
+    return a;
+  }
+
   private final UniversalElement wrap(final Element e) {
     return of(e, this.domain());
   }
@@ -480,6 +525,10 @@ public final class UniversalElement
    * Returns a {@link UniversalElement} that is either the supplied {@link Element} (if it itself is {@code null} or is
    * a {@link UniversalElement}) or one that wraps it.
    *
+   * <p>Wrapping is performed by {@linkplain PrimordialDomain#wrap(javax.lang.model.AnnotatedConstruct,
+   * java.util.function.BiFunction) the supplied <code>PrimordialDomain</code>}, which may return a canonical
+   * {@link UniversalElement}.</p>
+   *
    * @param e an {@link Element}; may be {@code null} in which case {@code null} will be returned
    *
    * @param domain a {@link PrimordialDomain}; must not be {@code null}
@@ -489,13 +538,23 @@ public final class UniversalElement
    * @exception NullPointerException if {@code domain} is {@code null}
    *
    * @see #UniversalElement(Element, PrimordialDomain)
+   *
+   * @see PrimordialDomain#wrap(javax.lang.model.AnnotatedConstruct, java.util.function.BiFunction)
    */
   public static final UniversalElement of(final Element e, final PrimordialDomain domain) {
     return switch (e) {
     case null -> null;
     case UniversalElement ue -> ue;
-    default -> new UniversalElement(e, domain);
+    default -> domain.wrap(e, UniversalElement::new);
     };
   }
 
+
+  /*
+   * Inner and nested classes.
+   */
+
+
+  private static final record Attributes(ElementKind kind, Set<Modifier> modifiers) {}
+
 }
@@ -435,6 +435,10 @@ public final class UniversalType
    * Returns a non-{@code null} {@link UniversalType} that is either the supplied {@link TypeMirror} (if it itself is
    * {@code null} or is a {@link UniversalType}) or one that wraps it.
    *
+   * <p>Wrapping is performed by {@linkplain PrimordialDomain#wrap(javax.lang.model.AnnotatedConstruct,
+   * java.util.function.BiFunction) the supplied <code>PrimordialDomain</code>}, which may return a canonical
+   * {@link UniversalType}.</p>
+   *
    * @param t a {@link TypeMirror}; may be {@code null} in which case {@code null} will be returned
    *
    * @param domain a {@link PrimordialDomain}; must not be {@code null}
@@ -444,12 +448,14 @@ public final class UniversalType
    * @exception NullPointerException if {@code domain} is {@code null}
    *
    * @see #UniversalType(TypeMirror, PrimordialDomain)
+   *
+   * @see PrimordialDomain#wrap(javax.lang.model.AnnotatedConstruct, java.util.function.BiFunction)
    */
   public static final UniversalType of(final TypeMirror t, final PrimordialDomain domain) {
     return switch (t) {
     case null -> null;
     case UniversalType ut -> ut;
-    default -> new UniversalType(t, domain);
+    default -> domain.wrap(t, UniversalType::new);
     };
   }
 
@@ -92,7 +92,7 @@ public final class TypeDescriptors {
   private static final TypeDescriptor typeDescriptor0(final TypeMirror t, final Domain d) {
     // Precondition: under domain lock
     return switch (t.getKind()) {
-    case ARRAY -> typeDescriptor0(((ArrayType)t).getComponentType(), d); // recursive
+    case ARRAY -> ((ClassDesc)typeDescriptor0(((ArrayType)t).getComponentType(), d)).arrayType(); // recursive
     case BOOLEAN -> CD_boolean;
     case BYTE -> CD_byte;
     case CHAR -> CD_char;
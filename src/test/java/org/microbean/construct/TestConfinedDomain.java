@@ -0,0 +1,131 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import org.microbean.construct.vm.Signatures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TestConfinedDomain {
+
+  private static ConfinedDomain domain;
+
+  private TestConfinedDomain() {
+    super();
+  }
+
+  @BeforeAll
+  static final void startDomain() {
+    domain = new ConfinedDomain();
+  }
+
+  @AfterAll
+  static final void closeDomain() {
+    domain.close();
+  }
+
+  @Test
+  final void testConcurrentQueries() throws Exception {
+    final String[] names = { "java.lang.Integer", "java.lang.Long", "java.lang.String", "java.util.List" };
+    final int callers = 128;
+    final ConfinedDomain d = new ConfinedDomain();
+    try (final ExecutorService x = Executors.newVirtualThreadPerTaskExecutor()) {
+      // Occupy the owner thread, so that every caller's task is queued before any of them is performed.
+      final CountDownLatch occupied = new CountDownLatch(1);
+      final CompletableFuture<Void> release = new CompletableFuture<>();
+      final CompletableFuture<Void> occupation = d.submit(dd -> {
+          occupied.countDown();
+          return release.join();
+        });
+      occupied.await();
+      final CountDownLatch submitted = new CountDownLatch(callers);
+      final List<Future<String>> futures = new ArrayList<>();
+      for (int i = 0; i < callers; i++) {
+        final String name = names[i % names.length];
+        final int caller = i;
+        futures.add(x.submit(() -> {
+              final CompletableFuture<String> f = d.submit(dd -> caller + ":" + dd.typeElement(name).getQualifiedName());
+              submitted.countDown();
+              return f.join();
+            }));
+      }
+      submitted.await();
+      release.complete(null);
+      occupation.join();
+      for (int i = 0; i < callers; i++) {
+        assertEquals(i + ":" + names[i % names.length], futures.get(i).get());
+      }
+      // The owner thread performs tasks one after another, so once this one is done, all earlier batches are counted.
+      d.submit(dd -> null).join();
+      assertTrue(d.tasks() > callers);
+      assertTrue(d.batches() < d.tasks());
+    } finally {
+      d.close();
+    }
+  }
+
+  @Test
+  final void testSubmit() {
+    // Submitting from a task runs the nested task immediately rather than deadlocking.
+    assertEquals("List",
+                 domain.submit(d -> domain.submit(d2 -> d2.typeElement("java.util.List")).join().getSimpleName().toString())
+                 .join());
+  }
+
+  @Test
+  @SuppressWarnings("try")
+  final void testOperationsUnderLock() {
+    // Signatures holds the domain's lock while it invokes other Domain methods on it.
+    assertEquals("<E:Ljava/lang/Object;>Ljava/util/AbstractList<TE;>;Ljava/util/List<TE;>;Ljava/util/RandomAccess;Ljava/lang/Cloneable;Ljava/io/Serializable;",
+                 Signatures.signature(domain.typeElement("java.util.ArrayList"), domain));
+    try (var lock = domain.lock()) {
+      assertEquals("String", domain.typeElement("java.lang.String").getSimpleName().toString());
+      assertEquals("List", domain.submit(d -> d.typeElement("java.util.List")).join().getSimpleName().toString());
+    }
+  }
+
+  @Test
+  final void testExceptionsPropagate() {
+    assertThrows(NullPointerException.class, () -> domain.assignable(null, null));
+  }
+
+  @Test
+  final void testClose() {
+    final ConfinedDomain d = new ConfinedDomain(1);
+    d.close();
+    d.close();
+    assertThrows(IllegalStateException.class, () -> d.typeElement("java.lang.String"));
+  }
+
+  @Test
+  final void testBadArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new ConfinedDomain(0));
+  }
+
+}
@@ -15,16 +15,30 @@ package org.microbean.construct;
 
 import java.lang.annotation.Inherited;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.Name;
+import javax.lang.model.element.NestingKind;
 import javax.lang.model.element.TypeElement;
 
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.PrimitiveType;
 import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
 
 import org.junit.jupiter.api.Test;
 
@@ -32,10 +46,12 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import org.microbean.construct.element.AnnotationMirrors;
 import org.microbean.construct.element.UniversalElement;
 
 import org.microbean.construct.type.UniversalType;
@@ -44,6 +60,9 @@ final class TestDefaultDomain {
 
   private static final DefaultDomain domain = new DefaultDomain();
 
+  // Read reflectively by testReflectionIsMemoized().
+  private Map<String, List<? extends Number>> reflected;
+
   private TestDefaultDomain() {
     super();
   }
@@ -136,6 +155,173 @@ final class TestDefaultDomain {
                               domain.primitiveType(TypeKind.LONG)));
   }
 
+  @Test
+  final void testPrimitiveRelationsElideLock() {
+    final DefaultDomain d = new DefaultDomain(new ReentrantLock());
+    final UniversalType i = d.primitiveType(TypeKind.INT);
+    final UniversalType l = d.primitiveType(TypeKind.LONG);
+    final UniversalType c = d.primitiveType(TypeKind.CHAR);
+    final UniversalType b = d.primitiveType(TypeKind.BYTE);
+    final UniversalType i2 = d.primitiveType(TypeKind.INT);
+    // Completing a construct's delegate the first time locks; do that now.
+    for (final UniversalType t : List.of(i, l, c, b, i2)) {
+      t.getKind();
+    }
+    final long acquisitions = d.lockAcquisitions();
+    final long elisions = d.lockElisions();
+    assertTrue(d.subtype(i, l));
+    assertFalse(d.subtype(l, i));
+    assertFalse(d.subtype(b, c));
+    assertTrue(d.assignable(c, i));
+    assertTrue(d.sameType(i, i2));
+    assertFalse(d.sameType(i, l));
+    final UniversalType e = d.erasure(i);
+    assertEquals(acquisitions, d.lockAcquisitions());
+    assertEquals(elisions + 7, d.lockElisions());
+    assertSame(TypeKind.INT, e.getKind());
+    assertTrue(d.subtype(d.declaredType("java.lang.String"), d.javaLangObjectType()));
+    assertTrue(d.lockAcquisitions() > acquisitions);
+  }
+
+  @Test
+  @SuppressWarnings("try")
+  final void testFirstTouchOfCompletedClassElidesLock() {
+    final DefaultDomain d = new DefaultDomain(new ReentrantLock());
+    final Element e = d.elements().getTypeElement("java.util.AbstractMap");
+    // Completes java.util.AbstractMap, with its members and member classes, and opens its gate (unless another test
+    // already has).
+    try (var lock = d.lock(e)) {
+      assertNotNull(e.getModifiers());
+    }
+    final long acquisitions = d.lockAcquisitions();
+    final long elisions = d.lockElisions();
+    for (final Element ee : e.getEnclosedElements()) {
+      try (var lock = d.lock(ee)) {
+        ee.getModifiers();
+      }
+    }
+    assertEquals(acquisitions, d.lockAcquisitions());
+    assertTrue(d.lockElisions() > elisions);
+    // Packages that have not been precompleted have no gate.
+    try (var lock = d.lock(d.elements().getPackageElement("java.util"))) {
+      assertTrue(d.lockAcquisitions() > acquisitions);
+    }
+  }
+
+  @Test
+  @SuppressWarnings("try")
+  final void testPrecompleteAndFreeze() {
+    final DefaultDomain d = new DefaultDomain(new ReentrantLock());
+    assertTrue(d.precomplete(List.of("java.lang.annotation")) > 0);
+    d.freeze();
+    assertTrue(d.frozen());
+    final Element p = d.elements().getPackageElement("java.lang.annotation");
+    final long acquisitions = d.lockAcquisitions();
+    try (var lock = d.lock(p)) {
+      for (final Element e : p.getEnclosedElements()) {
+        try (var lock2 = d.lock(e)) {
+          e.getAnnotationMirrors();
+        }
+      }
+    }
+    assertEquals(acquisitions, d.lockAcquisitions());
+    // Not reachable from java.lang.annotation, so never precompleted by any test.
+    final Element e = d.elements().getTypeElement("javax.lang.model.util.ElementScanner14");
+    assertThrows(IllegalStateException.class, () -> d.lock(e));
+  }
+
+  @Test
+  @SuppressWarnings("try")
+  final void testInterruptIsNotContention() {
+    final DefaultDomain d = new DefaultDomain(new ReentrantLock(true));
+    final long acquisitions = d.lockAcquisitions();
+    final long contentions = d.lockContentions();
+    Thread.currentThread().interrupt();
+    try (var lock = d.lock()) {
+      assertTrue(Thread.interrupted()); // restored, and now cleared
+    }
+    assertEquals(acquisitions + 1, d.lockAcquisitions());
+    assertEquals(contentions, d.lockContentions());
+  }
+
+  @Test
+  final void testElementAttributesAreCaptured() {
+    final DefaultDomain d = new DefaultDomain(new ReentrantLock());
+    final UniversalElement e = d.typeElement("java.util.Map.Entry");
+    assertSame(ElementKind.INTERFACE, e.getKind());
+    final Name simpleName = e.getSimpleName();
+    final Name qualifiedName = e.getQualifiedName();
+    final long acquisitions = d.lockAcquisitions();
+    assertSame(simpleName, e.getSimpleName());
+    assertSame(qualifiedName, e.getQualifiedName());
+    assertSame(e.getEnclosingElement(), e.getEnclosingElement());
+    assertSame(e.getModifiers(), e.getModifiers());
+    assertSame(NestingKind.MEMBER, e.getNestingKind());
+    assertEquals(acquisitions, d.lockAcquisitions());
+    assertTrue(qualifiedName.contentEquals("java.util.Map.Entry"));
+    assertTrue(e.getEnclosingElement().getSimpleName().contentEquals("Map"));
+  }
+
+  @Test
+  final void testBatch() {
+    final DefaultDomain d = new DefaultDomain(new ReentrantLock());
+    final long acquisitions = d.lockAcquisitions();
+    final List<?> results = d.batch(b -> {
+        final TypeMirror t = b.erasure(b.typeElement("java.util.ArrayList").asType());
+        return List.of(b.directSupertypes(t), b.subtype(t, b.declaredType("java.util.List")));
+      });
+    assertEquals(acquisitions + 1, d.lockAcquisitions());
+    assertEquals(Boolean.TRUE, results.get(1));
+  }
+
+  @Test
+  @SuppressWarnings("try")
+  final void testAnnotationsOfCompletedClassAreReadUnderLock() throws InterruptedException {
+    final ReentrantLock l = new ReentrantLock();
+    final DefaultDomain d = new DefaultDomain(l);
+    final Element abstractMap = d.elements().getTypeElement("java.util.AbstractMap");
+    try (var lock = d.lock(abstractMap)) {
+      abstractMap.getModifiers();
+    }
+    assertTrue(CompletionGates.open(abstractMap));
+    final Element member = abstractMap.getEnclosedElements().get(0);
+    final Element treeMap = d.elements().getTypeElement("java.util.TreeMap");
+    final CountDownLatch held = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    // Holds the domain lock while it completes a sibling class.
+    final Thread completer = new Thread(() -> {
+      try (var lock = d.lock()) {
+        held.countDown();
+        release.await();
+        try (var lock2 = d.lock(treeMap)) {
+          treeMap.getModifiers();
+        }
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    completer.start();
+    held.await();
+    final List<List<AnnotationMirror>> results = new CopyOnWriteArrayList<>();
+    final Thread reader = new Thread(() -> {
+      for (final Element ee : abstractMap.getEnclosedElements()) {
+        results.add(UniversalElement.of(ee, d).getAnnotationMirrors());
+      }
+    });
+    reader.start();
+    // The gate is open, but reading annotations still waits for the domain lock.
+    for (int i = 0; i < 500 && !l.hasQueuedThread(reader); i++) {
+      Thread.sleep(10L);
+    }
+    assertTrue(l.hasQueuedThread(reader));
+    assertTrue(results.isEmpty());
+    release.countDown();
+    completer.join();
+    reader.join();
+    assertEquals(abstractMap.getEnclosedElements().size(), results.size());
+    assertEquals(member.getAnnotationMirrors().size(), results.get(0).size());
+  }
+
   @Test
   final void testListString() {
     final UniversalType t = domain.declaredType(domain.typeElement("java.util.List"),
@@ -179,6 +365,189 @@ final class TestDefaultDomain {
     assertEquals(e0, e1);
   }
 
+  @Test
+  final void testCanonicalElements() {
+    final DefaultDomain d = new DefaultDomain(null, null, null, new Canonicalizer());
+    final UniversalElement e0 = d.typeElement("java.lang.String");
+    assertSame(e0, d.typeElement("java.lang.String"));
+    assertSame(e0, d.declaredType("java.lang.String").asElement());
+    assertSame(e0.asType(), d.typeElement("java.lang.String").asType());
+    final UniversalElement deprecated = d.typeElement("java.lang.Deprecated");
+    final Element e1 = d.annotate(List.of(), deprecated);
+    assertNotSame(deprecated, e1);
+    assertEquals(deprecated, e1);
+    assertEquals(0, e1.getAnnotationMirrors().size());
+    assertEquals(3, d.typeElement("java.lang.Deprecated").getAnnotationMirrors().size()); // canonical one unaffected
+    assertThrows(UnsupportedOperationException.class, () -> deprecated.replaceAnnotationMirrors(List.of()));
+    assertThrows(UnsupportedOperationException.class, () -> deprecated.asType().replaceAnnotationMirrors(List.of()));
+    final UniversalElement copy = new UniversalElement(deprecated); // copies are not canonical
+    copy.replaceAnnotationMirrors(List.of());
+    assertEquals(0, copy.getAnnotationMirrors().size());
+    assertEquals(3, deprecated.getAnnotationMirrors().size());
+  }
+
+  @Test
+  final void testCanonicalizerHoldsNothingStrongly() throws InterruptedException {
+    final Canonicalizer c = new Canonicalizer();
+    final DefaultDomain d = new DefaultDomain(null, null, null, c);
+    UniversalElement e = d.typeElement("java.util.concurrent.ConcurrentSkipListMap");
+    assertTrue(c.size() > 0L);
+    e = null;
+    // Wrappers that nothing else refers to are discarded, along with their entries.
+    for (int i = 0; i < 100 && c.size() > 0L; i++) {
+      System.gc();
+      Thread.sleep(10L);
+    }
+    assertEquals(0L, c.size());
+  }
+
+  @Test
+  final void testCanonicalizerAfterClose() {
+    final RuntimeProcessingEnvironmentSupplier s = RuntimeProcessingEnvironmentSupplier.newInstance();
+    try {
+      final Canonicalizer c = new Canonicalizer();
+      final DefaultDomain d = DefaultDomain.of(s, new ReentrantLock(), null, c);
+      final UniversalElement string = d.typeElement("java.lang.String");
+      assertSame(string, d.typeElement("java.lang.String"));
+      s.close();
+      // Wrappers of the previous ProcessingEnvironment's constructs are discarded even though they are still referred to.
+      final UniversalElement newString = d.typeElement("java.lang.String");
+      assertNotSame(string.delegate(), newString.delegate());
+      assertEquals(1L, c.size());
+      assertSame(newString, d.typeElement("java.lang.String"));
+    } finally {
+      s.close();
+    }
+  }
+
+  @Test
+  final void testAnnotationMirrorsAreImmutableAndShared() {
+    final UniversalElement deprecated = domain.typeElement("java.lang.Deprecated");
+    final List<AnnotationMirror> as = deprecated.getAnnotationMirrors();
+    assertEquals(3, as.size());
+    assertThrows(UnsupportedOperationException.class, () -> as.clear());
+    final UniversalElement copy = new UniversalElement(deprecated);
+    assertSame(as, copy.getAnnotationMirrors());
+    assertSame(copy, domain.annotate(List.of(), copy)); // not canonicalizing, so replaced in place
+    assertEquals(0, copy.getAnnotationMirrors().size());
+    assertSame(as, deprecated.getAnnotationMirrors());
+    assertSame(List.of(), domain.typeElement("java.lang.Object").getAnnotationMirrors());
+    // Constructs bridged from reflective objects are not shared, so annotating one leaves others alone.
+    final UniversalElement deprecatedClass = domain.typeElement(Deprecated.class.getName());
+    final TypeMirror deprecatedType = domain.type(Deprecated.class);
+    domain.annotate(deprecatedClass.getAnnotationMirrors(), deprecatedType);
+    assertEquals(3, deprecatedType.getAnnotationMirrors().size());
+    assertEquals(0, domain.type(Deprecated.class).getAnnotationMirrors().size());
+  }
+
+  @Test
+  final void testReflectionIsMemoized() throws ReflectiveOperationException {
+    final Type t = TestDefaultDomain.class.getDeclaredField("reflected").getGenericType();
+    final UniversalType tm = domain.type(t);
+    assertTrue(tm.toString().contains("java.util.List<? extends java.lang.Number>"));
+    assertSame(tm.delegate(), domain.type(t).delegate());
+    assertSame(domain.type(String.class).delegate(), domain.type(String.class).delegate());
+    final Method lengthMethod = String.class.getMethod("length");
+    final UniversalElement length = domain.executableElement(lengthMethod);
+    assertTrue(length.getSimpleName().contentEquals("length"));
+    assertSame(length.delegate(), domain.executableElement(lengthMethod).delegate());
+    final Field maxValueField = Integer.class.getField("MAX_VALUE");
+    final UniversalElement maxValue = domain.variableElement(maxValueField);
+    assertTrue(maxValue.getSimpleName().contentEquals("MAX_VALUE"));
+    assertSame(maxValue.delegate(), domain.variableElement(maxValueField).delegate());
+  }
+
+  @Test
+  final void testReflectionIsMemoizedAcrossEqualObjects() throws ReflectiveOperationException {
+    final InstrumentedLock l = new InstrumentedLock();
+    final DefaultDomain d = DefaultDomain.of(RuntimeProcessingEnvironmentSupplier.of(), l);
+    // The reflective objects bridged here are not retained, and may be reclaimed.
+    final Element indexOf = d.executableElement(String.class.getMethod("indexOf", String.class, int.class)).delegate();
+    final TypeMirror reflected = d.type(TestDefaultDomain.class.getDeclaredField("reflected").getGenericType()).delegate();
+    System.gc();
+    // A separately obtained but equal Method or Type finds what was memoized without consulting the compiler.
+    final Method m1 = String.class.getMethod("indexOf", String.class, int.class);
+    final Type t1 = TestDefaultDomain.class.getDeclaredField("reflected").getGenericType();
+    final long acquisitions = l.statistics().acquisitions();
+    final UniversalElement e1 = d.executableElement(m1);
+    final UniversalType tm1 = d.type(t1);
+    assertEquals(acquisitions, l.statistics().acquisitions());
+    assertSame(indexOf, e1.delegate());
+    assertSame(reflected, tm1.delegate());
+    // A different overload is not confused with it.
+    assertNotSame(indexOf, d.executableElement(String.class.getMethod("indexOf", int.class, int.class)).delegate());
+  }
+
+  @Test
+  final void testCachesAfterClose() throws ReflectiveOperationException {
+    final Field maxValueField = Integer.class.getField("MAX_VALUE");
+    final RuntimeProcessingEnvironmentSupplier s = RuntimeProcessingEnvironmentSupplier.newInstance();
+    try {
+      final DefaultDomain d = DefaultDomain.of(s, new ReentrantLock());
+      final Element maxValue = d.variableElement(maxValueField).delegate();
+      assertSame(maxValue, d.variableElement(maxValueField).delegate());
+      assertSame(maxValue, d.variableElement(d.typeElement("java.lang.Integer"), "MAX_VALUE").delegate());
+      final AnnotationMirror a = d.allAnnotationMirrors(d.typeElement(Lowest.class.getCanonicalName())).get(0);
+      final Element inheritMeToo = UniversalConstruct.unwrap(a.getAnnotationType().asElement());
+      final Set<String> names = d.metaAnnotationInterfaceNames(d.typeElement("java.lang.Deprecated"));
+      s.close();
+      // The ProcessingEnvironment, and every symbol, is new; nothing memoized before closing may be returned.
+      final Element newMaxValue = d.variableElement(maxValueField).delegate();
+      assertNotSame(maxValue, newMaxValue);
+      assertSame(d.typeElement("java.lang.Integer").delegate(), newMaxValue.getEnclosingElement());
+      assertSame(newMaxValue, d.variableElement(d.typeElement("java.lang.Integer"), "MAX_VALUE").delegate());
+      final AnnotationMirror newA = d.allAnnotationMirrors(d.typeElement(Lowest.class.getCanonicalName())).get(0);
+      final Element newInheritMeToo = UniversalConstruct.unwrap(newA.getAnnotationType().asElement());
+      assertNotSame(inheritMeToo, newInheritMeToo);
+      assertSame(d.typeElement(InheritMeToo.class.getCanonicalName()).delegate(), newInheritMeToo);
+      final UniversalElement newDeprecated = d.typeElement("java.lang.Deprecated");
+      final Set<String> newNames = d.metaAnnotationInterfaceNames(newDeprecated);
+      assertNotSame(names, newNames);
+      assertEquals(names, newNames);
+      assertSame(newNames, d.metaAnnotationInterfaceNames(newDeprecated));
+    } finally {
+      s.close();
+    }
+  }
+
+  @Test
+  final void testTypeRelationCacheAfterClose() {
+    final RuntimeProcessingEnvironmentSupplier s = RuntimeProcessingEnvironmentSupplier.newInstance();
+    try {
+      final TypeRelationCache cache = new TypeRelationCache(16);
+      final DefaultDomain d = DefaultDomain.of(s, new ReentrantLock(), cache, null);
+      final UniversalType integer = d.declaredType("java.lang.Integer");
+      assertTrue(d.subtype(integer, d.declaredType("java.lang.Number")));
+      assertEquals(1L, cache.size());
+      s.close();
+      // Relations among the previous ProcessingEnvironment's types are discarded, not retained alongside new ones.
+      final UniversalType newInteger = d.declaredType("java.lang.Integer");
+      assertNotSame(integer.delegate(), newInteger.delegate());
+      assertTrue(d.subtype(newInteger, d.declaredType("java.lang.Number")));
+      assertEquals(1L, cache.size());
+      assertEquals(0L, cache.hits());
+    } finally {
+      s.close();
+    }
+  }
+
+  @Test
+  final void testIndexedMemberLookups() {
+    final UniversalElement sb = domain.typeElement("java.lang.StringBuilder");
+    final UniversalType string = domain.declaredType("java.lang.String");
+    final UniversalElement append = domain.executableElement(sb, sb.asType(), "append", string);
+    assertEquals(ElementKind.METHOD, append.getKind());
+    assertTrue(domain.sameType(string, append.getParameters().get(0).asType()));
+    assertSame(append.delegate(), domain.executableElement(sb, sb.asType(), "append", string).delegate());
+    assertNull(domain.executableElement(sb, domain.noType(TypeKind.VOID), "append", string));
+    final UniversalElement hashMap = domain.typeElement("java.util.HashMap");
+    assertEquals(ElementKind.FIELD, domain.variableElement(hashMap, "table").getKind());
+    // A method, not a variable, bears this name.
+    assertNull(domain.variableElement(domain.typeElement("java.lang.String"), "length"));
+    assertEquals(ElementKind.TYPE_PARAMETER, domain.typeParameterElement(hashMap, "K").getKind());
+    assertNull(domain.typeParameterElement(hashMap, "T"));
+  }
+
   @Test
   final void testSameTypes() {
     final UniversalType t0 = domain.declaredType("java.lang.String");
@@ -202,12 +571,47 @@ final class TestDefaultDomain {
     assertEquals(1, as.size()); // @InheritMe
   }
 
+  @Test
+  final void testAllAnnotationsMemoized() {
+    final TypeElement e0 = domain.typeElement(Lowest.class.getCanonicalName());
+    final List<? extends AnnotationMirror> as = domain.allAnnotationMirrors(e0);
+    // @InheritMeToo (from Middle; Middle's @InheritMe is not inherited because Lowest's is directly present), @InheritMe
+    assertEquals(2, as.size());
+    assertEquals(as, AnnotationMirrors.allAnnotationMirrors(UniversalElement.of(e0, domain)));
+    assertEquals(as, domain.allAnnotationMirrors(e0));
+    assertThrows(UnsupportedOperationException.class, () -> as.remove(0));
+  }
+
+  @Test
+  final void testMetaAnnotationInterfaceNames() {
+    final TypeElement deprecated = domain.typeElement("java.lang.Deprecated");
+    final Set<String> names = domain.metaAnnotationInterfaceNames(deprecated);
+    // @Documented, @Retention, @Target, each of which is (meta-) annotated with all three, cyclically
+    assertEquals(Set.of("java.lang.annotation.Documented", "java.lang.annotation.Retention", "java.lang.annotation.Target"),
+                 names);
+    assertEquals(names, AnnotationMirrors.metaAnnotationInterfaceNames(UniversalElement.of(deprecated, domain)));
+    assertSame(names, domain.metaAnnotationInterfaceNames(deprecated));
+    assertTrue(domain.metaAnnotated(domain.typeElement("java.lang.annotation.Documented"), "java.lang.annotation.Documented"));
+    assertFalse(domain.metaAnnotated(deprecated, "java.lang.Deprecated"));
+    assertThrows(UnsupportedOperationException.class, () -> names.add("java.lang.Deprecated"));
+  }
+
   @Inherited
   @interface InheritMe {}
 
+  @Inherited
+  @interface InheritMeToo {}
+
   @InheritMe
   private static class Top {}
 
   private static class Bottom extends Top {}
 
+  @InheritMe
+  @InheritMeToo
+  private static class Middle extends Top {}
+
+  @InheritMe
+  private static class Lowest extends Middle {}
+
 }
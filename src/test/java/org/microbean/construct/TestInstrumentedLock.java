@@ -0,0 +1,103 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct;
+
+import java.util.concurrent.CountDownLatch;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.jupiter.api.Test;
+
+import org.microbean.construct.type.UniversalType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TestInstrumentedLock {
+
+  private TestInstrumentedLock() {
+    super();
+  }
+
+  @Test
+  @SuppressWarnings("try")
+  final void testStatistics() {
+    // Wrap the global lock so that symbol completion stays serialized with other tests using the runtime environment.
+    final InstrumentedLock lock = new InstrumentedLock(SymbolCompletionLock.INSTANCE, true);
+    final DefaultDomain domain = new DefaultDomain(lock);
+    final UniversalType string = domain.declaredType("java.lang.String");
+    final UniversalType object = domain.javaLangObjectType();
+    string.getKind();
+    object.getKind();
+    lock.reset();
+    assertTrue(domain.subtype(string, object));
+    InstrumentedLock.Statistics s = lock.statistics();
+    assertEquals(1L, s.acquisitions());
+    assertEquals(1, s.maximumDepth());
+    assertEquals(1L, s.operations().get("DefaultDomain.subtype").acquisitions());
+    try (var u0 = domain.lock(); var u1 = domain.lock()) { // u1 does not reacquire
+      assertTrue(SymbolCompletionLock.INSTANCE.isHeldByCurrentThread());
+      lock.lock();
+      lock.unlock();
+    }
+    s = lock.statistics();
+    assertEquals(3L, s.acquisitions());
+    assertEquals(1L, s.reentrantAcquisitions());
+    assertEquals(2, s.maximumDepth());
+  }
+
+  @Test
+  @SuppressWarnings("try")
+  final void testContendedAcquisition() throws InterruptedException {
+    final InstrumentedLock lock = new InstrumentedLock();
+    final DefaultDomain domain = new DefaultDomain(lock);
+    final CountDownLatch held = new CountDownLatch(1);
+    final Thread holder = Thread.ofPlatform().start(() -> {
+        lock.lock();
+        try {
+          held.countDown();
+          Thread.sleep(100L);
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } finally {
+          lock.unlock();
+        }
+      });
+    held.await();
+    try (var u = domain.lock()) {
+      assertTrue(lock.isHeldByCurrentThread());
+    }
+    holder.join();
+    final InstrumentedLock.Statistics s = lock.statistics();
+    assertEquals(2L, s.acquisitions()); // one each, however long the wait
+    assertEquals(1L, s.contentions());
+    assertEquals(1L, domain.lockAcquisitions());
+    assertEquals(1L, domain.lockContentions());
+  }
+
+  @Test
+  @SuppressWarnings("try")
+  final void testInterruptIsNotContention() {
+    final InstrumentedLock lock = new InstrumentedLock(new ReentrantLock(true));
+    final DefaultDomain domain = new DefaultDomain(lock);
+    Thread.currentThread().interrupt();
+    try (var u = domain.lock()) {
+      assertTrue(Thread.interrupted()); // restored, and now cleared
+    }
+    assertEquals(1L, lock.statistics().acquisitions());
+    assertEquals(0L, lock.statistics().contentions());
+    assertEquals(0L, domain.lockContentions());
+  }
+
+}
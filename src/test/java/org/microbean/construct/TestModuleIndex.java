@@ -0,0 +1,82 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import java.lang.module.ModuleReference;
+import java.lang.module.ResolvedModule;
+
+import java.util.List;
+import java.util.Set;
+
+import javax.tools.JavaFileObject;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TestModuleIndex {
+
+  private TestModuleIndex() {
+    super();
+  }
+
+  @Test
+  final void testOpenInputStream() throws IOException {
+    final Module m = this.getClass().getModule();
+    final ModuleReference mref = m.getLayer().configuration().findModule(m.getName()).map(ResolvedModule::reference).orElseThrow();
+    final JavaFileRecord r;
+    try (final ModuleIndex index = new ModuleIndex(mref)) {
+      r = index.find("org.microbean.construct.DefaultDomain", JavaFileObject.Kind.CLASS);
+      try (final InputStream is = r.openInputStream()) {
+        final byte[] magic = is.readNBytes(4);
+        assertEquals(0xCAFEBABE, ((magic[0] & 0xFF) << 24) | ((magic[1] & 0xFF) << 16) | ((magic[2] & 0xFF) << 8) | (magic[3] & 0xFF));
+      }
+    }
+    // Closing the index closes its ModuleReader.
+    assertThrows(IOException.class, r::openInputStream);
+  }
+
+  @Test
+  final void testListAndFind() throws IOException {
+    final Module m = this.getClass().getModule();
+    final ModuleReference mref = m.getLayer().configuration().findModule(m.getName()).map(ResolvedModule::reference).orElseThrow();
+    try (final ModuleIndex index = new ModuleIndex(mref)) {
+      final Set<JavaFileObject.Kind> classes = Set.of(JavaFileObject.Kind.CLASS);
+      final List<String> direct = binaryNames(index.list("org.microbean.construct", classes, false));
+      assertTrue(direct.contains("org.microbean.construct.DefaultDomain"));
+      assertFalse(direct.contains("org.microbean.construct.element.UniversalElement"));
+
+      final List<String> recursive = binaryNames(index.list("org.microbean.construct", classes, true));
+      assertTrue(recursive.containsAll(direct));
+      assertTrue(recursive.contains("org.microbean.construct.element.UniversalElement"));
+      assertEquals(List.of(), index.list("org.microbean.construct.element.UniversalElement", classes, true));
+
+      assertNotNull(index.find("org.microbean.construct.DefaultDomain", JavaFileObject.Kind.CLASS));
+      assertNull(index.find("org.microbean.construct.NoSuchClass", JavaFileObject.Kind.CLASS));
+    }
+  }
+
+  private static final List<String> binaryNames(final List<? extends JavaFileRecord> records) {
+    return records.stream().map(JavaFileRecord::binaryName).toList();
+  }
+
+}
@@ -0,0 +1,93 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct;
+
+import java.util.BitSet;
+import java.util.List;
+
+import javax.lang.model.type.TypeMirror;
+
+import org.junit.jupiter.api.Test;
+
+import static javax.lang.model.type.TypeKind.BYTE;
+import static javax.lang.model.type.TypeKind.INT;
+import static javax.lang.model.type.TypeKind.LONG;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TestRelationMatrix {
+
+  private static final DefaultDomain domain = new DefaultDomain();
+
+  private TestRelationMatrix() {
+    super();
+  }
+
+  @Test
+  final void testMatricesAgreeWithPairwiseRelations() {
+    final TypeMirror string = domain.declaredType("java.lang.String");
+    final TypeMirror object = domain.declaredType("java.lang.Object");
+    final List<TypeMirror> types =
+      List.of(string,
+              domain.declaredType("java.lang.CharSequence"),
+              object,
+              domain.declaredType("java.lang.Number"),
+              domain.declaredType("java.lang.Integer"),
+              domain.declaredType(domain.typeElement("java.util.List"), string),
+              domain.declaredType(domain.typeElement("java.util.List"), object),
+              domain.declaredType(domain.typeElement("java.util.ArrayList"), string),
+              domain.erasure(domain.declaredType("java.util.ArrayList")),
+              domain.erasure(domain.declaredType("java.util.List")),
+              domain.primitiveType(INT),
+              domain.primitiveType(LONG),
+              domain.primitiveType(BYTE),
+              domain.arrayTypeOf(string),
+              domain.arrayTypeOf(object));
+    final RelationMatrix assignable = domain.assignableMatrix(types, types);
+    final RelationMatrix subtype = domain.subtypeMatrix(types, types);
+    assertEquals(types.size(), assignable.rows());
+    assertEquals(types.size(), assignable.columns());
+    for (int i = 0; i < types.size(); i++) {
+      for (int j = 0; j < types.size(); j++) {
+        assertEquals(domain.assignable(types.get(i), types.get(j)), assignable.get(i, j));
+        assertEquals(domain.subtype(types.get(i), types.get(j)), subtype.get(i, j));
+      }
+    }
+  }
+
+  @Test
+  final void testAccessors() {
+    final RelationMatrix m = new RelationMatrix(2, 3);
+    m.set(0, 1);
+    m.set(1, 1);
+    m.set(1, 2);
+    assertEquals(3, m.cardinality());
+    assertTrue(m.get(1, 2));
+    assertFalse(m.get(0, 2));
+    final BitSet column = new BitSet();
+    column.set(0, 2);
+    assertEquals(column, m.column(1));
+    final BitSet row = new BitSet();
+    row.set(1, 3);
+    assertEquals(row, m.row(1));
+    assertEquals("010\n011", m.toString());
+    assertThrows(IndexOutOfBoundsException.class, () -> m.get(2, 0));
+    assertThrows(IllegalArgumentException.class, () -> new RelationMatrix(-1, 0));
+    assertThrows(NullPointerException.class, () -> domain.subtypeMatrix(List.of(domain.javaLangObjectType()), null));
+  }
+
+}
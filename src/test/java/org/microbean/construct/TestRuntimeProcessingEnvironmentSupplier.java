@@ -13,6 +13,13 @@
  */
 package org.microbean.construct;
 
+import java.util.List;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import java.util.concurrent.locks.ReentrantLock;
+
 import java.util.function.Supplier;
 
 import javax.annotation.processing.ProcessingEnvironment;
@@ -23,7 +30,10 @@ import org.junit.jupiter.api.Test;
 
 import org.junit.jupiter.api.parallel.Isolated;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Isolated
 final class TestRuntimeProcessingEnvironmentSupplier {
@@ -79,4 +89,33 @@ final class TestRuntimeProcessingEnvironmentSupplier {
     assertNotNull(pe.get());
   }
 
+  @Test
+  final void testWarmUp() {
+    final WarmUp w = ((RuntimeProcessingEnvironmentSupplier)pe).warmUp(List.of("java.lang", "java.util.Map", "no.such.Thing")).join();
+    assertNotNull(w.bootstrap());
+    assertEquals(List.of("java.lang", "java.util.Map"), List.copyOf(w.completions().keySet()));
+    assertEquals(List.of("no.such.Thing"), w.unresolved());
+    assertTrue(w.total().compareTo(w.bootstrap()) >= 0);
+  }
+
+  @Test
+  final void testCloseDuringWarmUp() throws InterruptedException {
+    final RuntimeProcessingEnvironmentSupplier s = RuntimeProcessingEnvironmentSupplier.newInstance();
+    final ReentrantLock lock = new ReentrantLock();
+    final CompletableFuture<WarmUp> f;
+    lock.lock();
+    try {
+      f = s.warmUp(lock, List.of("java.lang", "java.util"));
+      // Wait for warm-up to reach its first completion.
+      while (!lock.hasQueuedThreads()) {
+        Thread.sleep(10L);
+      }
+      s.close();
+    } finally {
+      lock.unlock();
+    }
+    final CompletionException e = assertThrows(CompletionException.class, f::join);
+    assertTrue(e.getCause() instanceof ClosedProcessorException);
+  }
+
 }
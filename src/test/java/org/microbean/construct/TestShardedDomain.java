@@ -0,0 +1,149 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct;
+
+import java.lang.reflect.Type;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.lang.model.type.TypeMirror;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import org.microbean.construct.element.UniversalElement;
+
+import org.microbean.construct.type.UniversalType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TestShardedDomain {
+
+  private static ShardedDomain domain;
+
+  private TestShardedDomain() {
+    super();
+  }
+
+  @BeforeAll
+  static final void startDomain() {
+    domain = new ShardedDomain(2);
+  }
+
+  @AfterAll
+  static final void closeDomain() {
+    domain.close();
+  }
+
+  @Test
+  final void testConstructsStayInTheirShards() {
+    final UniversalType string = domain.declaredType("java.lang.String");
+    final UniversalType charSequence = domain.declaredType("java.lang.CharSequence");
+    assertSame(string.domain(), charSequence.domain()); // same thread, same shard
+    assertTrue(domain.subtype(string, charSequence));
+    assertSame(string.domain(), domain.erasure(string).domain());
+  }
+
+  @Test
+  final void testConcurrentQueries() throws Exception {
+    final ExecutorService x = Executors.newFixedThreadPool(4);
+    try {
+      final List<Future<Boolean>> futures = new ArrayList<>();
+      for (int i = 0; i < 32; i++) {
+        futures.add(x.submit(() -> domain.subtype(domain.declaredType("java.lang.Integer"),
+                                                  domain.declaredType("java.lang.Number"))));
+      }
+      for (final Future<Boolean> f : futures) {
+        assertTrue(f.get());
+      }
+    } finally {
+      x.shutdown();
+    }
+  }
+
+  @Test
+  final void testBadArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new ShardedDomain(0));
+  }
+
+  @Test
+  final void testForeignConstructsAreRejected() {
+    final UniversalType foreign = new DefaultDomain().declaredType("java.lang.String");
+    assertThrows(IllegalArgumentException.class, () -> domain.erasure(foreign));
+    assertThrows(IllegalArgumentException.class, () -> domain.erasure(foreign.delegate())); // raw javac type
+    final UniversalType string = domain.declaredType("java.lang.String");
+    assertThrows(IllegalArgumentException.class, () -> domain.subtype(string, foreign));
+    assertThrows(IllegalArgumentException.class, () -> domain.subtypeMatrix(List.of(string), List.of(foreign)));
+  }
+
+  @Test
+  final void testConveniencesUseTheOwningShard() throws Exception {
+    final PrimordialDomain current = domain.declaredType("java.lang.Object").domain();
+    UniversalType list = null;
+    // Find a thread whose shard is not the current thread's.
+    for (int i = 0; list == null || list.domain() == current; i++) {
+      assertTrue(i < 100);
+      final UniversalType[] holder = new UniversalType[1];
+      final Thread u = new Thread(() -> holder[0] = domain.declaredType("java.util.List"));
+      u.start();
+      u.join();
+      list = holder[0];
+    }
+    final UniversalType l = list;
+    final DefaultDomain owner = (DefaultDomain)l.domain();
+    final UniversalElement e = l.asElement();
+    final UniversalType prototype = e.asType();
+    assertTrue(domain.generic(e));
+    assertTrue(domain.generic(l));
+    assertTrue(domain.raw(l));
+    assertFalse(domain.raw(prototype));
+    assertFalse(domain.parameterized(l));
+    assertTrue(domain.parameterized(prototype));
+    assertFalse(domain.prototypical(l));
+    assertTrue(domain.prototypical(prototype));
+    assertFalse(domain.metaAnnotated(owner.typeElement("java.lang.Deprecated"), "java.lang.Deprecated"));
+    assertTrue(domain.metaAnnotated(owner.typeElement("java.lang.Deprecated"), "java.lang.annotation.Retention"));
+    final UniversalType w = domain.wrap((TypeMirror)l, UniversalType::new);
+    assertSame(owner, w.domain());
+    assertTrue(domain.parameterizable(List.class) instanceof UniversalElement);
+    assertEquals(1, domain.types(new Type[] { String.class }).length);
+    // Raw javac constructs belong to no shard.
+    assertThrows(IllegalArgumentException.class, () -> domain.generic(e.delegate()));
+    assertThrows(IllegalArgumentException.class, () -> domain.raw(l.delegate()));
+    assertThrows(IllegalArgumentException.class, () -> domain.wrap(l.delegate(), UniversalType::new));
+  }
+
+  @Test
+  final void testMatricesAndBatch() {
+    final UniversalType integer = domain.declaredType("java.lang.Integer");
+    final UniversalType number = domain.declaredType("java.lang.Number");
+    final RelationMatrix m = domain.subtypeMatrix(List.of(integer, number), List.of(number));
+    assertTrue(m.get(0, 0));
+    assertTrue(m.get(1, 0));
+    assertFalse(domain.assignableMatrix(List.of(number), List.of(integer)).get(0, 0));
+    final UniversalType erasure = domain.batch(d -> (UniversalType)d.erasure(d.declaredType("java.util.List")));
+    assertSame(integer.domain(), erasure.domain()); // same thread, same shard
+  }
+
+}
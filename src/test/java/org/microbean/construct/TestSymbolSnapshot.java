@@ -0,0 +1,149 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import java.util.HexFormat;
+import java.util.List;
+
+import javax.lang.model.element.ElementKind;
+
+import org.junit.jupiter.api.Test;
+
+import org.junit.jupiter.api.io.TempDir;
+
+import org.microbean.construct.SymbolSnapshot.TypeFacts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TestSymbolSnapshot {
+
+  private TestSymbolSnapshot() {
+    super();
+  }
+
+  @Test
+  final void testRoundTrip(@TempDir final Path dir) throws IOException {
+    final SymbolSnapshot s = SymbolSnapshot.of(new DefaultDomain(), List.of("java.lang.String", "java.util.Map", "java.lang.Thread.State", "no.such.Type"));
+    assertEquals(3, s.types().size());
+    final TypeFacts map = s.type("java.util.Map").orElseThrow();
+    assertEquals(ElementKind.INTERFACE, map.kind());
+    assertEquals("Ljava/util/Map;", map.descriptor());
+    assertEquals("<K:Ljava/lang/Object;V:Ljava/lang/Object;>Ljava/lang/Object;", map.signature());
+    assertEquals("java.lang.Thread$State", s.type("java.lang.Thread.State").orElseThrow().binaryName());
+
+    final Path p = dir.resolve("snapshot");
+    assertTrue(SymbolSnapshot.read(p).isEmpty());
+    s.write(p);
+    final SymbolSnapshot s2 = SymbolSnapshot.read(p).orElseThrow();
+    assertEquals(s.fingerprint(), s2.fingerprint());
+    assertEquals(List.copyOf(s.types()), List.copyOf(s2.types()));
+
+    Files.write(p, new byte[] { 0x4D, 0x42 });
+    assertTrue(SymbolSnapshot.read(p).isEmpty());
+  }
+
+  @Test
+  final void testCorruptInput(@TempDir final Path dir) throws IOException {
+    final Path p = dir.resolve("snapshot");
+    write(p, out -> out.writeInt(-1)); // negative type count
+    assertTrue(SymbolSnapshot.read(p).isEmpty());
+    write(p, out -> out.writeInt(Integer.MAX_VALUE)); // huge type count, then nothing
+    assertTrue(SymbolSnapshot.read(p).isEmpty());
+    write(p, out -> {
+        out.writeInt(1);
+        out.writeUTF("a.A");
+        out.writeUTF("NO_SUCH_KIND");
+        out.writeInt(0);
+        out.writeUTF("a.A");
+        out.writeUTF("La/A;");
+        out.writeBoolean(false);
+        out.writeInt(0);
+        out.writeInt(0);
+      });
+    assertTrue(SymbolSnapshot.read(p).isEmpty());
+    write(p, out -> {
+        out.writeInt(1);
+        out.writeUTF("a.A");
+        out.writeUTF("CLASS");
+        out.writeInt(0);
+        out.writeUTF("a.A");
+        out.writeUTF("La/A;");
+        out.writeBoolean(false);
+        out.writeInt(-1); // negative supertype count
+      });
+    assertTrue(SymbolSnapshot.read(p).isEmpty());
+  }
+
+  @Test
+  final void testDirectoryFingerprint(@TempDir final Path dir) throws IOException, NoSuchAlgorithmException {
+    final Path classes = Files.createDirectories(dir.resolve("classes/a"));
+    Files.write(classes.resolve("A.class"), new byte[] { 1 });
+    final String f0 = fingerprint(dir);
+    assertEquals(f0, fingerprint(dir));
+    // Neither the directory's size nor its modification time changes when a file beneath it is rewritten.
+    Files.write(classes.resolve("A.class"), new byte[] { 1, 2 });
+    final String f1 = fingerprint(dir);
+    assertNotEquals(f0, f1);
+    Files.write(classes.resolve("B.class"), new byte[0]);
+    assertNotEquals(f1, fingerprint(dir));
+  }
+
+  @Test
+  final void testSnapshotDomain(@TempDir final Path dir) throws IOException {
+    final Path p = dir.resolve("snapshot");
+    SymbolSnapshot.of(new DefaultDomain(), List.of("java.lang.String")).write(p);
+    final SnapshotDomain d = SnapshotDomain.of(p);
+    assertEquals("java.lang.String", d.typeFacts("java.lang.String").orElseThrow().binaryName());
+    assertEquals(1L, d.hits());
+    assertEquals(0L, d.misses());
+    assertEquals("java.lang.Integer", d.typeFacts("java.lang.Integer").orElseThrow().binaryName());
+    assertEquals(1L, d.misses());
+    assertEquals(2, d.snapshot().types().size());
+  }
+
+  // Writes a snapshot header bearing the current fingerprint, followed by whatever body writes.
+  private static final void write(final Path p, final Body body) throws IOException {
+    try (final DataOutputStream out = new DataOutputStream(Files.newOutputStream(p))) {
+      out.writeInt(0x4D425353); // "MBSS"
+      out.writeInt(1); // format
+      out.writeUTF(SymbolSnapshot.currentFingerprint());
+      body.write(out);
+    }
+  }
+
+  private static final String fingerprint(final Path p) throws NoSuchAlgorithmException {
+    final MessageDigest md = MessageDigest.getInstance("SHA-256");
+    SymbolSnapshot.update(md, p);
+    return HexFormat.of().formatHex(md.digest());
+  }
+
+  @FunctionalInterface
+  private static interface Body {
+
+    void write(final DataOutputStream out) throws IOException;
+
+  }
+
+}
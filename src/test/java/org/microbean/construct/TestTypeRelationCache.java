@@ -0,0 +1,67 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct;
+
+import org.junit.jupiter.api.Test;
+
+import org.microbean.construct.type.UniversalType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TestTypeRelationCache {
+
+  private TestTypeRelationCache() {
+    super();
+  }
+
+  @Test
+  final void testHitsAndMisses() {
+    final TypeRelationCache cache = new TypeRelationCache(16);
+    final DefaultDomain domain = new DefaultDomain(null, null, cache);
+    final UniversalType string = domain.declaredType("java.lang.String");
+    final UniversalType object = domain.javaLangObjectType();
+    assertTrue(domain.subtype(string, object));
+    assertEquals(0L, cache.hits());
+    assertEquals(1L, cache.misses());
+    assertTrue(domain.subtype(string, object));
+    assertEquals(1L, cache.hits());
+    assertFalse(domain.subtype(object, string));
+    assertEquals(2L, cache.misses());
+    assertTrue(domain.assignable(string, object));
+    assertEquals(3L, cache.misses());
+    assertEquals(3L, cache.size());
+  }
+
+  @Test
+  final void testEviction() {
+    final TypeRelationCache cache = new TypeRelationCache(2, 1);
+    final DefaultDomain domain = new DefaultDomain(null, null, cache);
+    final UniversalType object = domain.javaLangObjectType();
+    domain.subtype(domain.declaredType("java.lang.String"), object);
+    domain.subtype(domain.declaredType("java.lang.Integer"), object);
+    domain.subtype(domain.declaredType("java.lang.Long"), object);
+    assertEquals(1L, cache.evictions());
+    assertEquals(2L, cache.size());
+  }
+
+  @Test
+  final void testBadArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new TypeRelationCache(0));
+    assertThrows(IllegalArgumentException.class, () -> new TypeRelationCache(4, 5));
+  }
+
+}
@@ -0,0 +1,155 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct.element;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.RetentionPolicy;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import java.util.function.Predicate;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+
+import org.junit.jupiter.api.Test;
+
+import org.microbean.construct.DefaultDomain;
+import org.microbean.construct.RuntimeProcessingEnvironmentSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TestAnnotationInterfaceDescriptor {
+
+  private static final DefaultDomain domain = new DefaultDomain();
+
+  private TestAnnotationInterfaceDescriptor() {
+    super();
+  }
+
+  @Test
+  final void testAnnotationEquivalence() {
+    final AnnotationMirror retention = AnnotationMirrors.get(domain.typeElement("java.lang.Deprecated"), "java.lang.annotation.Retention");
+    final TypeElement retentionInterface = (TypeElement)retention.getAnnotationType().asElement();
+    final AnnotationMirror classRetention =
+      new SyntheticAnnotationMirror(retentionInterface,
+                                    Map.of("value", domain.variableElement(domain.typeElement("java.lang.annotation.RetentionPolicy"), "CLASS")));
+    final Predicate<ExecutableElement> none = ee -> false;
+    final AnnotationEquivalence e = AnnotationEquivalence.of(retentionInterface, none);
+    assertSame(e, AnnotationEquivalence.of(retentionInterface, none));
+    // Alternating between Predicates does not recompile either.
+    final Predicate<ExecutableElement> value = ee -> ee.getSimpleName().contentEquals("value");
+    final AnnotationEquivalence v = AnnotationEquivalence.of(retentionInterface, value);
+    assertSame(e, AnnotationEquivalence.of(retentionInterface, none));
+    assertSame(v, AnnotationEquivalence.of(retentionInterface, value));
+    assertTrue(e.equivalent(retention, classRetention));
+    assertEquals(e.hash(retention), e.hash(classRetention));
+    assertEquals(AnnotationMirrors.hashCode(retention, none), e.hash(retention));
+    final AnnotationEquivalence all = AnnotationEquivalence.of(retentionInterface, null);
+    assertFalse(all.equivalent(retention, classRetention));
+    assertEquals(AnnotationMirrors.hashCode(retention), all.hash(retention));
+    final AnnotationMirror deprecated = new SyntheticAnnotationMirror(domain.typeElement("java.lang.Deprecated"));
+    assertFalse(all.equivalent(retention, deprecated));
+    assertThrows(IllegalArgumentException.class, () -> all.hash(deprecated));
+    assertThrows(IllegalArgumentException.class, () -> AnnotationEquivalence.of(domain.typeElement("java.lang.Object"), null));
+  }
+
+  @Test
+  final void testHashCode() {
+    for (final AnnotationMirror a : domain.typeElement("java.lang.Deprecated").getAnnotationMirrors()) {
+      final int h = AnnotationMirrors.hashCode(a); // cached
+      assertEquals(h, AnnotationMirrors.hashCode(a));
+      assertEquals(h, AnnotationMirrors.hashCode(a, ee -> true)); // not cached
+      assertEquals(h, new AnnotationValueHashcodeVisitor().visitAnnotation(a, null).intValue());
+    }
+  }
+
+  @Test
+  final void testMetaAnnotations() {
+    final TypeElement deprecated = domain.typeElement("java.lang.Deprecated");
+    assertEquals(RetentionPolicy.RUNTIME, AnnotationMirrors.retentionPolicy(deprecated));
+    assertFalse(AnnotationMirrors.inherited(deprecated));
+    assertTrue(AnnotationMirrors.targetElementTypes(deprecated).contains(ElementType.METHOD));
+    assertNull(AnnotationMirrors.repeatableContainer(deprecated));
+    assertFalse(AnnotationMirrors.inherited(domain.typeElement("java.lang.annotation.Inherited")));
+    assertEquals(Set.of(ElementType.ANNOTATION_TYPE),
+                 AnnotationMirrors.targetElementTypes(domain.typeElement("java.lang.annotation.Repeatable")));
+    assertSame(AnnotationInterfaceDescriptor.of(deprecated), AnnotationInterfaceDescriptor.of(deprecated));
+  }
+
+  @Test
+  final void testDescriptorsBelongToTheirDomains() {
+    final UniversalElement deprecated = domain.typeElement("java.lang.Deprecated");
+    final AnnotationInterfaceDescriptor d = AnnotationInterfaceDescriptor.of(deprecated);
+    assertSame(d, domain.annotationInterfaces().get("java.lang.Deprecated"));
+    assertSame(domain, ((UniversalElement)d.element(0)).domain());
+    final RuntimeProcessingEnvironmentSupplier s = RuntimeProcessingEnvironmentSupplier.newInstance();
+    try {
+      final DefaultDomain other = new DefaultDomain(s.get(), new ReentrantLock());
+      final AnnotationInterfaceDescriptor otherD = AnnotationInterfaceDescriptor.of(other.typeElement("java.lang.Deprecated"));
+      assertNotSame(d, otherD);
+      assertSame(other, ((UniversalElement)otherD.element(0)).domain());
+      assertSame(otherD, AnnotationInterfaceDescriptor.of(other.typeElement("java.lang.Deprecated")));
+    } finally {
+      s.close();
+    }
+    // Interfaces that belong to no domain are described afresh.
+    assertNotSame(AnnotationInterfaceDescriptor.of((TypeElement)deprecated.delegate()),
+                  AnnotationInterfaceDescriptor.of((TypeElement)deprecated.delegate()));
+  }
+
+  @Test
+  final void testAllAnnotationValues() {
+    // @Retention(RUNTIME) on @Deprecated
+    final AnnotationMirror retention = AnnotationMirrors.get(domain.typeElement("java.lang.Deprecated"), "java.lang.annotation.Retention");
+    for (final Entry<ExecutableElement, AnnotationValue> e : AnnotationMirrors.allAnnotationValues(retention).entrySet()) {
+      assertInstanceOf(UniversalElement.class, e.getKey());
+      assertInstanceOf(UniversalAnnotationValue.class, e.getValue());
+    }
+    // Deprecated's elements, since() and forRemoval(), have defaults.
+    final AnnotationMirror deprecated = new SyntheticAnnotationMirror(domain.typeElement("java.lang.Deprecated"));
+    assertEquals(2, AnnotationMirrors.allAnnotationValues(deprecated).size());
+    assertEquals("", AnnotationMirrors.get(deprecated, "since"));
+    assertEquals(Boolean.FALSE, AnnotationMirrors.get(deprecated, "forRemoval"));
+  }
+
+  @Test
+  final void testSameAnnotationAcrossRepresentations() {
+    final AnnotationMirror retention = AnnotationMirrors.get(domain.typeElement("java.lang.Deprecated"), "java.lang.annotation.Retention");
+    final TypeElement retentionInterface = (TypeElement)retention.getAnnotationType().asElement();
+    final TypeElement retentionPolicy = domain.typeElement("java.lang.annotation.RetentionPolicy");
+    final AnnotationMirror runtimeRetention =
+      new SyntheticAnnotationMirror(retentionInterface, Map.of("value", domain.variableElement(retentionPolicy, "RUNTIME")));
+    assertTrue(AnnotationMirrors.sameAnnotation(retention, runtimeRetention));
+    assertEquals(AnnotationMirrors.hashCode(retention), AnnotationMirrors.hashCode(runtimeRetention));
+    final AnnotationMirror classRetention =
+      new SyntheticAnnotationMirror(retentionInterface, Map.of("value", domain.variableElement(retentionPolicy, "CLASS")));
+    assertFalse(AnnotationMirrors.sameAnnotation(retention, classRetention));
+    assertTrue(AnnotationMirrors.sameAnnotation(retention, classRetention, ee -> false));
+  }
+
+}
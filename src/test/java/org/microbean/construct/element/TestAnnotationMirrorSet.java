@@ -0,0 +1,79 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct.element;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.lang.model.element.AnnotationMirror;
+
+import org.junit.jupiter.api.Test;
+
+import org.microbean.construct.DefaultDomain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class TestAnnotationMirrorSet {
+
+  private static final DefaultDomain domain = new DefaultDomain();
+
+  private TestAnnotationMirrorSet() {
+    super();
+  }
+
+  @Test
+  final void testDeduplication() {
+    final List<AnnotationMirror> all = new ArrayList<>();
+    for (final String n : List.of("java.lang.annotation.Documented",
+                                  "java.lang.annotation.Retention",
+                                  "java.lang.annotation.Target")) {
+      all.addAll(domain.typeElement(n).getAnnotationMirrors());
+    }
+    // Each is annotated with @Documented, @Retention(RUNTIME) and @Target(ANNOTATION_TYPE).
+    assertEquals(9, all.size());
+    final AnnotationMirrorSet s = new AnnotationMirrorSet(all);
+    assertEquals(3, s.size());
+    for (final AnnotationMirror a : all) {
+      assertTrue(s.contains(a));
+    }
+    final AnnotationMirror documented = all.get(0);
+    assertFalse(s.add(new SyntheticAnnotationMirror(new SyntheticAnnotationTypeElement("java.lang.annotation.Documented"))));
+    assertTrue(AnnotationMirrors.containsAll(all, s));
+    assertTrue(s.remove(documented));
+    assertEquals(2, s.size());
+  }
+
+  @Test
+  final void testMap() {
+    final AnnotationMirrorMap<Integer> m = new AnnotationMirrorMap<>();
+    for (final String n : List.of("java.lang.annotation.Documented", "java.lang.annotation.Retention")) {
+      for (final AnnotationMirror a : domain.typeElement(n).getAnnotationMirrors()) {
+        m.merge(a, 1, Integer::sum);
+      }
+    }
+    assertEquals(3, m.size());
+    for (final Integer count : m.values()) {
+      assertEquals(2, count.intValue());
+    }
+  }
+
+  @Test
+  final void testStreamDepthFirst() {
+    // @Documented, @Retention(RUNTIME), @Target(...) on Deprecated, then @Target(ANNOTATION_TYPE) on Documented
+    assertEquals(4, AnnotationMirrors.streamDepthFirst(domain.typeElement("java.lang.Deprecated")).count());
+  }
+
+}
@@ -0,0 +1,44 @@
+/* -*- mode: Java; c-basic-offset: 2; indent-tabs-mode: nil; coding: utf-8-unix -*-
+ *
+ * Copyright © 2026 microBean™.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package org.microbean.construct.vm;
+
+import javax.lang.model.type.TypeKind;
+
+import org.junit.jupiter.api.Test;
+
+import org.microbean.construct.DefaultDomain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+final class TestTypeDescriptors {
+
+  private static final DefaultDomain domain = new DefaultDomain();
+
+  private TestTypeDescriptors() {
+    super();
+  }
+
+  @Test
+  final void testArrayTypeDescriptors() {
+    assertEquals("[I", TypeDescriptors.typeDescriptor(domain.arrayTypeOf(domain.primitiveType(TypeKind.INT)), domain).descriptorString());
+    assertEquals("[[Ljava/lang/String;",
+                 TypeDescriptors.typeDescriptor(domain.arrayTypeOf(domain.arrayTypeOf(domain.declaredType("java.lang.String"))), domain).descriptorString());
+  }
+
+  @Test
+  final void testDeclaredTypeDescriptor() {
+    assertEquals("Ljava/lang/String;", TypeDescriptors.typeDescriptor(domain.declaredType("java.lang.String"), domain).descriptorString());
+  }
+
+}